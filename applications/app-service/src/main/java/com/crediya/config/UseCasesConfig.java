@@ -2,11 +2,18 @@ package com.crediya.config;
 
 import com.crediya.security.JwtProperties;
 import com.crediya.security.JwtReactiveAuthenticationManager;
+import com.crediya.security.revocation.RevocationSource;
+import com.crediya.security.revocation.TokenRevocations;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @Configuration
 @ComponentScan(basePackages = "com.crediya.usecase",
         includeFilters = {
@@ -16,8 +23,23 @@ import org.springframework.context.annotation.FilterType;
 public class UseCasesConfig {
     // ===== JWT =====
     @Bean
-    public JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager(JwtProperties props) {
-        return new JwtReactiveAuthenticationManager(props);
+    public JwtReactiveAuthenticationManager jwtReactiveAuthenticationManager(JwtProperties props, MeterRegistry registry,
+                                                                             TokenRevocations revocations) {
+        return new JwtReactiveAuthenticationManager(props, registry, revocations);
+    }
+
+    /** Sin un bean RevocationSource no hay tokens revocados y no se agenda el refresco */
+    @Bean
+    public TokenRevocations tokenRevocations(JwtProperties props, ObjectProvider<RevocationSource> sources,
+                                             MeterRegistry registry) {
+        RevocationSource source = sources.getIfAvailable();
+        if (source == null) {
+            return TokenRevocations.disabled(registry);
+        }
+        JwtProperties.Revocation revocation = props.getRevocation();
+        Duration interval = Optional.ofNullable(revocation.getRefreshInterval()).orElse(Duration.ofSeconds(30));
+        double falsePositiveRate = Optional.ofNullable(revocation.getFalsePositiveRate()).orElse(0.01);
+        return new TokenRevocations(source, interval, falsePositiveRate, registry);
     }
 
 
@@ -0,0 +1,72 @@
+package com.crediya.model.report;
+
+import java.math.BigDecimal;
+
+/**
+ * Monto en centavos (unidades menores) sobre un long. Las sumas fallan con ArithmeticException si
+ * se desbordan en vez de dar la vuelta. En el camino de escritura se trabaja con el long directo
+ * ({@link #cents()}); BigDecimal queda solo para la lectura y la API.
+ */
+public record Money(long cents) implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(0);
+
+    public static Money ofCents(long cents) {
+        return cents == 0 ? ZERO : new Money(cents);
+    }
+
+    /** Conversión exacta: más de dos decimales distintos de cero o un valor fuera de rango se rechazan */
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofCents(amount.movePointRight(2).longValueExact());
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Monto inválido para centavos: " + amount.toPlainString(), e);
+        }
+    }
+
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    public boolean isZero() {
+        return cents == 0;
+    }
+
+    /** Con escala 2, ej. 50056.00 */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    /** Igual a {@code toBigDecimal().stripTrailingZeros().toPlainString()}, sin pasar por BigDecimal */
+    public String toPlainString() {
+        return plain(cents);
+    }
+
+    /** Texto decimal de {@code cents / 100} sin ceros sobrantes: 5005600 -> "50056", -150 -> "-1.5" */
+    public static String plain(long cents) {
+        long units = cents / 100;
+        int fraction = (int) Math.abs(cents % 100);
+        String sign = cents < 0 && units == 0 ? "-" : "";
+        if (fraction == 0) {
+            return sign + units;
+        }
+        if (fraction % 10 == 0) {
+            return sign + units + "." + (fraction / 10);
+        }
+        return sign + units + (fraction < 10 ? ".0" : ".") + fraction;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+}
@@ -2,6 +2,7 @@ package com.crediya.model.report;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.util.Map;
 //import lombok.NoArgsConstructor;
 
 @Data
@@ -13,4 +14,14 @@ public class Report {
     private Long count;
     private String updatedAt;
     private BigDecimal totalAmountCents;
+    /** Conteo y monto por status (APPROVED, REJECTED, ...) */
+    private Map<String, ReportBreakdown> byStatus;
+    /** Conteo y monto de los aprobados por dimensión y valor, ej. product -> AUTO */
+    private Map<String, Map<String, ReportBreakdown>> byDimension;
+    /** Crece con cada escritura aplicada; identifica el estado del reporte (ETag) */
+    private Long version;
+
+    public Report(String metricId, Long count, String updatedAt, BigDecimal totalAmountCents) {
+        this(metricId, count, updatedAt, totalAmountCents, null, null, null);
+    }
 }
@@ -0,0 +1,28 @@
+package com.crediya.model.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/** Conteo y monto de una porción del reporte (un status o un valor de dimensión) */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportBreakdown {
+    private Long count;
+    private BigDecimal totalAmountCents;
+
+    public static ReportBreakdown zero() {
+        return new ReportBreakdown(0L, BigDecimal.ZERO);
+    }
+
+    public ReportBreakdown add(long events, BigDecimal amount) {
+        this.count = (count == null ? 0L : count) + events;
+        this.totalAmountCents = (totalAmountCents == null ? BigDecimal.ZERO : totalAmountCents).add(amount);
+        return this;
+    }
+}
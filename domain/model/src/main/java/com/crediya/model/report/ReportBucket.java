@@ -0,0 +1,11 @@
+package com.crediya.model.report;
+
+import java.time.Instant;
+
+/** Bucket de rollup: contadores de los eventos escritos en [start, end) */
+public record ReportBucket(ReportGranularity granularity, Instant start) {
+
+    public Instant end() {
+        return granularity.next(start);
+    }
+}
@@ -0,0 +1,65 @@
+package com.crediya.model.report;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calcula el menor conjunto de buckets alineados que cubre un rango.
+ * Usa el bucket más grande que quepa completo en cada posición (día, hora y luego minuto),
+ * así "últimas 24h" se responde con ~24 horas más los minutos de los bordes.
+ */
+public final class ReportBucketPlanner {
+
+    private static final ReportGranularity[] LARGEST_FIRST = {
+            ReportGranularity.DAY, ReportGranularity.HOUR, ReportGranularity.MINUTE
+    };
+
+    private ReportBucketPlanner() {
+    }
+
+    /** Inicio del rango redondeado hacia abajo al minuto */
+    public static Instant alignFrom(Instant from) {
+        return ReportGranularity.MINUTE.truncate(from);
+    }
+
+    /** Fin del rango redondeado hacia arriba al minuto: el minuto en curso también se lee */
+    public static Instant alignTo(Instant to) {
+        Instant truncated = ReportGranularity.MINUTE.truncate(to);
+        return truncated.equals(to) ? to : ReportGranularity.MINUTE.next(truncated);
+    }
+
+    /** Buckets que cubren exactamente [from, to); ambos extremos deben estar alineados al minuto */
+    public static List<ReportBucket> cover(Instant from, Instant to) {
+        var buckets = new ArrayList<ReportBucket>();
+        Instant cursor = from;
+        while (cursor.isBefore(to)) {
+            ReportBucket bucket = largestAt(cursor, to);
+            buckets.add(bucket);
+            cursor = bucket.end();
+        }
+        return buckets;
+    }
+
+    /** Límites de los puntos de la serie: [from, t1), [t1, t2) ... [tn, to) alineados a la granularidad */
+    public static List<Instant> slotBoundaries(Instant from, Instant to, ReportGranularity granularity) {
+        var boundaries = new ArrayList<Instant>();
+        boundaries.add(from);
+        Instant cursor = granularity.next(granularity.truncate(from));
+        while (cursor.isBefore(to)) {
+            boundaries.add(cursor);
+            cursor = granularity.next(cursor);
+        }
+        boundaries.add(to);
+        return boundaries;
+    }
+
+    private static ReportBucket largestAt(Instant cursor, Instant to) {
+        for (ReportGranularity granularity : LARGEST_FIRST) {
+            if (granularity.isAligned(cursor) && !granularity.next(cursor).isAfter(to)) {
+                return new ReportBucket(granularity, cursor);
+            }
+        }
+        return new ReportBucket(ReportGranularity.MINUTE, ReportGranularity.MINUTE.truncate(cursor));
+    }
+}
@@ -0,0 +1,86 @@
+package com.crediya.model.report;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Incremento a aplicar sobre el reporte: uno o varios eventos ya sumados.
+ * Se aplica con una sola escritura sin importar cuántos contadores toque.
+ * Los montos se acumulan en centavos sobre long: sumar un evento no crea objetos salvo la primera
+ * vez que aparece un status o valor de dimensión.
+ */
+@Getter
+public class ReportDelta {
+    /** Eventos incluidos, de cualquier status */
+    private long events;
+    /** Conteo y monto de los APPROVED */
+    private long count;
+    private long totalCents;
+    private final Map<String, Tally> byStatus = new HashMap<>();
+    private final Map<String, Map<String, Tally>> byDimension = new HashMap<>();
+
+    public static ReportDelta of(ReportEvent event) {
+        return new ReportDelta().add(event);
+    }
+
+    public ReportDelta add(ReportEvent event) {
+        long cents = event.amountCentsOrZero();
+        addEvents(1);
+        addStatus(event.status(), 1, cents);
+        if (event.approved()) {
+            addTotals(1, cents);
+            event.dimensions().forEach((dimension, value) -> addDimension(dimension, value, 1, cents));
+        }
+        return this;
+    }
+
+    public ReportDelta addEvents(long n) {
+        events += n;
+        return this;
+    }
+
+    public ReportDelta addTotals(long n, long cents) {
+        count += n;
+        totalCents = Math.addExact(totalCents, cents);
+        return this;
+    }
+
+    public ReportDelta addStatus(String status, long n, long cents) {
+        byStatus.computeIfAbsent(status, k -> new Tally()).add(n, cents);
+        return this;
+    }
+
+    public ReportDelta addDimension(String dimension, String value, long n, long cents) {
+        byDimension.computeIfAbsent(dimension, k -> new HashMap<>())
+                .computeIfAbsent(value, k -> new Tally())
+                .add(n, cents);
+        return this;
+    }
+
+    public Money getTotal() {
+        return Money.ofCents(totalCents);
+    }
+
+    public boolean isEmpty() {
+        return events == 0;
+    }
+
+    /** Conteo y centavos mutables de un status o valor de dimensión dentro del delta */
+    @Getter
+    public static final class Tally {
+        private long count;
+        private long cents;
+
+        Tally add(long n, long amountCents) {
+            count += n;
+            cents = Math.addExact(cents, amountCents);
+            return this;
+        }
+
+        public Money getTotal() {
+            return Money.ofCents(cents);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.crediya.model.report;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Evento de solicitud procesada. Solo los APPROVED suman al conteo/monto global y a las
+ * dimensiones; todos los status quedan contados en el desglose por status.
+ * <p>
+ * {@code id} identifica el evento para aplicarlo una sola vez aunque llegue repetido
+ * (id propio del evento o el messageId de SQS); sin id no hay deduplicación.
+ * El monto va en centavos ({@link Money}); el constructor con BigDecimal lo convierte exacto.
+ */
+public record ReportEvent(String status, Money approvedAmount, Map<String, String> dimensions, String id) {
+
+    public static final String APPROVED = "APPROVED";
+    public static final String UNKNOWN = "UNKNOWN";
+    /** Evita que un valor de dimensión descontrolado infle el ítem */
+    public static final int MAX_VALUE_LENGTH = 64;
+
+    public ReportEvent {
+        status = status == null || status.isBlank() ? UNKNOWN : status.trim().toUpperCase(Locale.ROOT);
+        dimensions = normalize(dimensions);
+        id = id == null || id.isBlank() ? null : id;
+    }
+
+    public ReportEvent(String status, BigDecimal approvedAmount, Map<String, String> dimensions) {
+        this(status, approvedAmount == null ? null : Money.of(approvedAmount), dimensions, null);
+    }
+
+    public static ReportEvent approved(BigDecimal approvedAmount) {
+        return new ReportEvent(APPROVED, approvedAmount, Map.of());
+    }
+
+    public ReportEvent withId(String id) {
+        return new ReportEvent(status, approvedAmount, dimensions, id);
+    }
+
+    public boolean approved() {
+        return APPROVED.equals(status);
+    }
+
+    /** Monto que aporta el evento; los no aprobados sin monto aportan cero */
+    public long amountCentsOrZero() {
+        return approvedAmount == null ? 0 : approvedAmount.cents();
+    }
+
+    private static Map<String, String> normalize(Map<String, String> dimensions) {
+        if (dimensions == null || dimensions.isEmpty()) {
+            return Map.of();
+        }
+        var clean = new LinkedHashMap<String, String>();
+        dimensions.forEach((name, value) -> {
+            if (name != null && value != null && !value.isBlank()) {
+                String v = value.trim();
+                clean.put(name, v.length() > MAX_VALUE_LENGTH ? v.substring(0, MAX_VALUE_LENGTH) : v);
+            }
+        });
+        return Map.copyOf(clean);
+    }
+}
@@ -0,0 +1,41 @@
+package com.crediya.model.report;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+
+/** Tamaños de los buckets de rollup, alineados en UTC */
+public enum ReportGranularity {
+    MINUTE(ChronoUnit.MINUTES),
+    HOUR(ChronoUnit.HOURS),
+    DAY(ChronoUnit.DAYS);
+
+    private final ChronoUnit unit;
+
+    ReportGranularity(ChronoUnit unit) {
+        this.unit = unit;
+    }
+
+    public Instant truncate(Instant instant) {
+        return instant.truncatedTo(unit);
+    }
+
+    public Instant next(Instant start) {
+        return start.plus(1, unit);
+    }
+
+    public boolean isAligned(Instant instant) {
+        return truncate(instant).equals(instant);
+    }
+
+    public static ReportGranularity from(String value) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("granularity es requerido");
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("granularity inválido: " + value + " (MINUTE, HOUR, DAY)");
+        }
+    }
+}
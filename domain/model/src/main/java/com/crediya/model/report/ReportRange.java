@@ -0,0 +1,25 @@
+package com.crediya.model.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRange {
+    private Instant from;
+    private Instant to;
+    private ReportGranularity granularity;
+    private Long count;
+    private BigDecimal totalAmountCents;
+    private List<ReportPoint> points;
+    /** Ítems leídos para responder el rango */
+    private Integer bucketsRead;
+}
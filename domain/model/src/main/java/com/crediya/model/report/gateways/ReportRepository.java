@@ -1,11 +1,25 @@
 package com.crediya.model.report.gateways;
 
 import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBucket;
+import com.crediya.model.report.ReportEvent;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 
 public interface ReportRepository {
     Mono<Void> updateReport(BigDecimal approvedAmountCents);
+    /** Aplica el evento sobre el total, el desglose por status y las dimensiones en una sola escritura */
+    Mono<Void> recordEvent(ReportEvent event);
+    /** Aplica un lote de eventos como un solo delta; termina cuando todo el lote quedó aplicado */
+    Mono<Void> recordEvents(List<ReportEvent> events);
     Mono<Report> get();
+    /** Reporte global cada vez que este nodo aplica escrituras; flujo caliente, sin estado inicial */
+    Flux<Report> updates();
+    /** Lee los buckets pedidos; los que no existen no vienen en el mapa */
+    Mono<Map<ReportBucket, Report>> getBuckets(Collection<ReportBucket> buckets);
 }
@@ -0,0 +1,58 @@
+package com.crediya.model.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Money Tests")
+class MoneyTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0", "50056.00", "50056.5", "-1.5", "-0.05", "0.1", "0.01", "12.34", "-12.30", "92233720368547758.07"})
+    @DisplayName("El texto plano debe coincidir con el de BigDecimal sin ceros sobrantes")
+    void shouldMatchBigDecimalPlainString(String amount) {
+        // Given
+        BigDecimal expected = new BigDecimal(amount);
+
+        // When
+        Money money = Money.of(expected);
+
+        // Then
+        assertEquals(expected.stripTrailingZeros().toPlainString(), money.toPlainString());
+        assertEquals(0, expected.compareTo(money.toBigDecimal()));
+    }
+
+    @Test
+    @DisplayName("Debe convertir a centavos exactos")
+    void shouldConvertToExactCents() {
+        // When & Then
+        assertEquals(5005600L, Money.of("50056.00").cents());
+        assertEquals(-150L, Money.of("-1.5").cents());
+        assertEquals(2, Money.ofCents(5005600L).toBigDecimal().scale());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar montos con más de dos decimales o fuera de rango")
+    void shouldRejectInexactOrOutOfRangeAmounts() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> Money.of("1.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("92233720368547758.08"));
+        assertEquals(Money.ofCents(1), Money.of("0.0100"));
+    }
+
+    @Test
+    @DisplayName("La suma debe fallar al desbordarse en vez de dar la vuelta")
+    void shouldFailOnOverflow() {
+        // Given
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        // When & Then
+        assertEquals(Money.ofCents(3), Money.ofCents(1).plus(Money.ofCents(2)));
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.crediya.model.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportBucketPlanner Tests")
+class ReportBucketPlannerTest {
+
+    @Test
+    @DisplayName("Debe cubrir un día completo con un solo bucket DAY")
+    void shouldCoverFullDayWithSingleDayBucket() {
+        // Given
+        Instant from = Instant.parse("2025-09-17T00:00:00Z");
+        Instant to = Instant.parse("2025-09-18T00:00:00Z");
+
+        // When
+        List<ReportBucket> cover = ReportBucketPlanner.cover(from, to);
+
+        // Then
+        assertEquals(List.of(new ReportBucket(ReportGranularity.DAY, from)), cover);
+    }
+
+    @Test
+    @DisplayName("Debe cubrir las últimas 24h con horas completas y minutos en los bordes")
+    void shouldCoverLast24HoursWithHoursAndEdgeMinutes() {
+        // Given
+        Instant from = Instant.parse("2025-09-17T10:57:00Z");
+        Instant to = Instant.parse("2025-09-18T10:03:00Z");
+
+        // When
+        List<ReportBucket> cover = ReportBucketPlanner.cover(from, to);
+
+        // Then
+        long minutes = cover.stream().filter(b -> b.granularity() == ReportGranularity.MINUTE).count();
+        long hours = cover.stream().filter(b -> b.granularity() == ReportGranularity.HOUR).count();
+        assertEquals(3 + 3, minutes);
+        assertEquals(23, hours);
+        assertEquals(from, cover.get(0).start());
+        assertEquals(to, cover.get(cover.size() - 1).end());
+    }
+
+    @Test
+    @DisplayName("Los buckets deben ser contiguos y sin solaparse")
+    void shouldProduceContiguousBuckets() {
+        // Given
+        Instant from = Instant.parse("2025-09-15T23:59:00Z");
+        Instant to = Instant.parse("2025-09-18T01:01:00Z");
+
+        // When
+        List<ReportBucket> cover = ReportBucketPlanner.cover(from, to);
+
+        // Then
+        for (int i = 1; i < cover.size(); i++) {
+            assertEquals(cover.get(i - 1).end(), cover.get(i).start());
+        }
+        assertTrue(cover.stream().anyMatch(b -> b.granularity() == ReportGranularity.DAY));
+    }
+
+    @Test
+    @DisplayName("Debe alinear el rango al minuto incluyendo el minuto en curso")
+    void shouldAlignRangeToMinutes() {
+        // Given & When
+        Instant from = ReportBucketPlanner.alignFrom(Instant.parse("2025-09-17T04:30:45Z"));
+        Instant to = ReportBucketPlanner.alignTo(Instant.parse("2025-09-17T04:35:10Z"));
+        Instant exact = ReportBucketPlanner.alignTo(Instant.parse("2025-09-17T04:35:00Z"));
+
+        // Then
+        assertEquals(Instant.parse("2025-09-17T04:30:00Z"), from);
+        assertEquals(Instant.parse("2025-09-17T04:36:00Z"), to);
+        assertEquals(Instant.parse("2025-09-17T04:35:00Z"), exact);
+    }
+
+    @Test
+    @DisplayName("Debe partir el rango en puntos alineados a la granularidad")
+    void shouldSplitRangeIntoAlignedSlots() {
+        // Given
+        Instant from = Instant.parse("2025-09-17T04:30:00Z");
+        Instant to = Instant.parse("2025-09-17T07:15:00Z");
+
+        // When
+        List<Instant> boundaries = ReportBucketPlanner.slotBoundaries(from, to, ReportGranularity.HOUR);
+
+        // Then
+        assertEquals(List.of(
+                Instant.parse("2025-09-17T04:30:00Z"),
+                Instant.parse("2025-09-17T05:00:00Z"),
+                Instant.parse("2025-09-17T06:00:00Z"),
+                Instant.parse("2025-09-17T07:00:00Z"),
+                Instant.parse("2025-09-17T07:15:00Z")), boundaries);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar una granularidad desconocida")
+    void shouldRejectUnknownGranularity() {
+        // Given, When & Then
+        assertEquals(ReportGranularity.HOUR, ReportGranularity.from("hour"));
+        assertThrows(IllegalArgumentException.class, () -> ReportGranularity.from("week"));
+        assertThrows(IllegalArgumentException.class, () -> ReportGranularity.from(" "));
+    }
+}
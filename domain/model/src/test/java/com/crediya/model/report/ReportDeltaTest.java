@@ -0,0 +1,64 @@
+package com.crediya.model.report;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportDelta Tests")
+class ReportDeltaTest {
+
+    @Test
+    @DisplayName("Solo los eventos aprobados deben sumar al total y a las dimensiones")
+    void shouldCountOnlyApprovedInTotalsAndDimensions() {
+        // Given
+        ReportDelta delta = new ReportDelta();
+
+        // When
+        delta.add(new ReportEvent("APPROVED", new BigDecimal("100.50"), Map.of("product", "AUTO")));
+        delta.add(new ReportEvent("REJECTED", new BigDecimal("80.00"), Map.of("product", "AUTO")));
+
+        // Then
+        assertEquals(2L, delta.getEvents());
+        assertEquals(1L, delta.getCount());
+        assertEquals(Money.of("100.50"), delta.getTotal());
+        assertEquals(1L, delta.getByStatus().get("APPROVED").getCount());
+        assertEquals(1L, delta.getByStatus().get("REJECTED").getCount());
+        assertEquals(1L, delta.getByDimension().get("product").get("AUTO").getCount());
+    }
+
+    @Test
+    @DisplayName("Debe normalizar el status y descartar dimensiones vacías")
+    void shouldNormalizeStatusAndDropBlankDimensions() {
+        // Given
+        var dimensions = new HashMap<String, String>();
+        dimensions.put("product", " AUTO ");
+        dimensions.put("channel", " ");
+        dimensions.put("branch", null);
+
+        // When
+        ReportEvent event = new ReportEvent(" approved ", BigDecimal.TEN, dimensions);
+
+        // Then
+        assertEquals("APPROVED", event.status());
+        assertTrue(event.approved());
+        assertEquals(Map.of("product", "AUTO"), event.dimensions());
+    }
+
+    @Test
+    @DisplayName("Un evento sin status debe contarse como UNKNOWN sin sumar al total")
+    void shouldTreatMissingStatusAsUnknown() {
+        // When
+        ReportDelta delta = ReportDelta.of(new ReportEvent(null, null, null));
+
+        // Then
+        assertEquals(1L, delta.getEvents());
+        assertEquals(0L, delta.getCount());
+        assertEquals(1L, delta.getByStatus().get(ReportEvent.UNKNOWN).getCount());
+        assertEquals(Money.ZERO, delta.getByStatus().get(ReportEvent.UNKNOWN).getTotal());
+    }
+}
@@ -1,14 +1,36 @@
 package com.crediya.usecase.generatereport;
 
+import com.crediya.model.report.ReportEvent;
 import com.crediya.model.report.gateways.ReportRepository;
 import lombok.RequiredArgsConstructor;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
 
 @RequiredArgsConstructor
 public class GenerateReportUseCase {
     private final ReportRepository gateway;
     public Mono<Void> execute(BigDecimal approvedAmountCents) {
         return gateway.updateReport( approvedAmountCents); }
+
+    /** Registra el evento con su status y dimensiones; solo los aprobados suman al total */
+    public Mono<Void> execute(ReportEvent event) {
+        if (event == null) {
+            return Mono.error(new IllegalArgumentException("event no puede ser null"));
+        }
+        return gateway.recordEvent(event);
+    }
+
+    /** Registra los eventos de un mismo lote (p. ej. un receive de SQS) con una sola actualización */
+    public Mono<Void> executeAll(List<ReportEvent> events) {
+        if (events == null || events.stream().anyMatch(Objects::isNull)) {
+            return Mono.error(new IllegalArgumentException("events no puede ser null ni contener nulls"));
+        }
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        return gateway.recordEvents(events);
+    }
 }
@@ -0,0 +1,83 @@
+package com.crediya.usecase.showreportrange;
+
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBucket;
+import com.crediya.model.report.ReportBucketPlanner;
+import com.crediya.model.report.ReportGranularity;
+import com.crediya.model.report.ReportPoint;
+import com.crediya.model.report.ReportRange;
+import com.crediya.model.report.gateways.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class ShowReportRangeUseCase {
+    /** Un día a resolución de minuto */
+    static final int MAX_POINTS = 1440;
+
+    private final ReportRepository gateway;
+
+    public Mono<ReportRange> execute(Instant from, Instant to, ReportGranularity granularity) {
+        if (from == null || to == null || granularity == null) {
+            return Mono.error(new IllegalArgumentException("from, to y granularity son requeridos"));
+        }
+        Instant start = ReportBucketPlanner.alignFrom(from);
+        Instant end = ReportBucketPlanner.alignTo(to);
+        if (!start.isBefore(end)) {
+            return Mono.error(new IllegalArgumentException("from debe ser anterior a to"));
+        }
+        List<Instant> boundaries = ReportBucketPlanner.slotBoundaries(start, end, granularity);
+        if (boundaries.size() - 1 > MAX_POINTS) {
+            return Mono.error(new IllegalArgumentException(
+                    "El rango pedido genera más de " + MAX_POINTS + " puntos; use una granularidad mayor"));
+        }
+
+        List<List<ReportBucket>> slots = new ArrayList<>(boundaries.size() - 1);
+        var distinct = new LinkedHashSet<ReportBucket>();
+        for (int i = 0; i < boundaries.size() - 1; i++) {
+            var cover = ReportBucketPlanner.cover(boundaries.get(i), boundaries.get(i + 1));
+            slots.add(cover);
+            distinct.addAll(cover);
+        }
+
+        return gateway.getBuckets(distinct)
+                .map(found -> toRange(start, end, granularity, boundaries, slots, found, distinct.size()));
+    }
+
+    private ReportRange toRange(Instant start, Instant end, ReportGranularity granularity,
+                                List<Instant> boundaries, List<List<ReportBucket>> slots,
+                                Map<ReportBucket, Report> found, int bucketsRead) {
+        var points = new ArrayList<ReportPoint>(slots.size());
+        long totalCount = 0;
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (int i = 0; i < slots.size(); i++) {
+            long count = 0;
+            BigDecimal amount = BigDecimal.ZERO;
+            for (ReportBucket bucket : slots.get(i)) {
+                Report r = found.get(bucket);
+                if (r == null) continue;
+                if (r.getCount() != null) count += r.getCount();
+                if (r.getTotalAmountCents() != null) amount = amount.add(r.getTotalAmountCents());
+            }
+            points.add(new ReportPoint(boundaries.get(i), boundaries.get(i + 1), count, amount));
+            totalCount += count;
+            totalAmount = totalAmount.add(amount);
+        }
+        return ReportRange.builder()
+                .from(start)
+                .to(end)
+                .granularity(granularity)
+                .count(totalCount)
+                .totalAmountCents(totalAmount)
+                .points(points)
+                .bucketsRead(bucketsRead)
+                .build();
+    }
+}
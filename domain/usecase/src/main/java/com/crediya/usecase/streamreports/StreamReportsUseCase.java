@@ -0,0 +1,28 @@
+package com.crediya.usecase.streamreports;
+
+import com.crediya.model.report.Report;
+import com.crediya.model.report.gateways.ReportRepository;
+import lombok.RequiredArgsConstructor;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+public class StreamReportsUseCase {
+    private final ReportRepository gateway;
+
+    /**
+     * Estado actual seguido de cada cambio. Se suscribe a los cambios antes de leer el estado
+     * inicial y descarta versiones que no avanzan, así no se pierde ni se repite un estado.
+     */
+    public Flux<Report> execute() {
+        return Flux.defer(() -> {
+            var last = new AtomicLong(-1);
+            return Flux.merge(gateway.updates(), gateway.get())
+                    .filter(report -> {
+                        long version = report.getVersion() == null ? 0 : report.getVersion();
+                        return last.getAndAccumulate(version, Math::max) < version;
+                    });
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.crediya.usecase.generatereport;
 
+import com.crediya.model.report.ReportEvent;
 import com.crediya.model.report.gateways.ReportRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +12,8 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -215,4 +218,70 @@ class GenerateReportUseCaseTest {
 
         verify(reportRepository, times(1)).updateReport(eq(largeAmount));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Debe registrar el evento con su status y dimensiones")
+    void shouldRecordEventWithStatusAndDimensions() {
+        // Given
+        ReportEvent event = new ReportEvent("rejected", null, Map.of("product", "AUTO"));
+        when(reportRepository.recordEvent(any(ReportEvent.class)))
+                .thenReturn(Mono.empty());
+
+        // When
+        Mono<Void> result = generateReportUseCase.execute(event);
+
+        // Then
+        StepVerifier.create(result)
+                .verifyComplete();
+
+        verify(reportRepository, times(1)).recordEvent(eq(event));
+        verify(reportRepository, never()).updateReport(any(BigDecimal.class));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un evento null sin llamar al repositorio")
+    void shouldRejectNullEvent() {
+        // When
+        Mono<Void> result = generateReportUseCase.execute((ReportEvent) null);
+
+        // Then
+        StepVerifier.create(result)
+                .expectError(IllegalArgumentException.class)
+                .verify();
+
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    @DisplayName("Debe registrar el lote completo con una sola llamada al repositorio")
+    void shouldRecordBatchInSingleCall() {
+        // Given
+        List<ReportEvent> events = List.of(
+                ReportEvent.approved(new BigDecimal("100.00")),
+                new ReportEvent("rejected", null, Map.of()));
+        when(reportRepository.recordEvents(events)).thenReturn(Mono.empty());
+
+        // When
+        Mono<Void> result = generateReportUseCase.executeAll(events);
+
+        // Then
+        StepVerifier.create(result)
+                .verifyComplete();
+
+        verify(reportRepository, times(1)).recordEvents(eq(events));
+        verify(reportRepository, never()).recordEvent(any(ReportEvent.class));
+    }
+
+    @Test
+    @DisplayName("No debe llamar al repositorio con un lote vacío")
+    void shouldSkipEmptyBatch() {
+        // When
+        Mono<Void> result = generateReportUseCase.executeAll(List.of());
+
+        // Then
+        StepVerifier.create(result)
+                .verifyComplete();
+
+        verifyNoInteractions(reportRepository);
+    }
+}
@@ -0,0 +1,112 @@
+package com.crediya.usecase.showreportrange;
+
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBucket;
+import com.crediya.model.report.ReportGranularity;
+import com.crediya.model.report.gateways.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ShowReportRangeUseCase Tests")
+class ShowReportRangeUseCaseTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private ShowReportRangeUseCase useCase;
+
+    @BeforeEach
+    void setUp() {
+        useCase = new ShowReportRangeUseCase(reportRepository);
+    }
+
+    @Test
+    @DisplayName("Debe sumar los buckets de cada punto de la serie")
+    void shouldSumBucketsPerPoint() {
+        // Given
+        Instant from = Instant.parse("2025-09-17T04:58:00Z");
+        Instant to = Instant.parse("2025-09-17T06:00:00Z");
+        var minute = new ReportBucket(ReportGranularity.MINUTE, Instant.parse("2025-09-17T04:59:00Z"));
+        var hour = new ReportBucket(ReportGranularity.HOUR, Instant.parse("2025-09-17T05:00:00Z"));
+        when(reportRepository.getBuckets(any())).thenReturn(Mono.just(Map.of(
+                minute, Report.builder().count(2L).totalAmountCents(new BigDecimal("100.50")).build(),
+                hour, Report.builder().count(5L).totalAmountCents(new BigDecimal("900.00")).build())));
+
+        // When & Then
+        StepVerifier.create(useCase.execute(from, to, ReportGranularity.HOUR))
+                .assertNext(range -> {
+                    assertEquals(7L, range.getCount());
+                    assertEquals(0, new BigDecimal("1000.50").compareTo(range.getTotalAmountCents()));
+                    assertEquals(2, range.getPoints().size());
+                    assertEquals(2L, range.getPoints().get(0).getCount());
+                    assertEquals(5L, range.getPoints().get(1).getCount());
+                    assertEquals(3, range.getBucketsRead());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe leer un único conjunto de buckets para todo el rango")
+    @SuppressWarnings("unchecked")
+    void shouldReadBucketsInSingleCall() {
+        // Given
+        Instant from = Instant.parse("2025-09-17T00:00:00Z");
+        Instant to = Instant.parse("2025-09-18T00:00:00Z");
+        when(reportRepository.getBuckets(any())).thenReturn(Mono.just(Map.of()));
+        ArgumentCaptor<Collection<ReportBucket>> captor = ArgumentCaptor.forClass(Collection.class);
+
+        // When
+        StepVerifier.create(useCase.execute(from, to, ReportGranularity.HOUR))
+                .assertNext(range -> assertEquals(0L, range.getCount()))
+                .verifyComplete();
+
+        // Then
+        verify(reportRepository, times(1)).getBuckets(captor.capture());
+        assertEquals(24, captor.getValue().size());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un rango invertido")
+    void shouldRejectInvertedRange() {
+        // Given
+        Instant from = Instant.parse("2025-09-17T06:00:00Z");
+        Instant to = Instant.parse("2025-09-17T05:00:00Z");
+
+        // When & Then
+        StepVerifier.create(useCase.execute(from, to, ReportGranularity.HOUR))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(reportRepository);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar rangos con demasiados puntos")
+    void shouldRejectTooManyPoints() {
+        // Given
+        Instant from = Instant.parse("2025-09-01T00:00:00Z");
+        Instant to = Instant.parse("2025-09-17T00:00:00Z");
+
+        // When & Then
+        StepVerifier.create(useCase.execute(from, to, ReportGranularity.MINUTE))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(reportRepository);
+    }
+}
@@ -0,0 +1,72 @@
+package com.crediya.usecase.streamreports;
+
+import com.crediya.model.report.Report;
+import com.crediya.model.report.gateways.ReportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("StreamReportsUseCase Tests")
+class StreamReportsUseCaseTest {
+
+    @Mock
+    private ReportRepository reportRepository;
+
+    private StreamReportsUseCase streamReportsUseCase;
+
+    @BeforeEach
+    void setUp() {
+        streamReportsUseCase = new StreamReportsUseCase(reportRepository);
+    }
+
+    private static Report version(long version) {
+        return Report.builder().metricId("global-report").count(version).version(version).build();
+    }
+
+    @Test
+    @DisplayName("Debe emitir el estado actual y luego cada cambio")
+    void shouldEmitCurrentStateThenChanges() {
+        // Given
+        Sinks.Many<Report> updates = Sinks.many().multicast().directBestEffort();
+        when(reportRepository.updates()).thenReturn(updates.asFlux());
+        when(reportRepository.get()).thenReturn(Mono.just(version(5)));
+
+        // When & Then
+        StepVerifier.create(streamReportsUseCase.execute())
+                .expectNextMatches(r -> r.getVersion() == 5)
+                .then(() -> updates.tryEmitNext(version(6)))
+                .expectNextMatches(r -> r.getVersion() == 6)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Debe descartar versiones que no avanzan")
+    void shouldDropStaleVersions() {
+        // Given: un cambio llega antes que la lectura inicial, que ya quedó vieja
+        Sinks.Many<Report> updates = Sinks.many().multicast().directBestEffort();
+        Sinks.One<Report> initial = Sinks.one();
+        when(reportRepository.updates()).thenReturn(updates.asFlux());
+        when(reportRepository.get()).thenReturn(initial.asMono());
+
+        // When & Then
+        StepVerifier.create(streamReportsUseCase.execute())
+                .then(() -> updates.tryEmitNext(version(7)))
+                .expectNextMatches(r -> r.getVersion() == 7)
+                .then(() -> initial.tryEmitValue(version(6)))
+                .then(() -> updates.tryEmitNext(version(7)))
+                .then(() -> updates.tryEmitNext(version(8)))
+                .expectNextMatches(r -> r.getVersion() == 8)
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,98 @@
+package com.crediya.dynamodb;
+
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests armados por segundo en el camino de lectura y escritura: esquema por introspección en
+ * cada lectura (camino anterior) contra el estático, y UpdateExpression del contador y de un bucket.
+ * El profiler gc del build da {@code gc.alloc.rate.norm} (bytes por request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ReportRequestBenchmark {
+
+    private final Instant now = Instant.parse("2025-01-01T00:00:00Z");
+    private ReportDelta delta;
+    private Map<String, AttributeValue> item;
+
+    @Setup
+    public void setUp() {
+        delta = ReportDelta.of(new ReportEvent("APPROVED", new BigDecimal("50056.00"), Map.of("product", "AUTO")));
+        item = ModelEntity.SCHEMA.itemToMap(entity(), true);
+    }
+
+    @Benchmark
+    public Object readWithBeanSchema() {
+        return TableSchema.fromBean(BeanEntity.class).mapToItem(item);
+    }
+
+    @Benchmark
+    public ModelEntity readWithStaticSchema() {
+        return ModelEntity.SCHEMA.mapToItem(item);
+    }
+
+    @Benchmark
+    public Update counterUpdate() {
+        return ReportUpdateExpression.counter("crediya-reports", "global-report", delta, now, true);
+    }
+
+    @Benchmark
+    public Update bucketUpdate() {
+        return ReportUpdateExpression.counter("crediya-reports", "global-report#minute#202501010000", delta, now, false);
+    }
+
+    private static ModelEntity entity() {
+        var entity = new ModelEntity();
+        entity.setMetricId("global-report");
+        entity.setCount(1_250L);
+        entity.setTotalAmountCents(new BigDecimal("62570000.5"));
+        entity.setUpdatedAt("2025-01-01T00:00:00Z");
+        entity.setVersion(1_300L);
+        entity.setStatusTotals(Map.of("APPROVED", Map.of("count", BigDecimal.valueOf(1_250), "totalAmountCents", new BigDecimal("62570000.5"))));
+        return entity;
+    }
+
+    /** Mismos atributos leídos con el mapper por introspección, como antes del esquema estático */
+    @DynamoDbBean
+    public static class BeanEntity {
+        private String metricId;
+        private Long count;
+        private BigDecimal totalAmountCents;
+        private String updatedAt;
+        private Long version;
+        private Map<String, Map<String, BigDecimal>> byStatus;
+
+        @DynamoDbPartitionKey
+        public String getMetricId() { return metricId; }
+        public void setMetricId(String metricId) { this.metricId = metricId; }
+        public Long getCount() { return count; }
+        public void setCount(Long count) { this.count = count; }
+        public BigDecimal getTotalAmountCents() { return totalAmountCents; }
+        public void setTotalAmountCents(BigDecimal totalAmountCents) { this.totalAmountCents = totalAmountCents; }
+        public String getUpdatedAt() { return updatedAt; }
+        public void setUpdatedAt(String updatedAt) { this.updatedAt = updatedAt; }
+        public Long getVersion() { return version; }
+        public void setVersion(Long version) { this.version = version; }
+        public Map<String, Map<String, BigDecimal>> getByStatus() { return byStatus; }
+        public void setByStatus(Map<String, Map<String, BigDecimal>> byStatus) { this.byStatus = byStatus; }
+    }
+}
@@ -1,91 +1,625 @@
 package com.crediya.dynamodb;
 
+import com.crediya.dynamodb.cache.ReportCacheProperties;
+import com.crediya.dynamodb.cache.ReportReadCache;
+import com.crediya.dynamodb.coalescing.ReportCoalescingProperties;
+import com.crediya.dynamodb.coalescing.ReportWriteCoalescer;
+import com.crediya.dynamodb.dedup.EventDedupWindow;
+import com.crediya.dynamodb.dedup.ReportDedupProperties;
+import com.crediya.dynamodb.journal.ReportJournal;
+import com.crediya.dynamodb.journal.ReportJournalProperties;
 import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBucket;
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
 import com.crediya.model.report.gateways.ReportRepository;
-import org.reactivecommons.utils.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
-import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.ReadBatch;
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.CancellationReason;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+import software.amazon.awssdk.services.dynamodb.model.ConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ReturnConsumedCapacity;
+import software.amazon.awssdk.services.dynamodb.model.TransactWriteItem;
+import software.amazon.awssdk.services.dynamodb.model.TransactionCanceledException;
+import software.amazon.awssdk.services.dynamodb.model.Update;
 import software.amazon.awssdk.services.dynamodb.model.UpdateItemRequest;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Repository
-public class DynamoDBTemplateAdapter implements ReportRepository {
+public class DynamoDBTemplateAdapter implements ReportRepository, DisposableBean {
+
+    /** Límite de llaves por BatchGetItem */
+    private static final int MAX_BATCH_KEYS = 100;
+    /** Eventos con marcador por transacción: contador + 3 buckets + marcadores bajo el límite de 100 ítems */
+    private static final int MAX_MARKED_EVENTS = 50;
 
     private final DynamoDbAsyncClient ddb;
     private final DynamoDbEnhancedAsyncClient enhanced;
-    private final ObjectMapper mapper;
+    private final DynamoDbAsyncTable<ModelEntity> table;
+    private final ReportShards shards;
+    private final ReportRollups rollups;
     private final String tableName;
     private final String indexName;
     private final String singlePk;
+    /** null cuando el agregado de escrituras está apagado */
+    private final ReportWriteCoalescer coalescer;
+    /** null cuando el journal local está apagado */
+    private final ReportJournal journal;
+    /** null cuando el cache de lectura está apagado */
+    private final ReportReadCache<Report> cache;
+    /** null cuando la deduplicación está apagada */
+    private final EventDedupWindow dedup;
+    private final Duration markerTtl;
+    private final Counter memoryDuplicates;
+    private final Counter conditionalDuplicates;
+    private final Counter appliedOnce;
+    /** WCU por escritura, con y sin marcadores: el costo extra de la idempotencia */
+    private final DistributionSummary plainCapacity;
+    private final DistributionSummary idempotentCapacity;
+    /** Escrituras aplicadas por este nodo; el flujo de updates() la observa */
+    private final AtomicLong appliedWrites = new AtomicLong();
+    private final Flux<Report> updates;
 
     public DynamoDBTemplateAdapter(
             DynamoDbAsyncClient ddb,
             DynamoDbEnhancedAsyncClient enhanced,
-            ObjectMapper mapper,
+            ReportShards shards,
+            ReportRollups rollups,
+            ReportCoalescingProperties coalescing,
+            ReportJournalProperties journaling,
+            ReportCacheProperties caching,
+            ReportDedupProperties deduplication,
+            MeterRegistry registry,
             @Value("${app.dynamo.table}") String table,
             @Value("${app.dynamo.gsi:}") String gsi,
-            @Value("${app.dynamo.pk}") String pk
+            @Value("${app.dynamo.pk}") String pk,
+            @Value("${app.dynamo.updates.min-interval:250ms}") Duration updatesInterval
     ) {
         this.ddb = ddb;
         this.enhanced = enhanced;
-        this.mapper = mapper;
+        this.shards = shards;
+        this.rollups = rollups;
         this.tableName = table;
+        this.table = enhanced.table(table, ModelEntity.SCHEMA);
         this.indexName = gsi;
         this.singlePk = pk;
+        // Mientras haya suscriptores: a lo sumo una lectura por intervalo y solo si hubo escrituras
+        this.updates = Flux.interval(updatesInterval)
+                .map(tick -> appliedWrites.get())
+                .distinctUntilChanged()
+                .skip(1)
+                .onBackpressureLatest()
+                .concatMap(writes -> load().onErrorResume(e -> Mono.empty()), 1)
+                .publish()
+                .refCount();
+        this.cache = caching.enabled() ? new ReportReadCache<>(caching, registry) : null;
+        this.coalescer = coalescing.enabled()
+                ? new ReportWriteCoalescer(coalescing.window(), coalescing.maxEvents(), this::applyDelta, registry)
+                : null;
+        this.dedup = deduplication.enabled()
+                ? new EventDedupWindow(deduplication.windowSize(), deduplication.falsePositiveRate(), registry)
+                : null;
+        this.markerTtl = deduplication.markerTtl();
+        this.memoryDuplicates = Counter.builder("report.dedup.events").tag("result", "memory_hit").register(registry);
+        this.conditionalDuplicates = Counter.builder("report.dedup.events").tag("result", "conditional_hit").register(registry);
+        this.appliedOnce = Counter.builder("report.dedup.events").tag("result", "applied").register(registry);
+        this.plainCapacity = DistributionSummary.builder("report.write.capacity").tag("idempotent", "false").register(registry);
+        this.idempotentCapacity = DistributionSummary.builder("report.write.capacity").tag("idempotent", "true").register(registry);
+        // Al abrir reaplica lo que quedó sin aplicar de una ejecución anterior
+        this.journal = journaling.enabled()
+                ? new ReportJournal(journaling, this::applyJournaled, registry)
+                : null;
     }
 
-    private DynamoDbAsyncTable<ModelEntity> table() {
-        return enhanced.table(tableName, TableSchema.fromBean(ModelEntity.class));
-    }
-
-    /** Upsert atómico: +1 al conteo y +approvedAmountCents al total, actualiza updatedAt */
+    /** Equivale a un evento APPROVED sin dimensiones */
     @Override
     public Mono<Void> updateReport(BigDecimal approvedAmountCents) {
         if (approvedAmountCents == null) {
             return Mono.error(new IllegalArgumentException("approvedAmountCents no puede ser null"));
         }
-        var key = Map.of("metricId", AttributeValue.builder().s(singlePk).build());
+        // Un monto con más de dos decimales no cabe en centavos y se rechaza como error del Mono
+        return Mono.defer(() -> recordEvent(ReportEvent.approved(approvedAmountCents)));
+    }
+
+    /**
+     * Upsert atómico: conteo y total (solo aprobados), desglose por status y dimensiones, y updatedAt.
+     * Con el journal activo el Mono termina cuando el evento está en disco local y la escritura a
+     * DynamoDB ocurre en segundo plano; con el agregador, cuando la ventana que lo contiene queda escrita.
+     */
+    @Override
+    public Mono<Void> recordEvent(ReportEvent event) {
+        if (event.approved() && event.approvedAmount() == null) {
+            return Mono.error(new IllegalArgumentException("approvedAmount no puede ser null en un evento aprobado"));
+        }
+        if (dedup != null && event.id() != null) {
+            return recordEvents(List.of(event));
+        }
+        if (journal != null) {
+            return journal.append(event);
+        }
+        if (coalescer != null) {
+            return coalescer.submit(event, event.amountCentsOrZero());
+        }
+        return applyDelta(ReportDelta.of(event));
+    }
+
+    /**
+     * El lote se suma en un solo delta; con el agregador activo ese delta entra en la ventana abierta
+     * junto con los de otros lotes, si no se aplica con una sola escritura.
+     * Con el journal activo cada evento se agrega al log y el grupo comparte el fsync.
+     * <p>
+     * Con la deduplicación activa los ids ya vistos en memoria se descartan sin I/O, y los eventos
+     * con id se escriben junto a su marcador condicional: un evento repetido cancela la transacción,
+     * se quita del lote y el resto se reintenta, así cada id se aplica exactamente una vez. Esos lotes
+     * no pasan por el agregador: el contador tiene que ir en la misma transacción que los marcadores.
+     */
+    @Override
+    public Mono<Void> recordEvents(List<ReportEvent> events) {
+        for (ReportEvent event : events) {
+            if (event.approved() && event.approvedAmount() == null) {
+                return Mono.error(new IllegalArgumentException("approvedAmount no puede ser null en un evento aprobado"));
+            }
+        }
+        List<ReportEvent> fresh = dedup == null ? events : skipSeen(events);
+        if (fresh.isEmpty()) {
+            return Mono.empty();
+        }
+        if (journal != null) {
+            // El journal guarda el id: al aplicar el lote se escribe con sus marcadores (applyJournaled)
+            return Flux.fromIterable(fresh).flatMap(journal::append).then()
+                    .doOnSuccess(v -> remember(fresh));
+        }
+        if (dedup != null && fresh.stream().anyMatch(e -> e.id() != null)) {
+            return applyMarked(fresh);
+        }
+        if (coalescer != null) {
+            return coalescer.submit(deltaOf(fresh));
+        }
+        return applyDelta(deltaOf(fresh));
+    }
+
+    /** Contador y marcadores en transacciones de a lo sumo {@code MAX_MARKED_EVENTS} eventos */
+    private Mono<Void> applyMarked(List<ReportEvent> events) {
+        return Flux.fromIterable(chunks(events, MAX_MARKED_EVENTS))
+                .concatMap(chunk -> {
+                    int shard = shards.nextShard();
+                    return registerShards(shard + 1)
+                            .then(Mono.defer(() -> writeOnce(shard, chunk)))
+                            .doOnSuccess(v -> appliedWrites.incrementAndGet());
+                })
+                .then();
+    }
+
+    /**
+     * Lote del journal: con la deduplicación activa y eventos con id pasa por los marcadores, así un
+     * evento reaplicado tras un reinicio (o redelivery que la ventana en memoria no vio) no se cuenta dos veces.
+     */
+    private Mono<Void> applyJournaled(ReportDelta delta, List<ReportEvent> events) {
+        if (dedup != null && events.stream().anyMatch(e -> e.id() != null)) {
+            return applyMarked(events);
+        }
+        return applyDelta(delta);
+    }
+
+    /** Quita los ids ya aplicados según la ventana y los repetidos dentro del mismo lote */
+    private List<ReportEvent> skipSeen(List<ReportEvent> events) {
+        var fresh = new ArrayList<ReportEvent>(events.size());
+        var batchIds = new HashSet<String>();
+        for (ReportEvent event : events) {
+            if (event.id() != null && (dedup.contains(event.id()) || !batchIds.add(event.id()))) {
+                memoryDuplicates.increment();
+            } else {
+                fresh.add(event);
+            }
+        }
+        return fresh;
+    }
+
+    private void remember(List<ReportEvent> events) {
+        if (dedup != null) {
+            events.stream().map(ReportEvent::id).filter(id -> id != null).forEach(dedup::add);
+        }
+    }
+
+    private static ReportDelta deltaOf(List<ReportEvent> events) {
+        var delta = new ReportDelta();
+        events.forEach(delta::add);
+        return delta;
+    }
+
+    /**
+     * Contador, buckets y un marcador por evento con id en una sola transacción. Si algún marcador ya
+     * existía, DynamoDB cancela todo y ese evento ya estaba aplicado: se reintenta sin él.
+     */
+    private Mono<Void> writeOnce(int shard, List<ReportEvent> events) {
+        String pk = ReportShards.shardKey(singlePk, shard);
+        ReportDelta delta = deltaOf(events);
+        Instant now = Instant.now();
+        var items = new ArrayList<TransactWriteItem>(events.size() + 4);
+        items.add(TransactWriteItem.builder().update(ReportUpdateExpression.counter(tableName, pk, delta, now, true)).build());
+        if (rollups.enabled() && delta.getCount() > 0) {
+            addBuckets(items, shard, delta, now);
+        }
+        int firstMarker = items.size();
+        var marked = new ArrayList<ReportEvent>(events.size());
+        long expiresAt = now.plus(markerTtl).getEpochSecond();
+        for (ReportEvent event : events) {
+            if (event.id() != null) {
+                items.add(TransactWriteItem.builder()
+                        .put(ReportUpdateExpression.marker(tableName, markerKey(event.id()), expiresAt))
+                        .build());
+                marked.add(event);
+            }
+        }
+        Mono<Void> call = Mono.fromFuture(() -> ddb.transactWriteItems(r -> r
+                        .transactItems(items)
+                        .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)))
+                .doOnNext(response -> idempotentCapacity.record(units(response.consumedCapacity())))
+                .retryWhen(Retry.backoff(3, Duration.ofMillis(20)).filter(DynamoDBTemplateAdapter::isTransactionConflict))
+                .then();
+        return call
+                .onErrorResume(DynamoDBTemplateAdapter::isMissingDocumentPath, e -> initMaps(pk, delta).then(call))
+                .doOnSuccess(v -> {
+                    remember(marked);
+                    appliedOnce.increment(marked.size());
+                })
+                .onErrorResume(e -> !duplicates(e, firstMarker, marked).isEmpty(), e -> {
+                    var duplicated = duplicates(e, firstMarker, marked);
+                    conditionalDuplicates.increment(duplicated.size());
+                    duplicated.forEach(dedup::add);
+                    var remaining = events.stream().filter(ev -> ev.id() == null || !duplicated.contains(ev.id())).toList();
+                    return remaining.isEmpty() ? Mono.empty() : writeOnce(shard, remaining);
+                });
+    }
+
+    /** Ids cuyo marcador falló la condición (ya aplicados); vacío si la cancelación fue por otra causa */
+    private static Set<String> duplicates(Throwable e, int firstMarker, List<ReportEvent> marked) {
+        if (!(e instanceof TransactionCanceledException canceled) || !canceled.hasCancellationReasons()) {
+            return Set.of();
+        }
+        List<CancellationReason> reasons = canceled.cancellationReasons();
+        var ids = new HashSet<String>();
+        for (int i = 0; i < marked.size() && firstMarker + i < reasons.size(); i++) {
+            if ("ConditionalCheckFailed".equals(reasons.get(firstMarker + i).code())) {
+                ids.add(marked.get(i).id());
+            }
+        }
+        return ids;
+    }
+
+    private String markerKey(String eventId) {
+        return singlePk + "#event#" + eventId;
+    }
+
+    private static double units(ConsumedCapacity capacity) {
+        return capacity == null || capacity.capacityUnits() == null ? 0 : capacity.capacityUnits();
+    }
+
+    private static double units(List<ConsumedCapacity> capacities) {
+        return capacities == null ? 0 : capacities.stream().mapToDouble(DynamoDBTemplateAdapter::units).sum();
+    }
+
+    /** Aplica un delta agregado; con shards activos la escritura cae en uno de los ítems {@code <pk>#i} */
+    private Mono<Void> applyDelta(ReportDelta delta) {
+        int shard = shards.nextShard();
+        return registerShards(shard + 1)
+                .then(Mono.defer(() -> write(shard, delta)))
+                .doOnSuccess(v -> appliedWrites.incrementAndGet());
+    }
+
+    /**
+     * Una sola ida a DynamoDB: UpdateItem sobre el contador, o TransactWriteItems cuando además
+     * se incrementan los buckets de minuto/hora/día, para que contador y rollups no diverjan.
+     * Los buckets solo llevan totales; el desglose vive en el contador (ítem base o shard).
+     */
+    private Mono<Void> write(int shard, ReportDelta delta) {
+        String pk = ReportShards.shardKey(singlePk, shard);
+        Instant now = Instant.now();
+        Update counter = ReportUpdateExpression.counter(tableName, pk, delta, now, true);
+        Mono<Void> call;
+        if (!rollups.enabled() || delta.getCount() == 0) {
+            call = Mono.fromFuture(() -> ddb.updateItem(toRequest(counter).toBuilder()
+                            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL).build()))
+                    .doOnNext(response -> plainCapacity.record(units(response.consumedCapacity())))
+                    .then();
+        } else {
+            var items = new ArrayList<TransactWriteItem>(4);
+            items.add(TransactWriteItem.builder().update(counter).build());
+            addBuckets(items, shard, delta, now);
+            call = Mono.fromFuture(() -> ddb.transactWriteItems(r -> r
+                            .transactItems(items)
+                            .returnConsumedCapacity(ReturnConsumedCapacity.TOTAL)))
+                    .doOnNext(response -> plainCapacity.record(units(response.consumedCapacity())))
+                    // Una transacción cancelada no aplicó nada: reintentar no duplica conteos
+                    .retryWhen(Retry.backoff(3, Duration.ofMillis(20)).filter(DynamoDBTemplateAdapter::isTransactionConflict))
+                    .then();
+        }
+        // Primer evento con un status o valor de dimensión nuevo en este ítem: se crean los mapas y se reintenta
+        return call.onErrorResume(DynamoDBTemplateAdapter::isMissingDocumentPath,
+                e -> initMaps(pk, delta).then(call));
+    }
+
+    /**
+     * Buckets de minuto/hora/día en el mismo shard que el contador: sin shards los tres caen en
+     * llaves únicas por instante, una partición caliente que además hace chocar las transacciones.
+     */
+    private void addBuckets(List<TransactWriteItem> items, int shard, ReportDelta delta, Instant now) {
+        for (ReportBucket bucket : ReportRollups.bucketsAt(now)) {
+            String key = ReportShards.shardKey(ReportRollups.bucketKey(singlePk, bucket), shard);
+            items.add(TransactWriteItem.builder()
+                    .update(ReportUpdateExpression.counter(tableName, key, delta, now, false))
+                    .build());
+        }
+    }
+
+    private Mono<Void> initMaps(String pk, ReportDelta delta) {
+        return Flux.fromIterable(ReportUpdateExpression.initMaps(tableName, pk, delta))
+                .concatMap(update -> Mono.fromFuture(() -> ddb.updateItem(toRequest(update))))
+                .then();
+    }
 
+    private static UpdateItemRequest toRequest(Update update) {
+        return UpdateItemRequest.builder()
+                .tableName(update.tableName())
+                .key(update.key())
+                .updateExpression(update.updateExpression())
+                .expressionAttributeNames(update.expressionAttributeNames())
+                .expressionAttributeValues(update.expressionAttributeValues())
+                .build();
+    }
+
+    private static boolean isTransactionConflict(Throwable e) {
+        return e instanceof TransactionCanceledException canceled
+                && canceled.hasCancellationReasons()
+                && canceled.cancellationReasons().stream().anyMatch(r -> "TransactionConflict".equals(r.code()));
+    }
+
+    /** El UpdateExpression apunta a un mapa anidado que todavía no existe en el ítem */
+    private static boolean isMissingDocumentPath(Throwable e) {
+        if (e instanceof TransactionCanceledException canceled) {
+            return canceled.hasCancellationReasons()
+                    && canceled.cancellationReasons().stream().anyMatch(r -> "ValidationError".equals(r.code()));
+        }
+        return e instanceof DynamoDbException ddbError
+                && ddbError.getMessage() != null
+                && ddbError.getMessage().contains("document path");
+    }
+
+    /**
+     * Antes de escribir en un shard nuevo deja en el ítem base el número de shards usados,
+     * así ninguna lectura (de este u otro nodo) deja de sumarlo aunque luego se reduzca N.
+     */
+    private Mono<Void> registerShards(int required) {
+        int target = Math.max(required, shards.count());
+        if (required <= 0 || target <= shards.registered()) {
+            return Mono.empty();
+        }
         var req = UpdateItemRequest.builder()
                 .tableName(tableName)
-                .key(key)
-                .updateExpression(
-                        "SET " +
-                                "#count = if_not_exists(#count, :zero) + :one, " +
-                                "#total = if_not_exists(#total, :zeroDec) + :amount, " +
-                                "#updatedAt = :now"
-                )
-                .expressionAttributeNames(Map.of(
-                        "#count", "count",
-                        "#total", "totalAmountCents",
-                        "#updatedAt", "updatedAt"
-                ))
-                .expressionAttributeValues(Map.of(
-                        ":zero",   AttributeValue.builder().n("0").build(),
-                        ":one",    AttributeValue.builder().n("1").build(),
-                        ":zeroDec",AttributeValue.builder().n("0").build(),
-                        ":amount", AttributeValue.builder().n(approvedAmountCents.stripTrailingZeros().toPlainString()).build(),
-                        ":now",    AttributeValue.builder().s(java.time.Instant.now().toString()).build()
-                ))
+                .key(Map.of("metricId", AttributeValue.builder().s(singlePk).build()))
+                .updateExpression("SET #shards = :n")
+                .conditionExpression("attribute_not_exists(#shards) OR #shards < :n")
+                .expressionAttributeNames(Map.of("#shards", "shardCount"))
+                .expressionAttributeValues(Map.of(":n", AttributeValue.builder().n(Integer.toString(target)).build()))
                 .build();
 
-        return Mono.fromFuture(ddb.updateItem(req)).then();
+        return Mono.fromFuture(ddb.updateItem(req))
+                .then()
+                // Otro nodo ya registró un valor mayor o igual
+                .onErrorResume(ConditionalCheckFailedException.class, e -> Mono.empty())
+                .doOnSuccess(v -> shards.markRegistered(target));
     }
 
-    /** Lectura consistente del único registro (PK fija) */
+    /**
+     * Reporte global. Con el cache activo se sirve desde memoria durante el TTL y los misses
+     * concurrentes comparten una sola lectura; el valor puede ir hasta un TTL (más maxStale con
+     * stale-while-revalidate) por detrás de las escrituras.
+     */
     @Override
     public Mono<Report> get() {
-        Key key = Key.builder().partitionValue(singlePk).build();
-        return Mono.fromFuture(table().getItem(r -> r.key(key).consistentRead(true)))
-                .flatMap(e -> e == null ? Mono.empty() : Mono.just(mapper.map(e, Report.class)));
+        return cache == null ? load() : cache.get(this::load);
+    }
+
+    @Override
+    public Flux<Report> updates() {
+        return updates;
+    }
+
+    /** Lectura consistente del ítem base más todos los shards, sumados en un único Report */
+    private Mono<Report> load() {
+        int span = shards.readSpan();
+        return readItems(itemKeys(span), true)
+                .collectList()
+                .flatMap(items -> {
+                    int persisted = persistedShards(items);
+                    shards.markRegistered(persisted);
+                    if (persisted <= span) {
+                        return Mono.just(items);
+                    }
+                    // El ítem base conoce más shards de los que pedimos: se leen los faltantes
+                    return readItems(shardKeys(span, persisted), true)
+                            .collectList()
+                            .map(extra -> {
+                                var all = new ArrayList<>(items);
+                                all.addAll(extra);
+                                return all;
+                            });
+                })
+                .filter(items -> !items.isEmpty())
+                .map(items -> ReportEntityMapper.toReportWithBreakdowns(merge(singlePk, items)));
+    }
+
+    /**
+     * Lectura de buckets de rollup por llave calculada. El GSI metricId-updatedAt-index usa la misma
+     * llave de partición que la tabla, así que no sirve para rangos; las llaves de bucket se conocen
+     * de antemano y se leen con BatchGetItem (lectura eventual, la mitad de RCU). Cada bucket se
+     * lee con sus shards ({@code <bucket>#0..N-1}) y se suman como el contador.
+     * <p>
+     * Como en {@link #load()}, el ítem base viaja en el mismo BatchGetItem: si su {@code shardCount}
+     * supera lo pedido (N se redujo, o este nodo todavía no lo conocía) se leen los shards de
+     * bucket faltantes. Es una lectura eventual, igual que la de los buckets.
+     */
+    @Override
+    public Mono<Map<ReportBucket, Report>> getBuckets(Collection<ReportBucket> buckets) {
+        int span = shards.readSpan();
+        var byKey = bucketKeys(buckets, -1, span);
+        var keys = new ArrayList<>(byKey.keySet());
+        keys.add(singlePk);
+        return readItems(keys, false)
+                .collectList()
+                .flatMap(items -> {
+                    int persisted = persistedShards(items);
+                    shards.markRegistered(persisted);
+                    var found = items.stream().filter(e -> byKey.containsKey(e.getMetricId())).toList();
+                    if (persisted <= span) {
+                        return Mono.just(found);
+                    }
+                    var missing = bucketKeys(buckets, span, persisted);
+                    byKey.putAll(missing);
+                    return readItems(new ArrayList<>(missing.keySet()), false)
+                            .collectList()
+                            .map(extra -> {
+                                var all = new ArrayList<>(found);
+                                all.addAll(extra);
+                                return all;
+                            });
+                })
+                .map(items -> {
+                    var result = new HashMap<ReportBucket, Report>();
+                    items.stream()
+                            .collect(Collectors.groupingBy(e -> byKey.get(e.getMetricId())))
+                            .forEach((bucket, group) -> result.put(bucket,
+                                    ReportEntityMapper.toReport(merge(ReportRollups.bucketKey(singlePk, bucket), group))));
+                    return result;
+                });
+    }
+
+    /** Llaves de los shards {@code from..to-1} de cada bucket; el shard -1 es el bucket mismo */
+    private Map<String, ReportBucket> bucketKeys(Collection<ReportBucket> buckets, int from, int to) {
+        var byKey = new HashMap<String, ReportBucket>();
+        for (ReportBucket bucket : buckets) {
+            String key = ReportRollups.bucketKey(singlePk, bucket);
+            for (int i = from; i < to; i++) {
+                byKey.put(ReportShards.shardKey(key, i), bucket);
+            }
+        }
+        return byKey;
+    }
+
+    /** BatchGetItem en paralelo por bloques de 100 llaves; el cliente reintenta las llaves no procesadas */
+    private Flux<ModelEntity> readItems(List<String> keys, boolean consistent) {
+        return Flux.fromIterable(chunks(keys, MAX_BATCH_KEYS))
+                .flatMap(chunk -> {
+                    var batch = ReadBatch.builder(ModelEntity.class).mappedTableResource(table);
+                    chunk.forEach(pk -> batch.addGetItem(r -> r
+                            .key(Key.builder().partitionValue(pk).build())
+                            .consistentRead(consistent)));
+                    return Flux.from(enhanced.batchGetItem(b -> b.readBatches(batch.build())).resultsForTable(table));
+                });
+    }
+
+    private List<String> itemKeys(int span) {
+        var keys = new ArrayList<String>(span + 1);
+        keys.add(singlePk);
+        keys.addAll(shardKeys(0, span));
+        return keys;
+    }
+
+    private List<String> shardKeys(int from, int to) {
+        var keys = new ArrayList<String>(Math.max(0, to - from));
+        for (int i = from; i < to; i++) {
+            keys.add(ReportShards.shardKey(singlePk, i));
+        }
+        return keys;
+    }
+
+    /** Vistas consecutivas de a lo sumo {@code size} elementos */
+    private static <T> List<List<T>> chunks(List<T> items, int size) {
+        var chunks = new ArrayList<List<T>>();
+        for (int i = 0; i < items.size(); i += size) {
+            chunks.add(items.subList(i, Math.min(i + size, items.size())));
+        }
+        return chunks;
+    }
+
+    private int persistedShards(List<ModelEntity> items) {
+        return items.stream()
+                .filter(e -> singlePk.equals(e.getMetricId()) && e.getShardCount() != null)
+                .mapToInt(ModelEntity::getShardCount)
+                .findFirst()
+                .orElse(0);
+    }
+
+    private static ModelEntity merge(String pk, Collection<ModelEntity> items) {
+        long count = 0;
+        BigDecimal total = BigDecimal.ZERO;
+        Instant updatedAt = null;
+        long version = 0;
+        var byStatus = new HashMap<String, Map<String, BigDecimal>>();
+        var byDimension = new HashMap<String, Map<String, BigDecimal>>();
+        for (var e : items) {
+            sum(byStatus, e.getStatusTotals());
+            sum(byDimension, e.getDimensionTotals());
+            if (e.getCount() != null) count += e.getCount();
+            if (e.getVersion() != null) version += e.getVersion();
+            if (e.getTotalAmountCents() != null) total = total.add(e.getTotalAmountCents());
+            if (e.getUpdatedAt() != null) {
+                var at = Instant.parse(e.getUpdatedAt());
+                if (updatedAt == null || at.isAfter(updatedAt)) updatedAt = at;
+            }
+        }
+        var merged = new ModelEntity();
+        merged.setMetricId(pk);
+        merged.setCount(count);
+        merged.setTotalAmountCents(total);
+        merged.setVersion(version);
+        merged.setUpdatedAt(updatedAt == null ? null : updatedAt.toString());
+        merged.setStatusTotals(byStatus);
+        merged.setDimensionTotals(byDimension);
+        return merged;
+    }
+
+    private static void sum(Map<String, Map<String, BigDecimal>> into, Map<String, Map<String, BigDecimal>> from) {
+        if (from == null) return;
+        from.forEach((key, leaf) -> {
+            var target = into.computeIfAbsent(key, k -> new HashMap<>());
+            leaf.forEach((name, value) -> target.merge(name, value, BigDecimal::add));
+        });
+    }
+
+    @Override
+    public void destroy() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+        if (journal != null) {
+            journal.close();
+        }
     }
 }
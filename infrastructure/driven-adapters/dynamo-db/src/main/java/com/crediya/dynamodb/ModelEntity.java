@@ -1,32 +1,83 @@
 package com.crediya.dynamodb;
 
-import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
+import software.amazon.awssdk.enhanced.dynamodb.EnhancedType;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
 
 import java.math.BigDecimal;
+import java.util.Map;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondaryPartitionKey;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.secondarySortKey;
 
-@DynamoDbBean
 public class ModelEntity {
+
+    static final String UPDATED_AT_INDEX = "metricId-updatedAt-index";
+
+    private static final EnhancedType<Map<String, Map<String, BigDecimal>>> TOTALS =
+            EnhancedType.mapOf(EnhancedType.of(String.class), EnhancedType.mapOf(String.class, BigDecimal.class));
+
+    /**
+     * Esquema armado una sola vez, sin introspección: {@code TableSchema.fromBean} recorre la clase
+     * por reflexión y se llamaba en cada lectura.
+     */
+    static final TableSchema<ModelEntity> SCHEMA = StaticTableSchema.builder(ModelEntity.class)
+            .newItemSupplier(ModelEntity::new)
+            .addAttribute(String.class, a -> a.name("metricId")
+                    .getter(ModelEntity::getMetricId).setter(ModelEntity::setMetricId)
+                    .tags(primaryPartitionKey(), secondaryPartitionKey(UPDATED_AT_INDEX)))
+            .addAttribute(Long.class, a -> a.name("count")
+                    .getter(ModelEntity::getCount).setter(ModelEntity::setCount))
+            .addAttribute(BigDecimal.class, a -> a.name("totalAmountCents")
+                    .getter(ModelEntity::getTotalAmountCents).setter(ModelEntity::setTotalAmountCents))
+            .addAttribute(String.class, a -> a.name("updatedAt")
+                    .getter(ModelEntity::getUpdatedAt).setter(ModelEntity::setUpdatedAt)
+                    .tags(secondarySortKey(UPDATED_AT_INDEX)))
+            .addAttribute(Integer.class, a -> a.name("shardCount")
+                    .getter(ModelEntity::getShardCount).setter(ModelEntity::setShardCount))
+            .addAttribute(Long.class, a -> a.name("version")
+                    .getter(ModelEntity::getVersion).setter(ModelEntity::setVersion))
+            .addAttribute(TOTALS, a -> a.name("byStatus")
+                    .getter(ModelEntity::getStatusTotals).setter(ModelEntity::setStatusTotals))
+            .addAttribute(TOTALS, a -> a.name("byDimension")
+                    .getter(ModelEntity::getDimensionTotals).setter(ModelEntity::setDimensionTotals))
+            .build();
+
     private String metricId;
     private Long count;
     private BigDecimal totalAmountCents;
     private String updatedAt;
+    private Integer shardCount;
+    private Long version;
+    private Map<String, Map<String, BigDecimal>> statusTotals;
+    private Map<String, Map<String, BigDecimal>> dimensionTotals;
 
-    @DynamoDbPartitionKey
-    @DynamoDbSecondaryPartitionKey(indexNames = "metricId-updatedAt-index")
-    @DynamoDbAttribute("metricId")
     public String getMetricId() { return metricId; }
     public void setMetricId(String metricId) { this.metricId = metricId; }
 
-    @DynamoDbAttribute("count")
     public Long getCount() { return count; }
     public void setCount(Long count) { this.count = count; }
 
-    @DynamoDbAttribute("totalAmountCents")
     public BigDecimal getTotalAmountCents() { return totalAmountCents; }
     public void setTotalAmountCents(BigDecimal totalAmountCents) { this.totalAmountCents = totalAmountCents; }
 
-    @DynamoDbSecondarySortKey(indexNames = "metricId-updatedAt-index")
-    @DynamoDbAttribute("updatedAt")
     public String getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(String updatedAt) { this.updatedAt = updatedAt; }
+
+    /** Solo en el ítem base: número máximo de shards que han recibido escrituras */
+    public Integer getShardCount() { return shardCount; }
+    public void setShardCount(Integer shardCount) { this.shardCount = shardCount; }
+
+    /** +1 por escritura en el contador; la suma entre shards es la versión del reporte */
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
+    /** status -> {count, totalAmountCents}; nombre de propiedad distinto al de Report para que el mapper no lo copie */
+    public Map<String, Map<String, BigDecimal>> getStatusTotals() { return statusTotals; }
+    public void setStatusTotals(Map<String, Map<String, BigDecimal>> statusTotals) { this.statusTotals = statusTotals; }
+
+    /** "dimensión=valor" -> {count, totalAmountCents}, solo aprobados */
+    public Map<String, Map<String, BigDecimal>> getDimensionTotals() { return dimensionTotals; }
+    public void setDimensionTotals(Map<String, Map<String, BigDecimal>> dimensionTotals) { this.dimensionTotals = dimensionTotals; }
 }
@@ -0,0 +1,67 @@
+package com.crediya.dynamodb;
+
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBreakdown;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ModelEntity -> Report campo a campo, sin reflexión: reemplaza a {@code ObjectMapper.map}, que
+ * introspecta ambas clases en cada lectura. Un atributo nuevo en el ítem se agrega acá a mano.
+ */
+final class ReportEntityMapper {
+
+    private ReportEntityMapper() {
+    }
+
+    /** Totales y versión; los buckets de rollup no llevan desglose */
+    static Report toReport(ModelEntity e) {
+        return Report.builder()
+                .metricId(e.getMetricId())
+                .count(e.getCount())
+                .updatedAt(e.getUpdatedAt())
+                .totalAmountCents(e.getTotalAmountCents())
+                .version(e.getVersion())
+                .build();
+    }
+
+    /** Con el desglose por status y por dimensión del contador */
+    static Report toReportWithBreakdowns(ModelEntity e) {
+        Report report = toReport(e);
+        report.setByStatus(toBreakdowns(e.getStatusTotals()));
+        report.setByDimension(toDimensions(e.getDimensionTotals()));
+        return report;
+    }
+
+    private static Map<String, ReportBreakdown> toBreakdowns(Map<String, Map<String, BigDecimal>> totals) {
+        if (totals == null) {
+            return Map.of();
+        }
+        var result = HashMap.<String, ReportBreakdown>newHashMap(totals.size());
+        totals.forEach((key, leaf) -> result.put(key, toBreakdown(leaf)));
+        return result;
+    }
+
+    /** "product=AUTO" -> product -> AUTO */
+    private static Map<String, Map<String, ReportBreakdown>> toDimensions(Map<String, Map<String, BigDecimal>> totals) {
+        if (totals == null) {
+            return Map.of();
+        }
+        var result = new HashMap<String, Map<String, ReportBreakdown>>();
+        totals.forEach((key, leaf) -> {
+            int sep = key.indexOf('=');
+            if (sep > 0) {
+                result.computeIfAbsent(key.substring(0, sep), k -> new HashMap<>())
+                        .put(key.substring(sep + 1), toBreakdown(leaf));
+            }
+        });
+        return result;
+    }
+
+    private static ReportBreakdown toBreakdown(Map<String, BigDecimal> leaf) {
+        BigDecimal count = leaf.getOrDefault(ReportUpdateExpression.COUNT, BigDecimal.ZERO);
+        return new ReportBreakdown(count.longValue(), leaf.getOrDefault(ReportUpdateExpression.TOTAL, BigDecimal.ZERO));
+    }
+}
@@ -0,0 +1,59 @@
+package com.crediya.dynamodb;
+
+import com.crediya.model.report.ReportBucket;
+import com.crediya.model.report.ReportGranularity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ítems de rollup por minuto, hora y día. Cada bucket es un ítem con llave
+ * determinística ({@code <pk>#m#2025-09-17T04:30}, {@code <pk>#h#2025-09-17T04}, {@code <pk>#d#2025-09-17})
+ * y los mismos contadores que el ítem global. Con shards activos cada escritura incrementa el bucket
+ * de su shard ({@code <bucket>#i}) y la lectura los suma.
+ * <p>
+ * Apagado por defecto: cada incremento pasa a ser una TransactWriteItems de cuatro ítems.
+ */
+@Component
+public class ReportRollups {
+
+    private static final Map<ReportGranularity, String> PREFIX = new EnumMap<>(Map.of(
+            ReportGranularity.MINUTE, "m",
+            ReportGranularity.HOUR, "h",
+            ReportGranularity.DAY, "d"
+    ));
+    private static final Map<ReportGranularity, DateTimeFormatter> FORMAT = new EnumMap<>(Map.of(
+            ReportGranularity.MINUTE, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm").withZone(ZoneOffset.UTC),
+            ReportGranularity.HOUR, DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH").withZone(ZoneOffset.UTC),
+            ReportGranularity.DAY, DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC)
+    ));
+
+    private final boolean enabled;
+
+    public ReportRollups(@Value("${app.dynamo.rollups.enabled:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean enabled() {
+        return enabled;
+    }
+
+    public static String bucketKey(String pk, ReportBucket bucket) {
+        return pk + "#" + PREFIX.get(bucket.granularity()) + "#" + FORMAT.get(bucket.granularity()).format(bucket.start());
+    }
+
+    /** Buckets (minuto, hora, día) que contienen el instante dado */
+    public static List<ReportBucket> bucketsAt(Instant at) {
+        return List.of(
+                new ReportBucket(ReportGranularity.MINUTE, ReportGranularity.MINUTE.truncate(at)),
+                new ReportBucket(ReportGranularity.HOUR, ReportGranularity.HOUR.truncate(at)),
+                new ReportBucket(ReportGranularity.DAY, ReportGranularity.DAY.truncate(at))
+        );
+    }
+}
@@ -0,0 +1,92 @@
+package com.crediya.dynamodb;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Configuración en caliente de los shards del contador global.
+ * Con count = 0 se escribe sobre el ítem base (modo sin shards); con count = N
+ * cada escritura va a uno de los ítems {@code <pk>#0..N-1}.
+ */
+@Component
+public class ReportShards {
+
+    public static final int MAX_SHARDS = 256;
+
+    public enum Strategy { RANDOM, ROUND_ROBIN }
+
+    private final AtomicInteger count;
+    /** Máximo número de shards que sabemos persistido en el ítem base (high-water mark) */
+    private final AtomicInteger registered = new AtomicInteger();
+    private final AtomicLong cursor = new AtomicLong();
+    private volatile Strategy strategy;
+
+    public ReportShards(
+            @Value("${app.dynamo.shards.count:0}") int count,
+            @Value("${app.dynamo.shards.strategy:RANDOM}") Strategy strategy
+    ) {
+        this.count = new AtomicInteger(validate(count));
+        this.strategy = strategy == null ? Strategy.RANDOM : strategy;
+    }
+
+    public int count() {
+        return count.get();
+    }
+
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    /** Cambia el número de shards de escritura; las lecturas siguen cubriendo el high-water mark */
+    public void resize(int newCount) {
+        count.set(validate(newCount));
+    }
+
+    public void strategy(Strategy newStrategy) {
+        if (newStrategy == null) {
+            throw new IllegalArgumentException("strategy no puede ser null");
+        }
+        this.strategy = newStrategy;
+    }
+
+    public int registered() {
+        return registered.get();
+    }
+
+    /** Registra que el ítem base ya conoce al menos {@code shards} shards */
+    public void markRegistered(int shards) {
+        registered.accumulateAndGet(shards, Math::max);
+    }
+
+    /** Número de shards que una lectura debe cubrir para no perder conteos */
+    public int readSpan() {
+        return Math.max(count.get(), registered.get());
+    }
+
+    /** Índice del shard para la próxima escritura, o -1 si el modo shards está apagado */
+    public int nextShard() {
+        int n = count.get();
+        if (n <= 0) {
+            return -1;
+        }
+        if (strategy == Strategy.ROUND_ROBIN) {
+            return (int) Math.floorMod(cursor.getAndIncrement(), (long) n);
+        }
+        return ThreadLocalRandom.current().nextInt(n);
+    }
+
+    public static String shardKey(String pk, int shard) {
+        return shard < 0 ? pk : pk + "#" + shard;
+    }
+
+    private static int validate(int n) {
+        if (n < 0 || n > MAX_SHARDS) {
+            throw new IllegalArgumentException("shards debe estar entre 0 y " + MAX_SHARDS);
+        }
+        return n;
+    }
+}
@@ -0,0 +1,40 @@
+package com.crediya.dynamodb;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/** Permite consultar y cambiar los shards del contador sin reiniciar el servicio (/actuator/reportshards) */
+@Component
+@Endpoint(id = "reportshards")
+public class ReportShardsEndpoint {
+
+    private final ReportShards shards;
+
+    public ReportShardsEndpoint(ReportShards shards) {
+        this.shards = shards;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        return Map.of(
+                "count", shards.count(),
+                "registered", shards.registered(),
+                "readSpan", shards.readSpan(),
+                "strategy", shards.strategy().name()
+        );
+    }
+
+    @WriteOperation
+    public Map<String, Object> resize(int count, @Nullable ReportShards.Strategy strategy) {
+        shards.resize(count);
+        if (strategy != null) {
+            shards.strategy(strategy);
+        }
+        return shards();
+    }
+}
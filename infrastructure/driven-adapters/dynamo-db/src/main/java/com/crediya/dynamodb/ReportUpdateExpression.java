@@ -0,0 +1,189 @@
+package com.crediya.dynamodb;
+
+import com.crediya.model.report.Money;
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportDelta.Tally;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arma el UpdateExpression de un {@link ReportDelta}: totales, updatedAt y los contadores anidados
+ * {@code byStatus.<STATUS>} y {@code byDimension.<dim=valor>}, todos en una sola escritura.
+ * <p>
+ * DynamoDB no crea mapas intermedios en un SET anidado; cuando falta alguno la escritura falla con
+ * ValidationException y {@link #initMaps} los crea con if_not_exists antes de reintentar. Eso pasa
+ * una vez por ítem y llave nueva, el estado estable sigue siendo una sola escritura.
+ */
+final class ReportUpdateExpression {
+
+    static final String BY_STATUS = "byStatus";
+    static final String BY_DIMENSION = "byDimension";
+    static final String COUNT = "count";
+    static final String TOTAL = "totalAmountCents";
+    static final String VERSION = "version";
+    static final String EXPIRES_AT = "expiresAt";
+
+    private static final AttributeValue ZERO = AttributeValue.builder().n("0").build();
+    private static final AttributeValue ONE = AttributeValue.builder().n("1").build();
+    private static final AttributeValue EMPTY_MAP = AttributeValue.builder().m(Map.of()).build();
+
+    /** Buckets de rollup: expresión y nombres fijos, solo cambian los valores */
+    private static final String TOTALS_EXPRESSION =
+            "SET #c = if_not_exists(#c, :z) + :n, #t = if_not_exists(#t, :z) + :a, #u = :now";
+    private static final Map<String, String> TOTALS_NAMES = Map.of("#c", COUNT, "#t", TOTAL, "#u", "updatedAt");
+    /** Ítem contador: lo mismo más la versión; el desglose se agrega según el delta */
+    private static final String COUNTER_EXPRESSION = TOTALS_EXPRESSION + ", #ver = if_not_exists(#ver, :z) + :one";
+    private static final Map<String, String> COUNTER_NAMES =
+            Map.of("#c", COUNT, "#t", TOTAL, "#u", "updatedAt", "#ver", VERSION);
+
+    private ReportUpdateExpression() {
+    }
+
+    /**
+     * Totales y updatedAt; en el ítem contador ({@code counterItem}, no en los buckets de rollup)
+     * también la versión y los contadores por status y dimensión. Las partes fijas son constantes:
+     * por llamada solo se crean los valores del delta y, en el contador, el desglose.
+     */
+    static Update counter(String table, String pk, ReportDelta delta, Instant now, boolean counterItem) {
+        AttributeValue n = number(delta.getCount());
+        AttributeValue a = amount(delta.getTotalCents());
+        AttributeValue at = AttributeValue.builder().s(now.toString()).build();
+        if (!counterItem) {
+            return update(table, pk, TOTALS_EXPRESSION, TOTALS_NAMES, Map.of(":z", ZERO, ":n", n, ":a", a, ":now", at));
+        }
+        var names = new HashMap<String, String>(COUNTER_NAMES);
+        var values = new HashMap<String, AttributeValue>();
+        values.put(":z", ZERO);
+        values.put(":one", ONE);
+        values.put(":n", n);
+        values.put(":a", a);
+        values.put(":now", at);
+        var expr = new StringBuilder(COUNTER_EXPRESSION);
+        var statuses = statusPaths(delta, names);
+        statuses.forEach((path, b) -> leaf(expr, values, path, b));
+        var dimensions = dimensionPaths(delta, names);
+        dimensions.forEach((path, b) -> leaf(expr, values, path, b));
+        return update(table, pk, expr.toString(), names, values);
+    }
+
+    /** Crea, por niveles, los mapas que necesita el delta; cada nivel es una escritura idempotente */
+    static List<Update> initMaps(String table, String pk, ReportDelta delta) {
+        var updates = new ArrayList<Update>(2);
+
+        var rootNames = new HashMap<String, String>();
+        var roots = new ArrayList<String>(2);
+        if (!delta.getByStatus().isEmpty()) {
+            rootNames.put("#bs", BY_STATUS);
+            roots.add("#bs");
+        }
+        if (!delta.getByDimension().isEmpty()) {
+            rootNames.put("#bd", BY_DIMENSION);
+            roots.add("#bd");
+        }
+        if (roots.isEmpty()) {
+            return updates;
+        }
+        updates.add(update(table, pk, ensure(roots), rootNames, Map.of(":m", EMPTY_MAP)));
+
+        var names = new HashMap<String, String>();
+        var paths = new ArrayList<String>(statusPaths(delta, names).keySet());
+        paths.addAll(dimensionPaths(delta, names).keySet());
+        updates.add(update(table, pk, ensure(paths), names, Map.of(":m", EMPTY_MAP)));
+        return updates;
+    }
+
+    /**
+     * Marcador de evento aplicado: falla con ConditionalCheckFailed si ya existe, y con eso cancela
+     * la transacción entera. Lo borra el TTL de la tabla sobre {@code expiresAt}.
+     */
+    static Put marker(String table, String key, long expiresAtEpochSecond) {
+        return Put.builder()
+                .tableName(table)
+                .item(Map.of(
+                        "metricId", AttributeValue.builder().s(key).build(),
+                        EXPIRES_AT, number(expiresAtEpochSecond)))
+                .conditionExpression("attribute_not_exists(metricId)")
+                .build();
+    }
+
+    /** Llave plana de una dimensión dentro de byDimension */
+    static String dimensionKey(String dimension, String value) {
+        return dimension + "=" + value;
+    }
+
+    private static Map<String, Tally> statusPaths(ReportDelta delta, Map<String, String> names) {
+        var paths = new LinkedHashMap<String, Tally>();
+        int i = 0;
+        for (var e : delta.getByStatus().entrySet()) {
+            names.put("#bs", BY_STATUS);
+            names.put("#s" + i, e.getKey());
+            paths.put("#bs.#s" + i, e.getValue());
+            i++;
+        }
+        return paths;
+    }
+
+    private static Map<String, Tally> dimensionPaths(ReportDelta delta, Map<String, String> names) {
+        var paths = new LinkedHashMap<String, Tally>();
+        int i = 0;
+        for (var dim : delta.getByDimension().entrySet()) {
+            for (var value : dim.getValue().entrySet()) {
+                names.put("#bd", BY_DIMENSION);
+                names.put("#d" + i, dimensionKey(dim.getKey(), value.getKey()));
+                paths.put("#bd.#d" + i, value.getValue());
+                i++;
+            }
+        }
+        return paths;
+    }
+
+    private static void leaf(StringBuilder expr, Map<String, AttributeValue> values, String path, Tally b) {
+        // ":bs.#s0" no es un placeholder válido: se deriva uno solo con letras y dígitos
+        String v = ":" + path.replace("#", "").replace(".", "_");
+        expr.append(", ").append(path).append(".#c = if_not_exists(").append(path).append(".#c, :z) + ").append(v).append("n")
+            .append(", ").append(path).append(".#t = if_not_exists(").append(path).append(".#t, :z) + ").append(v).append("a");
+        values.put(v + "n", number(b.getCount()));
+        values.put(v + "a", amount(b.getCents()));
+    }
+
+    private static String ensure(List<String> paths) {
+        var expr = new StringBuilder("SET ");
+        for (int i = 0; i < paths.size(); i++) {
+            if (i > 0) expr.append(", ");
+            String p = paths.get(i);
+            expr.append(p).append(" = if_not_exists(").append(p).append(", :m)");
+        }
+        return expr.toString();
+    }
+
+    private static Update update(String table, String pk, String expression,
+                                 Map<String, String> names, Map<String, AttributeValue> values) {
+        return Update.builder()
+                .tableName(table)
+                .key(Map.of("metricId", AttributeValue.builder().s(pk).build()))
+                .updateExpression(expression)
+                .expressionAttributeNames(names)
+                .expressionAttributeValues(values)
+                .build();
+    }
+
+    private static AttributeValue number(long n) {
+        if (n == 0) return ZERO;
+        if (n == 1) return ONE;
+        return AttributeValue.builder().n(Long.toString(n)).build();
+    }
+
+    /** El atributo guarda el monto en unidades (50056.5), como siempre; el delta lo trae en centavos */
+    private static AttributeValue amount(long cents) {
+        if (cents == 0) return ZERO;
+        return AttributeValue.builder().n(Money.plain(cents)).build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.crediya.dynamodb.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Cache de lectura del reporte global. Con {@code staleWhileRevalidate}, pasado el {@code ttl} y
+ * hasta {@code ttl + maxStale} se responde con el valor anterior mientras una sola lectura lo renueva.
+ */
+@ConfigurationProperties(prefix = "app.dynamo.cache")
+public record ReportCacheProperties(
+        boolean enabled,
+        Duration ttl,
+        boolean staleWhileRevalidate,
+        Duration maxStale) {
+
+    public ReportCacheProperties {
+        if (ttl == null || ttl.isNegative()) ttl = Duration.ofSeconds(1);
+        if (maxStale == null || maxStale.isNegative()) maxStale = Duration.ofSeconds(5);
+    }
+}
@@ -0,0 +1,114 @@
+package com.crediya.dynamodb.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Read-through de un único valor con TTL y single-flight: mientras hay una lectura en vuelo, los
+ * demás misses se cuelgan de ella en vez de ir a DynamoDB. También se cachea la ausencia de valor.
+ * Los errores no se cachean. La lectura en vuelo no depende de quién la pidió: si ese cliente
+ * cancela, los demás igual reciben el resultado.
+ */
+public class ReportReadCache<T> {
+
+    private final long ttlNanos;
+    private final long staleNanos;
+    private final boolean staleWhileRevalidate;
+    private final LongSupplier clock;
+    private final AtomicReference<Entry<T>> entry = new AtomicReference<>();
+    private final AtomicReference<Mono<T>> inFlight = new AtomicReference<>();
+
+    private final Counter hits;
+    private final Counter stale;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ReportReadCache(ReportCacheProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    ReportReadCache(ReportCacheProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.ttlNanos = properties.ttl().toNanos();
+        this.staleNanos = ttlNanos + properties.maxStale().toNanos();
+        this.staleWhileRevalidate = properties.staleWhileRevalidate();
+        this.clock = clock;
+        this.hits = counter(registry, "hit");
+        this.stale = counter(registry, "stale");
+        this.misses = counter(registry, "miss");
+        this.coalesced = counter(registry, "coalesced");
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("report.cache.requests")
+                .description("Lecturas del reporte según cómo las resolvió el cache")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    public Mono<T> get(Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            Entry<T> current = entry.get();
+            long age = current == null ? Long.MAX_VALUE : clock.getAsLong() - current.loadedAt;
+            if (age < ttlNanos) {
+                hits.increment();
+                return Mono.justOrEmpty(current.value);
+            }
+            if (staleWhileRevalidate && age < staleNanos) {
+                stale.increment();
+                if (inFlight.get() == null) {
+                    load(loader).subscribe(v -> { }, e -> { });
+                }
+                return Mono.justOrEmpty(current.value);
+            }
+            return load(loader);
+        });
+    }
+
+    /** Descarta el valor cacheado; la siguiente lectura va a DynamoDB */
+    public void invalidate() {
+        entry.set(null);
+    }
+
+    private Mono<T> load(Supplier<Mono<T>> loader) {
+        while (true) {
+            Mono<T> running = inFlight.get();
+            if (running != null) {
+                coalesced.increment();
+                return running;
+            }
+            Sinks.One<T> result = Sinks.one();
+            Mono<T> shared = result.asMono();
+            if (inFlight.compareAndSet(null, shared)) {
+                misses.increment();
+                loader.get()
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .subscribe(
+                                value -> {
+                                    entry.set(new Entry<>(value.orElse(null), clock.getAsLong()));
+                                    inFlight.set(null);
+                                    if (value.isPresent()) {
+                                        result.tryEmitValue(value.get());
+                                    } else {
+                                        result.tryEmitEmpty();
+                                    }
+                                },
+                                error -> {
+                                    inFlight.set(null);
+                                    result.tryEmitError(error);
+                                });
+                return shared;
+            }
+        }
+    }
+
+    private record Entry<T>(T value, long loadedAt) {
+    }
+}
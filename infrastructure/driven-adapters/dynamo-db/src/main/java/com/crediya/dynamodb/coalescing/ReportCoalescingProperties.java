@@ -0,0 +1,17 @@
+package com.crediya.dynamodb.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "app.dynamo.coalescing")
+public record ReportCoalescingProperties(
+        boolean enabled,
+        Duration window,
+        int maxEvents) {
+
+    public ReportCoalescingProperties {
+        if (window == null || window.isZero() || window.isNegative()) window = Duration.ofMillis(100);
+        if (maxEvents <= 0) maxEvents = 500;
+    }
+}
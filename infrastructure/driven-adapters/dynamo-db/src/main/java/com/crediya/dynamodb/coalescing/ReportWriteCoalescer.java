@@ -0,0 +1,226 @@
+package com.crediya.dynamodb.coalescing;
+
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa los incrementos del reporte en ventanas (por tiempo o por número de eventos)
+ * y los aplica con una sola escritura por ventana.
+ * El Mono de cada evento termina cuando el flush que lo contiene se confirma, así el
+ * mensaje SQS solo se borra después de que su delta quedó persistido.
+ */
+public class ReportWriteCoalescer implements AutoCloseable {
+
+    /** Escritura de un delta agregado: totales más el desglose por status y dimensiones */
+    @FunctionalInterface
+    public interface DeltaWriter {
+        Mono<Void> write(ReportDelta delta);
+    }
+
+    /**
+     * Contadores distintos (status + valores de dimensión) a partir de los cuales la ventana se
+     * cierra antes de tiempo, para que el UpdateExpression no pase el límite de 4 KB.
+     */
+    public static final int MAX_BREAKDOWN_KEYS = 24;
+
+    private final int maxEvents;
+    private final DeltaWriter writer;
+    private final AtomicReference<Window> current = new AtomicReference<>(new Window());
+    private final Sinks.Many<Long> fullWindows = Sinks.many().multicast().directBestEffort();
+    private final Disposable flusher;
+
+    private final Counter events;
+    private final Counter flushErrors;
+    private final Timer flushLatency;
+    private final DistributionSummary flushSize;
+
+    public ReportWriteCoalescer(Duration window, int maxEvents, DeltaWriter writer, MeterRegistry registry) {
+        this.maxEvents = maxEvents;
+        this.writer = writer;
+        this.events = Counter.builder("report.coalescer.events")
+                .description("Eventos recibidos por el agregador")
+                .register(registry);
+        this.flushErrors = Counter.builder("report.coalescer.flush.errors").register(registry);
+        this.flushLatency = Timer.builder("report.coalescer.flush.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        this.flushSize = DistributionSummary.builder("report.coalescer.flush.size")
+                .description("Eventos aplicados por escritura")
+                .register(registry);
+        Gauge.builder("report.coalescer.pending", current, w -> w.get().size.get())
+                .register(registry);
+
+        this.flusher = Flux.merge(Flux.interval(window), fullWindows.asFlux())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush(), 1)
+                .subscribe();
+    }
+
+    /** Suma el evento a la ventana abierta; termina cuando la ventana se escribe en DynamoDB */
+    public Mono<Void> submit(ReportEvent event, long amountCents) {
+        Window w = enter();
+        try {
+            w.counters(w.byStatus, event.status()).add(amountCents);
+            if (event.approved()) {
+                w.total.add(amountCents);
+                event.dimensions().forEach((dimension, value) -> w.counters(
+                        w.byDimension.computeIfAbsent(dimension, k -> new ConcurrentHashMap<>()), value
+                ).add(amountCents));
+            }
+        } finally {
+            w.writers.decrementAndGet();
+        }
+        events.increment();
+        if (w.size.incrementAndGet() == maxEvents || w.keys.get() == MAX_BREAKDOWN_KEYS) {
+            // Si la emisión compite con otro hilo, el intervalo hará el flush igual
+            fullWindows.tryEmitNext(System.nanoTime());
+        }
+        return w.done.asMono();
+    }
+
+    /**
+     * Suma un delta ya agregado (un lote SQS completo) a la ventana abierta; termina como
+     * {@link #submit(ReportEvent, long)}, cuando la ventana se escribe en DynamoDB.
+     */
+    public Mono<Void> submit(ReportDelta delta) {
+        if (delta.isEmpty()) {
+            return Mono.empty();
+        }
+        Window w = enter();
+        int keysBefore;
+        try {
+            keysBefore = w.keys.get();
+            delta.getByStatus().forEach((status, tally) ->
+                    w.counters(w.byStatus, status).add(tally.getCount(), tally.getCents()));
+            if (delta.getCount() > 0) {
+                w.total.add(delta.getCount(), delta.getTotalCents());
+            }
+            delta.getByDimension().forEach((dimension, values) -> {
+                var counters = w.byDimension.computeIfAbsent(dimension, k -> new ConcurrentHashMap<>());
+                values.forEach((value, tally) -> w.counters(counters, value).add(tally.getCount(), tally.getCents()));
+            });
+        } finally {
+            w.writers.decrementAndGet();
+        }
+        events.increment(delta.getEvents());
+        int n = (int) Math.min(delta.getEvents(), Integer.MAX_VALUE);
+        int before = w.size.getAndAdd(n);
+        // Un lote puede pasar los umbrales de una vez: se avisa solo al cruzarlos
+        if ((before < maxEvents && before + n >= maxEvents)
+                || (keysBefore < MAX_BREAKDOWN_KEYS && w.keys.get() >= MAX_BREAKDOWN_KEYS)) {
+            fullWindows.tryEmitNext(System.nanoTime());
+        }
+        return w.done.asMono();
+    }
+
+    /** Cierra la ventana abierta y escribe su delta; los flush se ejecutan de a uno */
+    Mono<Void> flush() {
+        Window w = current.getAndSet(new Window());
+        w.sealed = true;
+        while (w.writers.get() > 0) {
+            Thread.onSpinWait();
+        }
+        ReportDelta delta = w.toDelta();
+        if (delta.isEmpty()) {
+            w.done.tryEmitEmpty();
+            return Mono.empty();
+        }
+        long start = System.nanoTime();
+        return writer.write(delta)
+                .doOnSuccess(v -> {
+                    flushLatency.record(Duration.ofNanos(System.nanoTime() - start));
+                    flushSize.record(delta.getEvents());
+                    w.done.tryEmitEmpty();
+                })
+                .onErrorResume(e -> {
+                    flushErrors.increment();
+                    w.done.tryEmitError(e);
+                    return Mono.empty();
+                });
+    }
+
+    private Window enter() {
+        while (true) {
+            Window w = current.get();
+            w.writers.incrementAndGet();
+            if (!w.sealed) {
+                return w;
+            }
+            w.writers.decrementAndGet();
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.dispose();
+        flush().block(Duration.ofSeconds(10));
+    }
+
+    /** Conteo y centavos striped por núcleo (LongAdder) */
+    private static final class Counters {
+        final LongAdder count = new LongAdder();
+        final LongAdder cents = new LongAdder();
+
+        void add(long amountCents) {
+            count.increment();
+            cents.add(amountCents);
+        }
+
+        void add(long n, long amountCents) {
+            count.add(n);
+            cents.add(amountCents);
+        }
+    }
+
+    /** Acumuladores de una ventana; computeIfAbsent no bloquea cuando la llave ya existe */
+    private static final class Window {
+        final Counters total = new Counters();
+        final ConcurrentHashMap<String, Counters> byStatus = new ConcurrentHashMap<>();
+        final ConcurrentHashMap<String, ConcurrentHashMap<String, Counters>> byDimension = new ConcurrentHashMap<>();
+        /** Contadores de desglose creados en la ventana */
+        final AtomicInteger keys = new AtomicInteger();
+        /** Solo para disparar el flush por tamaño */
+        final AtomicInteger size = new AtomicInteger();
+        /** Escritores dentro de la ventana; el flush espera a que lleguen a cero */
+        final AtomicInteger writers = new AtomicInteger();
+        final Sinks.Empty<Void> done = Sinks.empty();
+        volatile boolean sealed;
+
+        Counters counters(ConcurrentHashMap<String, Counters> map, String key) {
+            return map.computeIfAbsent(key, k -> {
+                keys.incrementAndGet();
+                return new Counters();
+            });
+        }
+
+        ReportDelta toDelta() {
+            var delta = new ReportDelta();
+            byStatus.forEach((status, c) -> {
+                delta.addEvents(c.count.sum());
+                delta.addStatus(status, c.count.sum(), c.cents.sum());
+            });
+            if (total.count.sum() > 0) {
+                delta.addTotals(total.count.sum(), total.cents.sum());
+            }
+            byDimension.forEach((dimension, values) -> values.forEach(
+                    (value, c) -> delta.addDimension(dimension, value, c.count.sum(), c.cents.sum())));
+            return delta;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.crediya.dynamodb.dedup;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ids de eventos ya aplicados, acotado en memoria. Un Bloom filter descarta sin más trabajo los ids
+ * nunca vistos (el caso normal); cuando dice "quizás", el LRU confirma, así un falso positivo del
+ * Bloom nunca hace perder un evento. El Bloom rota en dos generaciones de {@code windowSize / 2}
+ * para olvidar al mismo ritmo que el LRU.
+ * <p>
+ * Es solo un atajo: que un id no esté acá no significa que sea nuevo, eso lo decide el marcador
+ * condicional en DynamoDB.
+ */
+public class EventDedupWindow {
+
+    private final int generationSize;
+    private final double falsePositiveRate;
+    private final Map<String, Boolean> recent;
+    private BloomFilter current;
+    private BloomFilter previous;
+
+    private final Counter bloomNegative;
+    private final Counter bloomFalsePositive;
+
+    public EventDedupWindow(int windowSize, double falsePositiveRate, MeterRegistry registry) {
+        this.generationSize = Math.max(1, windowSize / 2);
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(generationSize, falsePositiveRate);
+        this.previous = new BloomFilter(generationSize, falsePositiveRate);
+        this.recent = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > windowSize;
+            }
+        };
+        this.bloomNegative = Counter.builder("report.dedup.bloom").tag("result", "negative").register(registry);
+        this.bloomFalsePositive = Counter.builder("report.dedup.bloom").tag("result", "false_positive").register(registry);
+    }
+
+    /** true solo si el id está confirmado como aplicado en la ventana */
+    public synchronized boolean contains(String id) {
+        long h1 = hash(id);
+        long h2 = mix(h1 ^ 0x9E3779B97F4A7C15L);
+        if (!current.mightContain(h1, h2) && !previous.mightContain(h1, h2)) {
+            bloomNegative.increment();
+            return false;
+        }
+        if (recent.get(id) != null) {
+            return true;
+        }
+        bloomFalsePositive.increment();
+        return false;
+    }
+
+    public synchronized void add(String id) {
+        if (recent.put(id, Boolean.TRUE) != null) {
+            return;
+        }
+        long h1 = hash(id);
+        if (current.inserted >= generationSize) {
+            previous = current;
+            current = new BloomFilter(generationSize, falsePositiveRate);
+        }
+        current.put(h1, mix(h1 ^ 0x9E3779B97F4A7C15L));
+    }
+
+    /** FNV-1a de 64 bits sobre los chars, con un mezclado final para repartir los bits */
+    private static long hash(String id) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            h ^= id.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Bloom con doble hashing (h1 + i·h2) sobre un arreglo de longs */
+    static final class BloomFilter {
+        private final long[] bits;
+        private final int numBits;
+        private final int hashes;
+        private int inserted;
+
+        BloomFilter(int expected, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            this.numBits = (int) Math.max(64, Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+            this.hashes = (int) Math.max(1, Math.round((double) numBits / expected * ln2));
+            this.bits = new long[(numBits + 63) >>> 6];
+        }
+
+        void put(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) numBits);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+            inserted++;
+        }
+
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) numBits);
+                if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.crediya.dynamodb.dedup;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Aplicación idempotente de eventos con id. {@code windowSize} ids recientes se recuerdan en
+ * memoria (Bloom + LRU); el resto lo resuelve un ítem marcador por evento escrito en la misma
+ * transacción que el contador, con TTL {@code markerTtl} (atributo {@code expiresAt}).
+ * <p>
+ * Apagado por defecto: requiere el TTL de la tabla habilitado sobre {@code expiresAt} (si no, los
+ * marcadores no se borran nunca) y duplica aprox. las WCU de cada escritura.
+ */
+@ConfigurationProperties(prefix = "app.dynamo.dedup")
+public record ReportDedupProperties(
+        boolean enabled,
+        int windowSize,
+        double falsePositiveRate,
+        Duration markerTtl) {
+
+    public ReportDedupProperties {
+        if (windowSize < 1) windowSize = 100_000;
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) falsePositiveRate = 0.01;
+        if (markerTtl == null || markerTtl.isNegative() || markerTtl.isZero()) markerTtl = Duration.ofDays(14);
+    }
+}
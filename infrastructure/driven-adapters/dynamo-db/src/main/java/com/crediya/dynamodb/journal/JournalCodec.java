@@ -0,0 +1,76 @@
+package com.crediya.dynamodb.journal;
+
+import com.crediya.model.report.Money;
+import com.crediya.model.report.ReportEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+
+/**
+ * Formato binario de un evento dentro del journal: versión, status, monto, dimensiones e id.
+ * La versión 3 agrega el eventId, para que la reaplicación lleve su marcador condicional; la 2
+ * guarda el monto como long en centavos y la 1 como texto decimal. Las anteriores se siguen leyendo
+ * (sin id) para reaplicar segmentos escritos antes del cambio.
+ */
+final class JournalCodec {
+
+    private static final byte VERSION = 3;
+    private static final byte VERSION_CENTS = 2;
+    private static final byte VERSION_DECIMAL_TEXT = 1;
+
+    private JournalCodec() {
+    }
+
+    static byte[] encode(ReportEvent event) {
+        var bytes = new ByteArrayOutputStream(64);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(event.status());
+            out.writeBoolean(event.approvedAmount() != null);
+            if (event.approvedAmount() != null) {
+                out.writeLong(event.approvedAmount().cents());
+            }
+            out.writeShort(event.dimensions().size());
+            for (var e : event.dimensions().entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeUTF(e.getValue());
+            }
+            out.writeBoolean(event.id() != null);
+            if (event.id() != null) {
+                out.writeUTF(event.id());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static ReportEvent decode(byte[] payload) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != VERSION && version != VERSION_CENTS && version != VERSION_DECIMAL_TEXT) {
+                throw new IllegalStateException("Versión de registro desconocida: " + version);
+            }
+            String status = in.readUTF();
+            Money amount = null;
+            if (in.readBoolean()) {
+                amount = version == VERSION_DECIMAL_TEXT ? Money.of(new BigDecimal(in.readUTF())) : Money.ofCents(in.readLong());
+            }
+            int size = in.readUnsignedShort();
+            var dimensions = new HashMap<String, String>(size * 2);
+            for (int i = 0; i < size; i++) {
+                dimensions.put(in.readUTF(), in.readUTF());
+            }
+            String id = version == VERSION && in.readBoolean() ? in.readUTF() : null;
+            return new ReportEvent(status, amount, dimensions, id);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
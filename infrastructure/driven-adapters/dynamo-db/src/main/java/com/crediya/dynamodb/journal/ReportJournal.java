@@ -0,0 +1,426 @@
+package com.crediya.dynamodb.journal;
+
+import com.crediya.dynamodb.coalescing.ReportWriteCoalescer;
+import com.crediya.dynamodb.coalescing.ReportWriteCoalescer.DeltaWriter;
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Write-ahead journal local, append-only, en segmentos de tamaño fijo mapeados en memoria.
+ * <p>
+ * Cada registro es {@code [largo][crc32][evento]}; un largo en cero marca el final de lo escrito.
+ * Escribir es copiar bytes al segmento; un hilo propio hace un único fsync por grupo cada
+ * {@code commitInterval} y recién ahí completa el Mono de cada evento del grupo. El flusher lee los
+ * registros confirmados, los aplica a DynamoDB en lotes de hasta {@code maxBatch} eventos y guarda un
+ * checkpoint (segmento, offset); los segmentos anteriores al checkpoint se borran. Como en el
+ * agregador, un lote se corta antes de pasar {@link ReportWriteCoalescer#MAX_BREAKDOWN_KEYS}
+ * contadores de desglose, para que el UpdateExpression no supere los 4 KB.
+ * <p>
+ * Al arrancar se reaplica todo lo que está después del checkpoint. Si el proceso cae entre la
+ * escritura a DynamoDB y el checkpoint, ese último lote se aplica dos veces, salvo que sus eventos
+ * traigan id: el {@link BatchWriter} recibe los eventos del lote para escribirlos con su marcador.
+ */
+@Slf4j
+public class ReportJournal implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT = "checkpoint";
+    /** Largo + crc */
+    private static final int HEADER = 8;
+
+    /** Aplicación de un lote: el delta ya sumado y los eventos que lo forman, con su id */
+    @FunctionalInterface
+    public interface BatchWriter {
+        Mono<Void> write(ReportDelta delta, List<ReportEvent> events);
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int maxBatch;
+    private final BatchWriter writer;
+    private final ConcurrentSkipListMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+    private final ScheduledExecutorService executor;
+
+    // Escritura: protegida por el monitor de this
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private Segment active;
+    private volatile long appended;
+    private boolean closed;
+
+    // Commit y flush: hilo del journal; el callback del flush solo corre mientras flushing = true
+    private volatile long committed;
+    private volatile boolean flushing;
+    private volatile Mono<Void> inFlight = Mono.empty();
+    private long readSegment;
+    private int readOffset;
+    private volatile long readSeq;
+
+    private final Counter appends;
+    private final Counter flushed;
+    private final Counter flushErrors;
+    private final Timer fsyncLatency;
+
+    /** Para quien solo aplica el delta agregado, sin deduplicación por id */
+    public ReportJournal(ReportJournalProperties properties, DeltaWriter writer, MeterRegistry registry) {
+        this(properties, (delta, events) -> writer.write(delta), registry);
+    }
+
+    public ReportJournal(ReportJournalProperties properties, BatchWriter writer, MeterRegistry registry) {
+        this.directory = properties.directory();
+        this.segmentSize = Math.toIntExact(properties.segmentSize().toBytes());
+        this.maxBatch = properties.maxBatch();
+        this.writer = writer;
+        this.appends = Counter.builder("report.journal.appends").register(registry);
+        this.flushed = Counter.builder("report.journal.flushed")
+                .description("Eventos del journal aplicados en DynamoDB")
+                .register(registry);
+        this.flushErrors = Counter.builder("report.journal.flush.errors").register(registry);
+        this.fsyncLatency = Timer.builder("report.journal.fsync.latency")
+                .publishPercentiles(0.5, 0.99)
+                .register(registry);
+        Gauge.builder("report.journal.pending", this, j -> j.appended - j.readSeq)
+                .description("Eventos en el journal aún no aplicados en DynamoDB")
+                .register(registry);
+        Gauge.builder("report.journal.segments", segments, ConcurrentSkipListMap::size).register(registry);
+
+        try {
+            Files.createDirectories(directory);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir el journal en " + directory, e);
+        }
+
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            var t = new Thread(r, "report-journal");
+            t.setDaemon(true);
+            return t;
+        });
+        long commitNanos = properties.commitInterval().toNanos();
+        long flushNanos = properties.flushInterval().toNanos();
+        executor.scheduleWithFixedDelay(this::commit, commitNanos, commitNanos, TimeUnit.NANOSECONDS);
+        executor.scheduleWithFixedDelay(this::flush, flushNanos, flushNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Agrega el evento al segmento activo; el Mono termina cuando el fsync del grupo lo cubre */
+    public Mono<Void> append(ReportEvent event) {
+        return Mono.defer(() -> {
+            byte[] payload = JournalCodec.encode(event);
+            Sinks.Empty<Void> done = Sinks.empty();
+            try {
+                write(payload, done);
+            } catch (IOException e) {
+                return Mono.error(new UncheckedIOException(e));
+            }
+            appends.increment();
+            return done.asMono();
+        });
+    }
+
+    private synchronized void write(byte[] payload, Sinks.Empty<Void> done) throws IOException {
+        if (closed) {
+            throw new IllegalStateException("El journal está cerrado");
+        }
+        int size = HEADER + payload.length;
+        // Se reservan 4 bytes en cero para marcar el final del segmento
+        if (size + 4 > segmentSize) {
+            throw new IllegalArgumentException("El evento no cabe en un segmento de " + segmentSize + " bytes");
+        }
+        if (active.buffer.remaining() < size + 4) {
+            roll();
+        }
+        var crc = new CRC32();
+        crc.update(payload);
+        active.buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+        appended++;
+        waiters.add(new Waiter(appended, done));
+    }
+
+    /** Lo escrito en el segmento lleno queda en disco antes de pasar al siguiente */
+    private void roll() throws IOException {
+        active.buffer.force();
+        active = createSegment(active.index + 1);
+    }
+
+    /** Group commit: un fsync para todo lo escrito desde el anterior */
+    private void commit() {
+        long target;
+        Segment segment;
+        synchronized (this) {
+            target = appended;
+            segment = active;
+        }
+        if (target == committed) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            segment.buffer.force();
+            fsyncLatency.record(Duration.ofNanos(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            // Los eventos siguen esperando; se reintenta en el próximo ciclo
+            log.error("Journal: fsync falló en {}: {}", segment.path, e.getMessage(), e);
+            return;
+        }
+        committed = target;
+        var ready = new ArrayList<Waiter>();
+        synchronized (this) {
+            while (!waiters.isEmpty() && waiters.peekFirst().seq <= target) {
+                ready.add(waiters.pollFirst());
+            }
+        }
+        ready.forEach(w -> w.done.tryEmitEmpty());
+    }
+
+    /** Aplica el siguiente lote confirmado; hay a lo sumo un lote en vuelo */
+    private void flush() {
+        if (flushing || readSeq >= committed) {
+            return;
+        }
+        Batch batch;
+        try {
+            batch = read(Math.min(maxBatch, committed - readSeq), ReportWriteCoalescer.MAX_BREAKDOWN_KEYS, true);
+        } catch (RuntimeException e) {
+            log.error("Journal: no se pudo leer desde {}@{}: {}", readSegment, readOffset, e.getMessage(), e);
+            return;
+        }
+        if (batch.events == 0) {
+            return;
+        }
+        flushing = true;
+        var write = writer.write(batch.delta, batch.records)
+                .doOnSuccess(v -> advance(batch))
+                .onErrorResume(e -> {
+                    flushErrors.increment();
+                    log.warn("Journal: lote de {} eventos no aplicado, se reintenta: {}", batch.events, e.getMessage());
+                    flushing = false;
+                    return Mono.empty();
+                })
+                .cache();
+        inFlight = write;
+        write.subscribe();
+    }
+
+    private void advance(Batch batch) {
+        readSegment = batch.segment;
+        readOffset = batch.offset;
+        readSeq += batch.events;
+        flushed.increment(batch.events);
+        try {
+            writeCheckpoint(readSegment, readOffset);
+            for (Long index : List.copyOf(segments.headMap(readSegment).keySet())) {
+                Segment done = segments.remove(index);
+                done.channel.close();
+                Files.deleteIfExists(done.path);
+            }
+        } catch (IOException e) {
+            log.error("Journal: no se pudo guardar el checkpoint {}@{}: {}", readSegment, readOffset, e.getMessage(), e);
+        } finally {
+            flushing = false;
+        }
+    }
+
+    /**
+     * Lee hasta {@code limit} registros desde el cursor sin moverlo. Se detiene antes del evento que
+     * llevaría el delta por encima de {@code maxKeys} contadores; el primero entra siempre. Los
+     * eventos se guardan solo con {@code collect}: al recuperar basta con contarlos.
+     */
+    private Batch read(long limit, int maxKeys, boolean collect) {
+        var delta = new ReportDelta();
+        var records = new ArrayList<ReportEvent>();
+        long segment = readSegment;
+        int offset = readOffset;
+        int events = 0;
+        int keys = 0;
+        while (events < limit) {
+            Segment current = segments.get(segment);
+            byte[] payload = current == null ? null : record(current, offset);
+            if (payload == null) {
+                Long next = segments.higherKey(segment);
+                if (next == null) {
+                    break;
+                }
+                segment = next;
+                offset = 0;
+                continue;
+            }
+            ReportEvent event = JournalCodec.decode(payload);
+            int added = newKeys(delta, event);
+            if (events > 0 && keys + added > maxKeys) {
+                break;
+            }
+            delta.add(event);
+            if (collect) {
+                records.add(event);
+            }
+            keys += added;
+            offset += HEADER + payload.length;
+            events++;
+        }
+        return new Batch(delta, records, events, segment, offset);
+    }
+
+    /** Contadores de status y de valor de dimensión que el evento agregaría al delta */
+    private static int newKeys(ReportDelta delta, ReportEvent event) {
+        int keys = delta.getByStatus().containsKey(event.status()) ? 0 : 1;
+        if (event.approved()) {
+            for (var dimension : event.dimensions().entrySet()) {
+                var values = delta.getByDimension().get(dimension.getKey());
+                if (values == null || !values.containsKey(dimension.getValue())) {
+                    keys++;
+                }
+            }
+        }
+        return keys;
+    }
+
+    /** Registro en {@code offset}, o null si ahí termina lo escrito (o quedó cortado por una caída) */
+    private static byte[] record(Segment segment, int offset) {
+        ByteBuffer buffer = segment.buffer;
+        if (offset + HEADER > buffer.limit()) {
+            return null;
+        }
+        int length = buffer.getInt(offset);
+        if (length <= 0 || offset + HEADER + length > buffer.limit()) {
+            return null;
+        }
+        byte[] payload = new byte[length];
+        buffer.get(offset + HEADER, payload);
+        var crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue() == buffer.getInt(offset + 4) ? payload : null;
+    }
+
+    /** Abre los segmentos existentes, ubica el checkpoint y cuenta lo pendiente de aplicar */
+    private void recover() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    long index = Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                    segments.put(index, openSegment(path, index));
+                }
+            }
+        }
+        long nextIndex = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+
+        Path checkpoint = directory.resolve(CHECKPOINT);
+        if (Files.exists(checkpoint)) {
+            var cp = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+            readSegment = cp.getLong();
+            readOffset = cp.getInt();
+            nextIndex = Math.max(nextIndex, readSegment + 1);
+        } else if (!segments.isEmpty()) {
+            readSegment = segments.firstKey();
+        }
+        for (Long index : List.copyOf(segments.headMap(readSegment).keySet())) {
+            Segment stale = segments.remove(index);
+            stale.channel.close();
+            Files.deleteIfExists(stale.path);
+        }
+
+        // Nunca se escribe sobre un segmento anterior: un registro cortado queda al final del suyo
+        active = createSegment(nextIndex);
+        if (!segments.containsKey(readSegment)) {
+            readSegment = active.index;
+            readOffset = 0;
+        }
+        long pending = read(Long.MAX_VALUE, Integer.MAX_VALUE, false).events;
+        appended = pending;
+        committed = pending;
+        if (pending > 0) {
+            log.info("Journal: {} eventos pendientes de aplicar desde {}", pending, directory);
+        }
+    }
+
+    private Segment createSegment(long index) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, index, SEGMENT_SUFFIX));
+        var channel = FileChannel.open(path, CREATE_NEW, READ, WRITE);
+        var segment = new Segment(index, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+        segments.put(index, segment);
+        return segment;
+    }
+
+    private static Segment openSegment(Path path, long index) throws IOException {
+        var channel = FileChannel.open(path, READ);
+        return new Segment(index, path, channel, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+    }
+
+    private void writeCheckpoint(long segment, int offset) throws IOException {
+        Path tmp = directory.resolve(CHECKPOINT + ".tmp");
+        try (var channel = FileChannel.open(tmp, CREATE, WRITE, TRUNCATE_EXISTING)) {
+            channel.write(ByteBuffer.allocate(12).putLong(segment).putInt(offset).flip());
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT), ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    /** Último fsync y espera del lote en vuelo; lo no aplicado se reaplica al arrancar */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            closed = true;
+        }
+        commit();
+        try {
+            inFlight.block(Duration.ofSeconds(5));
+        } catch (RuntimeException e) {
+            log.warn("Journal: el último lote no terminó antes del cierre: {}", e.getMessage());
+        }
+        for (Segment segment : segments.values()) {
+            try {
+                segment.channel.close();
+            } catch (IOException e) {
+                log.warn("Journal: no se pudo cerrar {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private record Segment(long index, Path path, FileChannel channel, MappedByteBuffer buffer) {
+    }
+
+    private record Waiter(long seq, Sinks.Empty<Void> done) {
+    }
+
+    private record Batch(ReportDelta delta, List<ReportEvent> records, int events, long segment, int offset) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.crediya.dynamodb.journal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Journal local de eventos: con {@code enabled} el evento se confirma (y el mensaje SQS se borra)
+ * en cuanto queda en disco; un flusher en segundo plano lo aplica después a DynamoDB.
+ */
+@ConfigurationProperties(prefix = "app.dynamo.journal")
+public record ReportJournalProperties(
+        boolean enabled,
+        Path directory,
+        DataSize segmentSize,
+        /* Cada cuánto se hace el fsync del grupo de registros pendientes */
+        Duration commitInterval,
+        Duration flushInterval,
+        /* Eventos máximos por escritura a DynamoDB */
+        int maxBatch) {
+
+    public ReportJournalProperties {
+        if (directory == null) directory = Path.of("data", "journal");
+        if (segmentSize == null) segmentSize = DataSize.ofMegabytes(16);
+        if (commitInterval == null) commitInterval = Duration.ofMillis(5);
+        if (flushInterval == null) flushInterval = Duration.ofMillis(200);
+        if (maxBatch <= 0) maxBatch = 500;
+    }
+}
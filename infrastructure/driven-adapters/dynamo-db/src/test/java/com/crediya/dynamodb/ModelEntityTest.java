@@ -0,0 +1,59 @@
+package com.crediya.dynamodb;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ModelEntity Tests")
+class ModelEntityTest {
+
+    private static AttributeValue n(String value) {
+        return AttributeValue.builder().n(value).build();
+    }
+
+    @Test
+    @DisplayName("El esquema estático debe leer los atributos y mapas anidados del ítem")
+    void shouldMapItemWithStaticSchema() {
+        // Given
+        var item = Map.of(
+                "metricId", AttributeValue.builder().s("global-report").build(),
+                "count", n("3"),
+                "totalAmountCents", n("150.5"),
+                "version", n("7"),
+                "byStatus", AttributeValue.builder().m(Map.of(
+                        "APPROVED", AttributeValue.builder().m(Map.of("count", n("3"), "totalAmountCents", n("150.5"))).build()
+                )).build());
+
+        // When
+        ModelEntity entity = ModelEntity.SCHEMA.mapToItem(item);
+
+        // Then
+        assertEquals("global-report", entity.getMetricId());
+        assertEquals(3L, entity.getCount());
+        assertEquals(0, new BigDecimal("150.5").compareTo(entity.getTotalAmountCents()));
+        assertEquals(7L, entity.getVersion());
+        assertNull(entity.getShardCount());
+        assertEquals(0, new BigDecimal("150.5").compareTo(entity.getStatusTotals().get("APPROVED").get("totalAmountCents")));
+        assertEquals(item, ModelEntity.SCHEMA.itemToMap(entity, true));
+    }
+
+    @Test
+    @DisplayName("El esquema estático debe declarar la llave y el índice por updatedAt")
+    void shouldDeclareKeyAndIndex() {
+        // When
+        TableMetadata metadata = ModelEntity.SCHEMA.tableMetadata();
+
+        // Then
+        assertEquals("metricId", metadata.primaryPartitionKey());
+        assertEquals("metricId", metadata.indexPartitionKey(ModelEntity.UPDATED_AT_INDEX));
+        assertEquals("updatedAt", metadata.indexSortKey(ModelEntity.UPDATED_AT_INDEX).orElseThrow());
+        assertTrue(ModelEntity.SCHEMA.attributeNames().containsAll(List.of("shardCount", "byDimension")));
+    }
+}
@@ -0,0 +1,56 @@
+package com.crediya.dynamodb;
+
+import com.crediya.model.report.Report;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportEntityMapper Tests")
+class ReportEntityMapperTest {
+
+    private static ModelEntity entity() {
+        var entity = new ModelEntity();
+        entity.setMetricId("global-report");
+        entity.setCount(3L);
+        entity.setTotalAmountCents(new BigDecimal("150.5"));
+        entity.setUpdatedAt("2025-01-01T00:00:00Z");
+        entity.setVersion(7L);
+        entity.setShardCount(4);
+        entity.setStatusTotals(Map.of("APPROVED", Map.of("count", BigDecimal.valueOf(3), "totalAmountCents", new BigDecimal("150.5"))));
+        entity.setDimensionTotals(Map.of("product=AUTO", Map.of("count", BigDecimal.ONE, "totalAmountCents", BigDecimal.TEN)));
+        return entity;
+    }
+
+    @Test
+    @DisplayName("Debe copiar totales y versión sin desglose")
+    void shouldMapTotalsAndVersion() {
+        // When
+        Report report = ReportEntityMapper.toReport(entity());
+
+        // Then
+        assertEquals("global-report", report.getMetricId());
+        assertEquals(3L, report.getCount());
+        assertEquals("2025-01-01T00:00:00Z", report.getUpdatedAt());
+        assertEquals(0, new BigDecimal("150.5").compareTo(report.getTotalAmountCents()));
+        assertEquals(7L, report.getVersion());
+        assertNull(report.getByStatus());
+        assertNull(report.getByDimension());
+    }
+
+    @Test
+    @DisplayName("Debe separar las llaves dimensión=valor del desglose")
+    void shouldMapBreakdowns() {
+        // When
+        Report report = ReportEntityMapper.toReportWithBreakdowns(entity());
+
+        // Then
+        assertEquals(3L, report.getByStatus().get("APPROVED").getCount());
+        assertEquals(0, new BigDecimal("150.5").compareTo(report.getByStatus().get("APPROVED").getTotalAmountCents()));
+        assertEquals(1L, report.getByDimension().get("product").get("AUTO").getCount());
+        assertEquals(0, BigDecimal.TEN.compareTo(report.getByDimension().get("product").get("AUTO").getTotalAmountCents()));
+    }
+}
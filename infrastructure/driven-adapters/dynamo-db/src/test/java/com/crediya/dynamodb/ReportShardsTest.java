@@ -0,0 +1,100 @@
+package com.crediya.dynamodb;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportShards Tests")
+class ReportShardsTest {
+
+    @Test
+    @DisplayName("Debe escribir sobre el ítem base cuando no hay shards")
+    void shouldUseBaseItemWhenShardingIsDisabled() {
+        // Given
+        ReportShards shards = new ReportShards(0, ReportShards.Strategy.RANDOM);
+
+        // When
+        int shard = shards.nextShard();
+
+        // Then
+        assertEquals(-1, shard);
+        assertEquals("global-report", ReportShards.shardKey("global-report", shard));
+    }
+
+    @Test
+    @DisplayName("Debe recorrer los shards en orden con ROUND_ROBIN")
+    void shouldCycleShardsWithRoundRobin() {
+        // Given
+        ReportShards shards = new ReportShards(3, ReportShards.Strategy.ROUND_ROBIN);
+
+        // When & Then
+        assertEquals(0, shards.nextShard());
+        assertEquals(1, shards.nextShard());
+        assertEquals(2, shards.nextShard());
+        assertEquals(0, shards.nextShard());
+        assertEquals("global-report#2", ReportShards.shardKey("global-report", 2));
+    }
+
+    @Test
+    @DisplayName("Debe elegir shards dentro del rango con RANDOM")
+    void shouldPickShardsWithinRangeWithRandom() {
+        // Given
+        ReportShards shards = new ReportShards(4, ReportShards.Strategy.RANDOM);
+        Set<Integer> seen = new HashSet<>();
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            seen.add(shards.nextShard());
+        }
+
+        // Then
+        assertTrue(seen.stream().allMatch(s -> s >= 0 && s < 4));
+        assertEquals(4, seen.size());
+    }
+
+    @Test
+    @DisplayName("Debe seguir leyendo el high-water mark al reducir los shards")
+    void shouldKeepReadingHighWaterMarkAfterShrinking() {
+        // Given
+        ReportShards shards = new ReportShards(8, ReportShards.Strategy.RANDOM);
+        shards.markRegistered(8);
+
+        // When
+        shards.resize(2);
+
+        // Then
+        assertEquals(2, shards.count());
+        assertEquals(8, shards.readSpan());
+        assertTrue(shards.nextShard() < 2);
+    }
+
+    @Test
+    @DisplayName("Debe ignorar registros menores al high-water mark")
+    void shouldNeverLowerRegisteredShards() {
+        // Given
+        ReportShards shards = new ReportShards(0, ReportShards.Strategy.RANDOM);
+
+        // When
+        shards.markRegistered(5);
+        shards.markRegistered(3);
+
+        // Then
+        assertEquals(5, shards.registered());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un número de shards fuera de rango")
+    void shouldRejectOutOfRangeShardCount() {
+        // Given
+        ReportShards shards = new ReportShards(1, ReportShards.Strategy.RANDOM);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> shards.resize(-1));
+        assertThrows(IllegalArgumentException.class, () -> shards.resize(ReportShards.MAX_SHARDS + 1));
+        assertEquals(1, shards.count());
+    }
+}
@@ -0,0 +1,103 @@
+package com.crediya.dynamodb;
+
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.dynamodb.model.Put;
+import software.amazon.awssdk.services.dynamodb.model.Update;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportUpdateExpression Tests")
+class ReportUpdateExpressionTest {
+
+    private static final Pattern NAME = Pattern.compile("#\\w+");
+    private static final Pattern VALUE = Pattern.compile(":\\w+");
+
+    private final ReportDelta delta = new ReportDelta()
+            .add(new ReportEvent("APPROVED", new BigDecimal("10.00"), Map.of("product", "AUTO", "channel", "WEB")))
+            .add(new ReportEvent("REJECTED", null, Map.of()));
+
+    @Test
+    @DisplayName("Debe incrementar totales y cada contador anidado en una sola expresión")
+    void shouldIncrementTotalsAndNestedCountersInOneExpression() {
+        // When
+        Update update = ReportUpdateExpression.counter("reports", "global-report", delta, Instant.EPOCH, true);
+
+        // Then
+        String expr = update.updateExpression();
+        assertTrue(expr.startsWith("SET #c = if_not_exists(#c, :z) + :n"));
+        assertEquals("1", update.expressionAttributeValues().get(":n").n());
+        assertEquals("10", update.expressionAttributeValues().get(":a").n());
+        assertTrue(expr.contains("#ver = if_not_exists(#ver, :z) + :one"));
+        assertTrue(update.expressionAttributeNames().containsValue("APPROVED"));
+        assertTrue(update.expressionAttributeNames().containsValue("REJECTED"));
+        assertTrue(update.expressionAttributeNames().containsValue("product=AUTO"));
+        assertTrue(update.expressionAttributeNames().containsValue("channel=WEB"));
+        assertPlaceholdersMatch(update);
+    }
+
+    @Test
+    @DisplayName("Los buckets de rollup solo deben llevar totales")
+    void shouldLeaveBreakdownOutOfRollupBuckets() {
+        // When
+        Update update = ReportUpdateExpression.counter("reports", "global-report#h#2025-01-01T10", delta, Instant.EPOCH, false);
+
+        // Then
+        assertFalse(update.expressionAttributeNames().containsKey("#bs"));
+        assertFalse(update.expressionAttributeNames().containsKey("#bd"));
+        assertFalse(update.expressionAttributeNames().containsKey("#ver"));
+        assertPlaceholdersMatch(update);
+    }
+
+    @Test
+    @DisplayName("Debe crear primero los mapas raíz y luego los de cada llave")
+    void shouldCreateRootMapsBeforeLeafMaps() {
+        // When
+        List<Update> init = ReportUpdateExpression.initMaps("reports", "global-report", delta);
+
+        // Then
+        assertEquals(2, init.size());
+        assertEquals("SET #bs = if_not_exists(#bs, :m), #bd = if_not_exists(#bd, :m)", init.get(0).updateExpression());
+        assertTrue(init.get(1).updateExpression().contains("#bs.#s0 = if_not_exists(#bs.#s0, :m)"));
+        assertTrue(init.get(1).updateExpression().contains("#bd.#d1 = if_not_exists(#bd.#d1, :m)"));
+        init.forEach(this::assertPlaceholdersMatch);
+    }
+
+    @Test
+    @DisplayName("Debe escribir el marcador solo si no existe, con su expiración")
+    void shouldWriteMarkerOnlyIfAbsent() {
+        // When
+        Put marker = ReportUpdateExpression.marker("reports", "global-report#event#evt-1", 1_700_000_000L);
+
+        // Then
+        assertEquals("attribute_not_exists(metricId)", marker.conditionExpression());
+        assertEquals("global-report#event#evt-1", marker.item().get("metricId").s());
+        assertEquals("1700000000", marker.item().get("expiresAt").n());
+    }
+
+    /** DynamoDB rechaza nombres o valores declarados que la expresión no usa, y viceversa */
+    private void assertPlaceholdersMatch(Update update) {
+        assertEquals(update.expressionAttributeNames().keySet(), placeholders(NAME, update.updateExpression()));
+        assertEquals(update.expressionAttributeValues().keySet(), placeholders(VALUE, update.updateExpression()));
+    }
+
+    private static Set<String> placeholders(Pattern pattern, String expr) {
+        var found = new HashSet<String>();
+        Matcher m = pattern.matcher(expr);
+        while (m.find()) {
+            found.add(m.group());
+        }
+        return found;
+    }
+}
@@ -0,0 +1,137 @@
+package com.crediya.dynamodb.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportReadCache Tests")
+class ReportReadCacheTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ReportReadCache<String> cache(boolean staleWhileRevalidate) {
+        var properties = new ReportCacheProperties(true, Duration.ofSeconds(1), staleWhileRevalidate, Duration.ofSeconds(5));
+        return new ReportReadCache<>(properties, registry, now::get);
+    }
+
+    private Mono<String> load(String value) {
+        return Mono.fromCallable(() -> {
+            loads.incrementAndGet();
+            return value;
+        });
+    }
+
+    private double count(String result) {
+        return registry.get("report.cache.requests").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Debe servir desde memoria dentro del TTL")
+    void shouldServeFromMemoryWithinTtl() {
+        // Given
+        ReportReadCache<String> cache = cache(false);
+        StepVerifier.create(cache.get(() -> load("v1"))).expectNext("v1").verifyComplete();
+
+        // When
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+
+        // Then
+        StepVerifier.create(cache.get(() -> load("v2"))).expectNext("v1").verifyComplete();
+        assertEquals(1, loads.get());
+        assertEquals(1.0, count("hit"));
+        assertEquals(1.0, count("miss"));
+    }
+
+    @Test
+    @DisplayName("Debe volver a leer cuando vence el TTL")
+    void shouldReloadAfterTtl() {
+        // Given
+        ReportReadCache<String> cache = cache(false);
+        StepVerifier.create(cache.get(() -> load("v1"))).expectNext("v1").verifyComplete();
+
+        // When
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        // Then
+        StepVerifier.create(cache.get(() -> load("v2"))).expectNext("v2").verifyComplete();
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Los misses concurrentes deben compartir una sola lectura")
+    void shouldCoalesceConcurrentMisses() {
+        // Given
+        ReportReadCache<String> cache = cache(false);
+        Sinks.One<String> dynamo = Sinks.one();
+
+        // When
+        Mono<String> first = cache.get(() -> dynamo.asMono().doOnSubscribe(s -> loads.incrementAndGet()));
+        Mono<String> second = cache.get(() -> load("otro"));
+        Mono<String> third = cache.get(() -> load("otro"));
+        StepVerifier firstCheck = StepVerifier.create(first).expectNext("v1").expectComplete().verifyLater();
+        StepVerifier secondCheck = StepVerifier.create(second).expectNext("v1").expectComplete().verifyLater();
+        StepVerifier thirdCheck = StepVerifier.create(third).expectNext("v1").expectComplete().verifyLater();
+        dynamo.tryEmitValue("v1");
+
+        // Then
+        firstCheck.verify();
+        secondCheck.verify();
+        thirdCheck.verify();
+        assertEquals(1, loads.get());
+        assertEquals(2.0, count("coalesced"));
+    }
+
+    @Test
+    @DisplayName("Con stale-while-revalidate debe responder el valor anterior y renovarlo en segundo plano")
+    void shouldServeStaleAndRefreshInBackground() {
+        // Given
+        ReportReadCache<String> cache = cache(true);
+        StepVerifier.create(cache.get(() -> load("v1"))).expectNext("v1").verifyComplete();
+        now.addAndGet(Duration.ofSeconds(2).toNanos());
+
+        // When
+        StepVerifier.create(cache.get(() -> load("v2"))).expectNext("v1").verifyComplete();
+
+        // Then
+        StepVerifier.create(cache.get(() -> load("v3"))).expectNext("v2").verifyComplete();
+        assertEquals(2, loads.get());
+        assertEquals(1.0, count("stale"));
+    }
+
+    @Test
+    @DisplayName("No debe cachear errores")
+    void shouldNotCacheErrors() {
+        // Given
+        ReportReadCache<String> cache = cache(false);
+        StepVerifier.create(cache.get(() -> Mono.error(new IllegalStateException("throttled"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        // When & Then
+        StepVerifier.create(cache.get(() -> load("v1"))).expectNext("v1").verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe cachear la ausencia de reporte")
+    void shouldCacheEmptyResult() {
+        // Given
+        ReportReadCache<String> cache = cache(false);
+        StepVerifier.create(cache.get(() -> Mono.<String>empty().doOnSubscribe(s -> loads.incrementAndGet())))
+                .verifyComplete();
+
+        // When & Then
+        StepVerifier.create(cache.get(() -> load("v1"))).verifyComplete();
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,175 @@
+package com.crediya.dynamodb.coalescing;
+
+import com.crediya.model.report.Money;
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportWriteCoalescer Tests")
+class ReportWriteCoalescerTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<ReportDelta> deltas = new CopyOnWriteArrayList<>();
+    private ReportWriteCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        if (coalescer != null) {
+            coalescer.close();
+        }
+    }
+
+    private static ReportEvent approved() {
+        return ReportEvent.approved(BigDecimal.ONE);
+    }
+
+    private ReportWriteCoalescer coalescer(ReportWriteCoalescer.DeltaWriter writer) {
+        // Ventana larga: los flush del test son manuales
+        return new ReportWriteCoalescer(Duration.ofHours(1), 1_000, writer, registry);
+    }
+
+    @Test
+    @DisplayName("Debe agrupar varios eventos en una sola escritura")
+    void shouldMergeEventsIntoSingleWrite() {
+        // Given
+        coalescer = coalescer(delta -> {
+            deltas.add(delta);
+            return Mono.empty();
+        });
+        Mono<Void> first = coalescer.submit(approved(), 5005600);
+        Mono<Void> second = coalescer.submit(approved(), 100);
+        Mono<Void> third = coalescer.submit(approved(), 25);
+
+        // When
+        coalescer.flush().block();
+
+        // Then
+        assertEquals(1, deltas.size());
+        assertEquals(3L, deltas.get(0).getCount());
+        assertEquals(Money.of("50057.25"), deltas.get(0).getTotal());
+        StepVerifier.create(Mono.when(first, second, third)).verifyComplete();
+        assertEquals(3.0, registry.get("report.coalescer.events").counter().count());
+        assertEquals(1L, registry.get("report.coalescer.flush.latency").timer().count());
+    }
+
+    @Test
+    @DisplayName("Debe propagar el error del flush a todos los eventos de la ventana")
+    void shouldPropagateFlushErrorToEveryEvent() {
+        // Given
+        coalescer = coalescer(delta -> Mono.error(new IllegalStateException("throttled")));
+        Mono<Void> first = coalescer.submit(approved(), 100);
+        Mono<Void> second = coalescer.submit(approved(), 200);
+
+        // When
+        coalescer.flush().block();
+
+        // Then
+        StepVerifier.create(first).expectError(IllegalStateException.class).verify();
+        StepVerifier.create(second).expectError(IllegalStateException.class).verify();
+        assertEquals(1.0, registry.get("report.coalescer.flush.errors").counter().count());
+    }
+
+    @Test
+    @DisplayName("No debe escribir cuando la ventana está vacía")
+    void shouldSkipWriteWhenWindowIsEmpty() {
+        // Given
+        coalescer = coalescer(delta -> {
+            deltas.add(delta);
+            return Mono.empty();
+        });
+
+        // When
+        coalescer.flush().block();
+
+        // Then
+        assertTrue(deltas.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Los eventos posteriores a un flush deben ir a la siguiente ventana")
+    void shouldSendLaterEventsToNextWindow() {
+        // Given
+        coalescer = coalescer(delta -> {
+            deltas.add(delta);
+            return Mono.empty();
+        });
+        coalescer.submit(approved(), 100);
+        coalescer.flush().block();
+
+        // When
+        Mono<Void> later = coalescer.submit(approved(), 100);
+        coalescer.flush().block();
+
+        // Then
+        assertEquals(List.of(1L, 1L), deltas.stream().map(ReportDelta::getCount).toList());
+        StepVerifier.create(later).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe agrupar el desglose por status y dimensión sin sumar los rechazados al total")
+    void shouldMergeBreakdownsAndSkipRejectedFromTotals() {
+        // Given
+        coalescer = coalescer(delta -> {
+            deltas.add(delta);
+            return Mono.empty();
+        });
+        coalescer.submit(new ReportEvent("APPROVED", new BigDecimal("10.00"), Map.of("product", "AUTO")), 1000);
+        coalescer.submit(new ReportEvent("APPROVED", new BigDecimal("5.00"), Map.of("product", "HOME")), 500);
+        coalescer.submit(new ReportEvent("REJECTED", null, Map.of("product", "AUTO")), 0);
+
+        // When
+        coalescer.flush().block();
+
+        // Then
+        ReportDelta delta = deltas.get(0);
+        assertEquals(3L, delta.getEvents());
+        assertEquals(2L, delta.getCount());
+        assertEquals(Money.of("15.00"), delta.getTotal());
+        assertEquals(2L, delta.getByStatus().get("APPROVED").getCount());
+        assertEquals(1L, delta.getByStatus().get("REJECTED").getCount());
+        assertEquals(1L, delta.getByDimension().get("product").get("AUTO").getCount());
+        assertEquals(1L, delta.getByDimension().get("product").get("HOME").getCount());
+    }
+
+    @Test
+    @DisplayName("Debe sumar el delta de un lote a la misma ventana que los eventos sueltos")
+    void shouldMergeBatchDeltaWithSingleEvents() {
+        // Given
+        coalescer = coalescer(delta -> {
+            deltas.add(delta);
+            return Mono.empty();
+        });
+        var batch = new ReportDelta()
+                .add(new ReportEvent("APPROVED", new BigDecimal("10.00"), Map.of("product", "AUTO")))
+                .add(new ReportEvent("REJECTED", null, Map.of()));
+        Mono<Void> single = coalescer.submit(new ReportEvent("APPROVED", new BigDecimal("5.00"), Map.of("product", "AUTO")), 500);
+        Mono<Void> whole = coalescer.submit(batch);
+
+        // When
+        coalescer.flush().block();
+
+        // Then
+        assertEquals(1, deltas.size());
+        ReportDelta delta = deltas.get(0);
+        assertEquals(3L, delta.getEvents());
+        assertEquals(2L, delta.getCount());
+        assertEquals(Money.of("15.00"), delta.getTotal());
+        assertEquals(2L, delta.getByDimension().get("product").get("AUTO").getCount());
+        assertEquals(1L, delta.getByStatus().get("REJECTED").getCount());
+        StepVerifier.create(Mono.when(single, whole)).verifyComplete();
+        assertEquals(3.0, registry.get("report.coalescer.events").counter().count());
+    }
+}
@@ -0,0 +1,55 @@
+package com.crediya.dynamodb.dedup;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EventDedupWindow Tests")
+class EventDedupWindowTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private double count(String result) {
+        return registry.get("report.dedup.bloom").tag("result", result).counter().count();
+    }
+
+    @Test
+    @DisplayName("Debe reconocer los ids agregados y descartar los nuevos por el Bloom")
+    void shouldRecognizeAddedIds() {
+        // Given
+        var window = new EventDedupWindow(1_000, 0.01, registry);
+        for (int i = 0; i < 500; i++) {
+            window.add("evt-" + i);
+        }
+
+        // When & Then
+        for (int i = 0; i < 500; i++) {
+            assertTrue(window.contains("evt-" + i));
+        }
+        for (int i = 500; i < 10_500; i++) {
+            assertFalse(window.contains("evt-" + i));
+        }
+        // Cada "quizás" del Bloom lo resolvió el LRU: ninguno se tomó por repetido
+        assertEquals(10_000, count("negative") + count("false_positive"));
+        assertTrue(count("false_positive") < 500);
+    }
+
+    @Test
+    @DisplayName("Debe olvidar los ids más viejos al superar la ventana")
+    void shouldForgetOldestIdsBeyondWindow() {
+        // Given
+        var window = new EventDedupWindow(100, 0.01, registry);
+
+        // When
+        for (int i = 0; i < 1_000; i++) {
+            window.add("evt-" + i);
+        }
+
+        // Then
+        assertFalse(window.contains("evt-0"));
+        assertTrue(window.contains("evt-999"));
+        assertTrue(window.contains("evt-950"));
+    }
+}
@@ -0,0 +1,201 @@
+package com.crediya.dynamodb.journal;
+
+import com.crediya.dynamodb.coalescing.ReportWriteCoalescer;
+import com.crediya.model.report.Money;
+import com.crediya.model.report.ReportDelta;
+import com.crediya.model.report.ReportEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportJournal Tests")
+class ReportJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<ReportDelta> applied = new CopyOnWriteArrayList<>();
+
+    private ReportJournalProperties properties(DataSize segmentSize) {
+        return new ReportJournalProperties(true, dir, segmentSize, Duration.ofMillis(1), Duration.ofMillis(5), 100);
+    }
+
+    private long appliedEvents() {
+        return applied.stream().mapToLong(ReportDelta::getEvents).sum();
+    }
+
+    private void awaitApplied(long events) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (appliedEvents() < events && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(events, appliedEvents());
+    }
+
+    private static ReportEvent approved(String amount) {
+        return new ReportEvent("APPROVED", new BigDecimal(amount), Map.of("product", "AUTO"));
+    }
+
+    @Test
+    @DisplayName("Debe confirmar el evento tras el fsync y aplicarlo en segundo plano")
+    void shouldAckAfterFsyncAndApplyInBackground() {
+        // Given
+        try (var journal = new ReportJournal(properties(DataSize.ofKilobytes(64)), delta -> {
+            applied.add(delta);
+            return Mono.empty();
+        }, registry)) {
+
+            // When
+            StepVerifier.create(Mono.when(journal.append(approved("10.50")), journal.append(approved("4.50"))))
+                    .verifyComplete();
+
+            // Then
+            awaitApplied(2);
+            Money total = applied.stream().map(ReportDelta::getTotal).reduce(Money.ZERO, Money::plus);
+            assertEquals(Money.of("15.00"), total);
+            assertEquals(2L, applied.stream().mapToLong(d -> d.getByDimension().get("product").get("AUTO").getCount()).sum());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe reaplicar al arrancar los eventos que no llegaron a DynamoDB")
+    void shouldReplayUnflushedEventsOnStartup() {
+        // Given: DynamoDB no disponible, los eventos quedan solo en el journal
+        var journal = new ReportJournal(properties(DataSize.ofKilobytes(64)),
+                delta -> Mono.error(new IllegalStateException("throttled")), registry);
+        StepVerifier.create(Mono.when(journal.append(approved("1.00")), journal.append(approved("2.00")),
+                journal.append(new ReportEvent("REJECTED", null, Map.of())))).verifyComplete();
+        journal.close();
+
+        // When
+        try (var reopened = new ReportJournal(properties(DataSize.ofKilobytes(64)), delta -> {
+            applied.add(delta);
+            return Mono.empty();
+        }, new SimpleMeterRegistry())) {
+
+            // Then
+            awaitApplied(3);
+            assertEquals(2L, applied.stream().mapToLong(ReportDelta::getCount).sum());
+        }
+    }
+
+    @Test
+    @DisplayName("No debe reaplicar lo que ya quedó antes del checkpoint")
+    void shouldNotReplayEventsBeforeCheckpoint() {
+        // Given
+        var journal = new ReportJournal(properties(DataSize.ofKilobytes(64)), delta -> {
+            applied.add(delta);
+            return Mono.empty();
+        }, registry);
+        StepVerifier.create(journal.append(approved("1.00"))).verifyComplete();
+        awaitApplied(1);
+        journal.close();
+        applied.clear();
+
+        // When
+        try (var reopened = new ReportJournal(properties(DataSize.ofKilobytes(64)), delta -> {
+            applied.add(delta);
+            return Mono.empty();
+        }, new SimpleMeterRegistry())) {
+            StepVerifier.create(reopened.append(approved("2.00"))).verifyComplete();
+
+            // Then
+            awaitApplied(1);
+            assertEquals(Money.of("2.00"), applied.get(0).getTotal());
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rotar segmentos y borrar los ya aplicados")
+    void shouldRollSegmentsAndDeleteAppliedOnes() throws IOException {
+        // Given: segmentos de 256 bytes, unos pocos eventos por segmento
+        try (var journal = new ReportJournal(properties(DataSize.ofBytes(256)), delta -> {
+            applied.add(delta);
+            return Mono.empty();
+        }, registry)) {
+
+            // When
+            for (int i = 0; i < 50; i++) {
+                StepVerifier.create(journal.append(approved("1.00"))).verifyComplete();
+            }
+
+            // Then
+            awaitApplied(50);
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            long segments;
+            do {
+                try (var files = Files.list(dir)) {
+                    segments = files.filter(p -> p.getFileName().toString().startsWith("segment-")).count();
+                }
+            } while (segments > 1 && System.nanoTime() < deadline);
+            assertEquals(1, segments);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe cortar el lote antes de pasar el tope de contadores de desglose")
+    void shouldSplitBatchAtBreakdownKeyLimit() {
+        // Given
+        try (var journal = new ReportJournal(properties(DataSize.ofKilobytes(64)), delta -> {
+            applied.add(delta);
+            return Mono.empty();
+        }, registry)) {
+
+            // When
+            StepVerifier.create(Mono.when(IntStream.range(0, 60)
+                            .mapToObj(i -> journal.append(new ReportEvent("APPROVED", BigDecimal.ONE, Map.of("product", "P" + i))))
+                            .toList()))
+                    .verifyComplete();
+
+            // Then
+            awaitApplied(60);
+            assertTrue(applied.size() >= 3);
+            for (ReportDelta delta : applied) {
+                int keys = delta.getByStatus().size()
+                        + delta.getByDimension().values().stream().mapToInt(Map::size).sum();
+                assertTrue(keys <= ReportWriteCoalescer.MAX_BREAKDOWN_KEYS, "contadores en el lote: " + keys);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Debe conservar el id del evento al reaplicar el journal")
+    void shouldKeepEventIdOnReplay() {
+        // Given
+        var journal = new ReportJournal(properties(DataSize.ofKilobytes(64)),
+                delta -> Mono.error(new IllegalStateException("throttled")), registry);
+        StepVerifier.create(Mono.when(journal.append(approved("1.00").withId("evt-1")), journal.append(approved("2.00"))))
+                .verifyComplete();
+        journal.close();
+        var ids = new CopyOnWriteArrayList<String>();
+
+        // When
+        try (var reopened = new ReportJournal(properties(DataSize.ofKilobytes(64)), (delta, events) -> {
+            events.forEach(e -> ids.add(String.valueOf(e.id())));
+            applied.add(delta);
+            return Mono.empty();
+        }, new SimpleMeterRegistry())) {
+
+            // Then
+            awaitApplied(2);
+            assertEquals(List.of("evt-1", "null"), ids);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.crediya.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * authenticate/s con el mismo Bearer repetido, como un cliente que consulta el reporte en loop:
+ * con el cache de tokens verificados y sin él (HMAC + parseo de claims en cada request).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(4)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "QnE1T2lXbVRhV3RzR2VOUXlHaFZ2d2dyU2p2a1R2TnM=";
+    private static final String ISSUER = "autenticacion-service";
+
+    private JwtReactiveAuthenticationManager cached;
+    private JwtReactiveAuthenticationManager uncached;
+    private Authentication bearer;
+
+    @Setup
+    public void setUp() {
+        cached = new JwtReactiveAuthenticationManager(properties(null), new SimpleMeterRegistry());
+        uncached = new JwtReactiveAuthenticationManager(properties(0), new SimpleMeterRegistry());
+        String token = Jwts.builder()
+                .setSubject("user123")
+                .setIssuer(ISSUER)
+                .claim("roleId", "2")
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .signWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .compact();
+        bearer = new UsernamePasswordAuthenticationToken(null, token, null);
+    }
+
+    @Benchmark
+    public Authentication authenticateCached() {
+        return cached.authenticate(bearer).block();
+    }
+
+    @Benchmark
+    public Authentication authenticateUncached() {
+        return uncached.authenticate(bearer).block();
+    }
+
+    private static JwtProperties properties(Integer cacheMaxEntries) {
+        var props = new JwtProperties();
+        props.setSecret(SECRET);
+        props.setIssuer(ISSUER);
+        props.setCacheMaxEntries(cacheMaxEntries);
+        return props;
+    }
+}
@@ -2,6 +2,8 @@ package com.crediya.security;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @ConfigurationProperties(prefix = "security")
 public class JwtProperties {
     /** Secreto HMAC (>= 32 chars para HS256) */
@@ -13,6 +15,12 @@ public class JwtProperties {
     /** Tiempo de expiración en segundos */
     private Long expirationSec;
 
+    /** Tokens verificados que se recuerdan hasta su exp; 0 desactiva el cache */
+    private Integer cacheMaxEntries;
+
+    /** Refresco del conjunto de tokens revocados */
+    private Revocation revocation = new Revocation();
+
     // Getter y Setter para secret
     public String getSecret() {
         return secret;
@@ -39,4 +47,44 @@ public class JwtProperties {
     public void setExpirationSec(Long expirationSec) {
         this.expirationSec = expirationSec;
     }
+
+    public Integer getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(Integer cacheMaxEntries) {
+        this.cacheMaxEntries = cacheMaxEntries;
+    }
+
+    public Revocation getRevocation() {
+        return revocation;
+    }
+
+    public void setRevocation(Revocation revocation) {
+        this.revocation = revocation;
+    }
+
+    public static class Revocation {
+        /** Cada cuánto se recarga desde la fuente; null usa el default */
+        private Duration refreshInterval;
+
+        /** Falsos positivos del Bloom filter; solo cuestan una consulta al conjunto exacto */
+        private Double falsePositiveRate;
+
+        public Duration getRefreshInterval() {
+            return refreshInterval;
+        }
+
+        public void setRefreshInterval(Duration refreshInterval) {
+            this.refreshInterval = refreshInterval;
+        }
+
+        public Double getFalsePositiveRate() {
+            return falsePositiveRate;
+        }
+
+        public void setFalsePositiveRate(Double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+        }
+    }
 }
@@ -1,12 +1,18 @@
 package com.crediya.security;
 
+import com.crediya.security.revocation.TokenRevocations;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
@@ -14,19 +20,70 @@ import reactor.core.publisher.Mono;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
 
+/**
+ * Verifica el Bearer con un parser único (inmutable y thread-safe) y recuerda los tokens ya
+ * verificados hasta su {@code exp}: el mismo token presentado de nuevo no repite HMAC, parseo de
+ * claims ni armado de authorities, devuelve la misma Authentication. La revocación se consulta en
+ * cada request, también en los aciertos del cache, contra el snapshot en memoria de
+ * {@link TokenRevocations}.
+ */
 @Component
 public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
 
-    private final SecretKey key;
-    private final JwtProperties props;
+    private static final int DEFAULT_CACHE_ENTRIES = 10_000;
+    /** Sin exp el token no vence; igual se reverifica cada tanto */
+    private static final long MAX_CACHE_MILLIS = Duration.ofMinutes(5).toMillis();
+    /** Authorities de los roles conocidos, armadas una sola vez */
+    private static final Map<String, List<GrantedAuthority>> ROLE_AUTHORITIES = Map.of(
+            "ADMIN", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")),
+            "ASESOR", List.of(new SimpleGrantedAuthority("ROLE_ASESOR")),
+            "CLIENTE", List.of(new SimpleGrantedAuthority("ROLE_CLIENTE")));
+    /** Tope de combinaciones de roles recordadas desde el claim roles */
+    private static final int MAX_ROLE_SETS = 256;
+
+    private final JwtParser parser;
+    private final String issuer;
+    private final VerifiedTokenCache cache;
+    private final TokenRevocations revocations;
+    private final LongSupplier clock;
+    private final Map<List<String>, List<GrantedAuthority>> roleSets = new ConcurrentHashMap<>();
 
     public JwtReactiveAuthenticationManager(JwtProperties props) {
-        this.props = props;
-        this.key = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+        this(props, Metrics.globalRegistry);
+    }
+
+    public JwtReactiveAuthenticationManager(JwtProperties props, MeterRegistry registry) {
+        this(props, registry, TokenRevocations.disabled(registry));
+    }
+
+    @Autowired
+    public JwtReactiveAuthenticationManager(JwtProperties props, MeterRegistry registry, TokenRevocations revocations) {
+        this(props, registry, revocations, System::currentTimeMillis);
+    }
+
+    JwtReactiveAuthenticationManager(JwtProperties props, MeterRegistry registry, LongSupplier clock) {
+        this(props, registry, TokenRevocations.disabled(registry), clock);
+    }
+
+    JwtReactiveAuthenticationManager(JwtProperties props, MeterRegistry registry, TokenRevocations revocations,
+                                     LongSupplier clock) {
+        SecretKey key = Keys.hmacShaKeyFor(props.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .setAllowedClockSkewSeconds(Duration.ofSeconds(30).toSeconds())
+                .build();
+        this.issuer = props.getIssuer() == null || props.getIssuer().isBlank() ? null : props.getIssuer();
+        int entries = props.getCacheMaxEntries() == null ? DEFAULT_CACHE_ENTRIES : props.getCacheMaxEntries();
+        this.cache = entries > 0 ? new VerifiedTokenCache(entries, registry, clock) : null;
+        this.revocations = revocations;
+        this.clock = clock;
     }
 
     @Override
@@ -34,38 +91,40 @@ public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationM
         String token = (String) authentication.getCredentials();
         if (token == null || token.isBlank()) return Mono.empty();
 
-        try {
-            var parser = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .setAllowedClockSkewSeconds(Duration.ofSeconds(30).toSeconds())
-                    .build();
+        VerifiedTokenCache.Digest digest = null;
+        if (cache != null) {
+            digest = VerifiedTokenCache.digest(token);
+            VerifiedTokenCache.VerifiedToken cached = cache.get(digest);
+            if (cached != null) {
+                Authentication auth = cached.authentication();
+                return revocations.isRevoked(cached.jti(), auth.getName(), cached.issuedAtEpochSecond())
+                        ? Mono.empty()
+                        : Mono.just(auth);
+            }
+        }
 
+        try {
             Jws<Claims> jws = parser.parseClaimsJws(token);
             Claims claims = jws.getBody();
 
-            if (props.getIssuer() != null && !props.getIssuer().isBlank()) {
+            if (issuer != null) {
                 String iss = claims.getIssuer();
-                if (iss == null || !iss.equals(props.getIssuer())) return Mono.empty();
+                if (iss == null || !iss.equals(issuer)) return Mono.empty();
             }
 
             String userId = claims.getSubject();
             if (userId == null || userId.isBlank()) return Mono.empty();
 
-            // 1) primero intenta roles como lista de strings
-            @SuppressWarnings("unchecked")
-            List<String> roles = (List<String>) claims.get("roles");
-            if (roles == null || roles.isEmpty()) {
-                // 2) si no hay, intenta con roleId y mapea
-                Object rid = claims.get("roleId");
-                String role = mapRoleIdToName(rid);
-                roles = role == null ? List.of() : List.of(role);
-            }
+            String jti = claims.getId();
+            Date iat = claims.getIssuedAt();
+            long issuedAt = iat == null ? Long.MIN_VALUE : iat.getTime() / 1000;
+            if (revocations.isRevoked(jti, userId, issuedAt)) return Mono.empty();
 
-            var authorities = (roles == null ? Collections.<String>emptyList() : roles).stream()
-                    .map(r -> new SimpleGrantedAuthority("ROLE_" + r))
-                    .collect(Collectors.toList());
-
-            var auth = new UsernamePasswordAuthenticationToken(userId, token, authorities);
+            // Sin credenciales: la Authentication queda en el cache hasta el exp y no debe retener el token
+            var auth = new UsernamePasswordAuthenticationToken(userId, null, authorities(claims));
+            if (cache != null) {
+                cache.put(digest, new VerifiedTokenCache.VerifiedToken(auth, jti, issuedAt, expiresAt(claims)));
+            }
             return Mono.just(auth);
 
         } catch (Exception e) {
@@ -73,6 +132,44 @@ public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationM
         }
     }
 
+    private long expiresAt(Claims claims) {
+        long max = clock.getAsLong() + MAX_CACHE_MILLIS;
+        Date exp = claims.getExpiration();
+        return exp == null ? max : Math.min(exp.getTime(), max);
+    }
+
+    private List<GrantedAuthority> authorities(Claims claims) {
+        // 1) primero intenta roles como lista de strings
+        Object roles = claims.get("roles");
+        if (roles instanceof List<?> list && !list.isEmpty()) {
+            var names = new ArrayList<String>(list.size());
+            for (Object role : list) {
+                names.add(String.valueOf(role));
+            }
+            return roleSet(List.copyOf(names));
+        }
+        // 2) si no hay, intenta con roleId y mapea
+        String role = mapRoleIdToName(claims.get("roleId"));
+        return role == null ? List.of() : ROLE_AUTHORITIES.get(role);
+    }
+
+    private List<GrantedAuthority> roleSet(List<String> names) {
+        List<GrantedAuthority> known = roleSets.get(names);
+        if (known != null) {
+            return known;
+        }
+        var authorities = new ArrayList<GrantedAuthority>(names.size());
+        for (String name : names) {
+            List<GrantedAuthority> single = ROLE_AUTHORITIES.get(name);
+            authorities.add(single != null ? single.get(0) : new SimpleGrantedAuthority("ROLE_" + name));
+        }
+        List<GrantedAuthority> result = List.copyOf(authorities);
+        if (roleSets.size() < MAX_ROLE_SETS) {
+            roleSets.putIfAbsent(names, result);
+        }
+        return result;
+    }
+
     private String mapRoleIdToName(Object rid) {
         if (rid == null) return null;
         String s = String.valueOf(rid);
@@ -0,0 +1,132 @@
+package com.crediya.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.security.core.Authentication;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Tokens ya verificados: SHA-256 del token -> Authentication armada, hasta el {@code exp} del token.
+ * Guarda el digest y no el token, y la Authentication se arma sin credenciales: el cache no retiene
+ * el token en claro. Solo se cachean
+ * verificaciones exitosas; un token inválido se verifica siempre. Cada entrada lleva jti e iat para
+ * volver a consultar la revocación en cada acierto.
+ * <p>
+ * Acotado a {@code maxEntries}: LRU por segmentos, cada uno un LinkedHashMap en orden de acceso
+ * elegido por el digest. Insertar y leer son O(1) y, al llenarse un segmento, sale el token usado
+ * hace más tiempo; un vencido se descarta al leerlo. Nunca se acepta un token vencido.
+ */
+class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    });
+
+    /** Segmentos como máximo; con pocas entradas uno solo, para que el LRU sea exacto */
+    private static final int MAX_SEGMENTS = 16;
+    private static final int MIN_ENTRIES_PER_SEGMENT = 64;
+
+    private final LongSupplier clock;
+    private final Segment[] segments;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    VerifiedTokenCache(int maxEntries, MeterRegistry registry, LongSupplier clock) {
+        this.clock = clock;
+        this.hits = Counter.builder("security.jwt.cache").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("security.jwt.cache").tag("result", "miss").register(registry);
+        this.evictions = Counter.builder("security.jwt.cache.evictions").register(registry);
+        int count = Math.clamp(maxEntries / MIN_ENTRIES_PER_SEGMENT, 1, MAX_SEGMENTS);
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxEntries / count + (i < maxEntries % count ? 1 : 0));
+        }
+        Gauge.builder("security.jwt.cache.size", this, VerifiedTokenCache::size).register(registry);
+    }
+
+    static Digest digest(String token) {
+        byte[] hash = SHA_256.get().digest(token.getBytes(StandardCharsets.UTF_8));
+        var buffer = ByteBuffer.wrap(hash);
+        return new Digest(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+    }
+
+    /** null si no está o ya venció */
+    VerifiedToken get(Digest digest) {
+        Segment segment = segment(digest);
+        VerifiedToken entry;
+        synchronized (segment) {
+            entry = segment.get(digest);
+            if (entry != null && entry.expiresAtMillis() <= clock.getAsLong()) {
+                segment.remove(digest);
+                entry = null;
+            }
+        }
+        (entry != null ? hits : misses).increment();
+        return entry;
+    }
+
+    void put(Digest digest, VerifiedToken token) {
+        if (token.expiresAtMillis() <= clock.getAsLong()) {
+            return;
+        }
+        Segment segment = segment(digest);
+        synchronized (segment) {
+            segment.put(digest, token);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /** Los bits del SHA-256 ya vienen repartidos */
+    private Segment segment(Digest digest) {
+        return segments[(int) Math.floorMod(digest.a(), (long) segments.length)];
+    }
+
+    /** Acceso protegido por su propio monitor; removeEldestEntry mantiene el tope del segmento */
+    private final class Segment extends LinkedHashMap<Digest, VerifiedToken> {
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Digest, VerifiedToken> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    record Digest(long a, long b, long c, long d) {
+    }
+
+    /** @param issuedAtEpochSecond iat del token, {@link Long#MIN_VALUE} si no trae */
+    record VerifiedToken(Authentication authentication, String jti, long issuedAtEpochSecond, long expiresAtMillis) {
+    }
+}
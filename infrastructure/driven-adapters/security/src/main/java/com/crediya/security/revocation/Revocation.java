@@ -0,0 +1,20 @@
+package com.crediya.security.revocation;
+
+/**
+ * Una revocación vigente. Por {@code jti} invalida un token puntual; por subject invalida todos los
+ * tokens del usuario emitidos hasta {@code revokedAt} (logout global, cambio de clave, bloqueo).
+ * Deja de importar en {@code expiresAt}: el exp del token, o revokedAt + el TTL máximo de los tokens
+ * para un subject, porque después de eso ningún token afectado sigue vigente.
+ */
+public record Revocation(Type type, String value, long revokedAtEpochSecond, long expiresAtEpochSecond) {
+
+    public enum Type { TOKEN, SUBJECT }
+
+    public static Revocation token(String jti, long expiresAtEpochSecond) {
+        return new Revocation(Type.TOKEN, jti, 0L, expiresAtEpochSecond);
+    }
+
+    public static Revocation subject(String subject, long revokedAtEpochSecond, long expiresAtEpochSecond) {
+        return new Revocation(Type.SUBJECT, subject, revokedAtEpochSecond, expiresAtEpochSecond);
+    }
+}
@@ -0,0 +1,124 @@
+package com.crediya.security.revocation;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot inmutable de revocaciones para consultar en cada request en O(1) y sin reservar memoria.
+ * Un Bloom filter responde "no revocado" (el caso normal) sin tocar los mapas; cuando dice "quizás",
+ * el conjunto exacto confirma, así un falso positivo nunca rechaza un token válido.
+ * Las entradas ya vencidas se descartan al armar el snapshot.
+ */
+public final class RevocationSet {
+
+    public static final RevocationSet EMPTY = new RevocationSet(Set.of(), Map.of(), new BloomFilter(1, 0.5));
+
+    private static final long TOKEN_SEED = 0x9E3779B97F4A7C15L;
+    private static final long SUBJECT_SEED = 0xC2B2AE3D27D4EB4FL;
+
+    private final Set<String> tokens;
+    private final Map<String, Long> subjects;
+    private final BloomFilter bloom;
+
+    private RevocationSet(Set<String> tokens, Map<String, Long> subjects, BloomFilter bloom) {
+        this.tokens = tokens;
+        this.subjects = subjects;
+        this.bloom = bloom;
+    }
+
+    public static RevocationSet of(Collection<Revocation> revocations, long nowEpochSecond, double falsePositiveRate) {
+        var tokens = new HashSet<String>();
+        var subjects = new HashMap<String, Long>();
+        for (Revocation r : revocations) {
+            if (r.value() == null || r.expiresAtEpochSecond() <= nowEpochSecond) {
+                continue;
+            }
+            if (r.type() == Revocation.Type.TOKEN) {
+                tokens.add(r.value());
+            } else {
+                subjects.merge(r.value(), r.revokedAtEpochSecond(), Math::max);
+            }
+        }
+        if (tokens.isEmpty() && subjects.isEmpty()) {
+            return EMPTY;
+        }
+        var bloom = new BloomFilter(tokens.size() + subjects.size(), falsePositiveRate);
+        tokens.forEach(jti -> bloom.put(hash(jti, TOKEN_SEED)));
+        subjects.keySet().forEach(subject -> bloom.put(hash(subject, SUBJECT_SEED)));
+        return new RevocationSet(tokens, subjects, bloom);
+    }
+
+    /**
+     * @param issuedAtEpochSecond iat del token; sin iat usar {@link Long#MIN_VALUE}, que cae dentro
+     *                            de cualquier revocación por subject
+     */
+    public boolean isRevoked(String jti, String subject, long issuedAtEpochSecond) {
+        if (jti != null && bloom.mightContain(hash(jti, TOKEN_SEED)) && tokens.contains(jti)) {
+            return true;
+        }
+        if (subject != null && bloom.mightContain(hash(subject, SUBJECT_SEED))) {
+            Long revokedAt = subjects.get(subject);
+            return revokedAt != null && issuedAtEpochSecond <= revokedAt;
+        }
+        return false;
+    }
+
+    public int size() {
+        return tokens.size() + subjects.size();
+    }
+
+    /** FNV-1a de 64 bits sobre los chars, sembrado por tipo y con un mezclado final */
+    private static long hash(String value, long seed) {
+        long h = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /** Bloom con doble hashing (h1 + i·h2) sobre un arreglo de longs */
+    private static final class BloomFilter {
+        private final long[] bits;
+        private final int numBits;
+        private final int hashes;
+
+        BloomFilter(int expected, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            this.numBits = (int) Math.max(64, Math.ceil(-expected * Math.log(falsePositiveRate) / (ln2 * ln2)));
+            this.hashes = (int) Math.max(1, Math.round((double) numBits / expected * ln2));
+            this.bits = new long[(numBits + 63) >>> 6];
+        }
+
+        void put(long h1) {
+            long h2 = mix(h1 ^ TOKEN_SEED);
+            for (int i = 0; i < hashes; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) numBits);
+                bits[bit >>> 6] |= 1L << bit;
+            }
+        }
+
+        boolean mightContain(long h1) {
+            long h2 = mix(h1 ^ TOKEN_SEED);
+            for (int i = 0; i < hashes; i++) {
+                int bit = (int) Math.floorMod(h1 + i * h2, (long) numBits);
+                if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
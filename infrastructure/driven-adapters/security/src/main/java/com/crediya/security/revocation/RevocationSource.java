@@ -0,0 +1,17 @@
+package com.crediya.security.revocation;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * De dónde salen las revocaciones (una tabla, un servicio de identidad, configuración). Se consulta
+ * solo al refrescar {@link TokenRevocations}, nunca por request: devuelve el conjunto completo de
+ * revocaciones vigentes, no un incremental.
+ */
+@FunctionalInterface
+public interface RevocationSource {
+
+    /** Sin fuente configurada: ningún token está revocado */
+    RevocationSource NONE = Flux::empty;
+
+    Flux<Revocation> revocations();
+}
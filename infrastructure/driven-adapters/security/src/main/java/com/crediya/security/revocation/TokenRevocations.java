@@ -0,0 +1,134 @@
+package com.crediya.security.revocation;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Revocaciones vigentes en memoria, recargadas desde la {@link RevocationSource} cada
+ * {@code refreshInterval}. El request solo lee el snapshot actual (una lectura volatile); si la
+ * fuente falla se sigue con el último snapshot bueno hasta el próximo refresco.
+ * <p>
+ * Con refresco agendado la primera carga es bloqueante, en la creación del bean: así un token
+ * revocado no pasa en los primeros segundos después de un reinicio. Si esa carga falla, todo token
+ * se rechaza hasta que llegue el primer snapshot.
+ */
+@Slf4j
+public class TokenRevocations implements DisposableBean {
+
+    /** Tope de la carga inicial; después el bean queda listo y rechaza hasta tener snapshot */
+    static final Duration INITIAL_LOAD_TIMEOUT = Duration.ofSeconds(10);
+
+    private final RevocationSource source;
+    private final double falsePositiveRate;
+    private final LongSupplier clockSeconds;
+    private final Disposable refresher;
+    /** null hasta la primera carga cuando el refresco está agendado */
+    private volatile RevocationSet current;
+
+    private final Counter refreshed;
+    private final Counter refreshErrors;
+    private final Counter rejected;
+    private final Counter unavailable;
+
+    public TokenRevocations(RevocationSource source, Duration refreshInterval, double falsePositiveRate,
+                            MeterRegistry registry) {
+        this(source, refreshInterval, falsePositiveRate, registry, () -> System.currentTimeMillis() / 1000);
+    }
+
+    /**
+     * Con {@code refreshInterval} cero no se agenda el refresco ni se bloquea: se parte de un conjunto
+     * vacío y la carga queda a cargo de quien llame {@link #refresh()}.
+     */
+    TokenRevocations(RevocationSource source, Duration refreshInterval, double falsePositiveRate,
+                     MeterRegistry registry, LongSupplier clockSeconds) {
+        this.source = source;
+        this.falsePositiveRate = falsePositiveRate;
+        this.clockSeconds = clockSeconds;
+        this.refreshed = Counter.builder("security.jwt.revocations.refresh").tag("result", "success").register(registry);
+        this.refreshErrors = Counter.builder("security.jwt.revocations.refresh").tag("result", "error").register(registry);
+        this.rejected = Counter.builder("security.jwt.revoked")
+                .description("Tokens válidos rechazados por estar revocados")
+                .register(registry);
+        this.unavailable = Counter.builder("security.jwt.revocations.unavailable")
+                .description("Tokens rechazados porque todavía no hay snapshot de revocaciones")
+                .register(registry);
+        Gauge.builder("security.jwt.revocations", this, TokenRevocations::size).register(registry);
+
+        if (refreshInterval.isZero()) {
+            this.current = RevocationSet.EMPTY;
+            this.refresher = null;
+        } else {
+            load();
+            this.refresher = Flux.interval(refreshInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> refresh(), 1)
+                    .subscribe();
+        }
+    }
+
+    private void load() {
+        try {
+            refresh().block(INITIAL_LOAD_TIMEOUT);
+        } catch (IllegalStateException e) {
+            log.warn("Revocaciones: la carga inicial superó {}", INITIAL_LOAD_TIMEOUT);
+        }
+        if (current == null) {
+            log.error("Revocaciones: sin snapshot inicial, se rechazan los tokens hasta el próximo refresco");
+        }
+    }
+
+    /** Sin fuente ni refresco: para cuando la revocación no está configurada */
+    public static TokenRevocations disabled(MeterRegistry registry) {
+        return new TokenRevocations(RevocationSource.NONE, Duration.ZERO, 0.01, registry);
+    }
+
+    public boolean isRevoked(String jti, String subject, long issuedAtEpochSecond) {
+        RevocationSet snapshot = current;
+        if (snapshot == null) {
+            unavailable.increment();
+            return true;
+        }
+        if (snapshot.isRevoked(jti, subject, issuedAtEpochSecond)) {
+            rejected.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /** Reemplaza el snapshot por el conjunto que devuelve la fuente ahora */
+    public Mono<Void> refresh() {
+        return source.revocations()
+                .collectList()
+                .doOnNext(list -> {
+                    current = RevocationSet.of(list, clockSeconds.getAsLong(), falsePositiveRate);
+                    refreshed.increment();
+                })
+                .onErrorResume(e -> {
+                    refreshErrors.increment();
+                    log.warn("Revocaciones: no se pudo refrescar, se mantiene el snapshot anterior: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    int size() {
+        RevocationSet snapshot = current;
+        return snapshot == null ? 0 : snapshot.size();
+    }
+
+    @Override
+    public void destroy() {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package com.crediya.security;
 
+import com.crediya.security.revocation.Revocation;
+import com.crediya.security.revocation.TokenRevocations;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
@@ -12,15 +15,19 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -63,7 +70,7 @@ class JwtReactiveAuthenticationManagerTest {
         StepVerifier.create(result)
                 .assertNext(authentication -> {
                     assertEquals(userId, authentication.getPrincipal());
-                    assertEquals(token, authentication.getCredentials());
+                    assertNull(authentication.getCredentials());
                     assertEquals(2, authentication.getAuthorities().size());
                     assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN")));
                     assertTrue(authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
@@ -122,7 +129,7 @@ class JwtReactiveAuthenticationManagerTest {
         StepVerifier.create(result)
                 .assertNext(authentication -> {
                     assertEquals(userId, authentication.getPrincipal());
-                    assertEquals(token, authentication.getCredentials());
+                    assertNull(authentication.getCredentials());
                 })
                 .verifyComplete();
     }
@@ -277,6 +284,126 @@ class JwtReactiveAuthenticationManagerTest {
                 .verifyComplete();
     }
 
+    @Test
+    @DisplayName("Debe devolver la misma Authentication cuando el token ya fue verificado")
+    void shouldReturnSameAuthenticationForAlreadyVerifiedToken() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        authenticationManager = new JwtReactiveAuthenticationManager(jwtProperties, registry);
+        String token = createTokenWithRoleId("user123", "3");
+        Authentication auth = new UsernamePasswordAuthenticationToken(null, token, null);
+
+        // When
+        Authentication first = authenticationManager.authenticate(auth).block();
+        Authentication second = authenticationManager.authenticate(auth).block();
+
+        // Then
+        assertNotNull(first);
+        assertSame(first, second);
+        assertEquals(1.0, registry.get("security.jwt.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("security.jwt.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe compartir las authorities de un mismo rol entre tokens distintos")
+    void shouldShareAuthoritiesOfSameRoleAcrossTokens() {
+        // Given
+        Authentication one = new UsernamePasswordAuthenticationToken(null, createTokenWithRoleId("user1", "2"), null);
+        Authentication other = new UsernamePasswordAuthenticationToken(null, createTokenWithRoleId("user2", "2"), null);
+
+        // When
+        Authentication first = authenticationManager.authenticate(one).block();
+        Authentication second = authenticationManager.authenticate(other).block();
+
+        // Then
+        assertNotNull(first);
+        assertNotNull(second);
+        assertSame(first.getAuthorities().iterator().next(), second.getAuthorities().iterator().next());
+    }
+
+    @Test
+    @DisplayName("Debe volver a verificar el token cuando vence su entrada en el cache")
+    void shouldVerifyAgainWhenCachedEntryExpires() {
+        // Given
+        var now = new AtomicLong(System.currentTimeMillis());
+        var registry = new SimpleMeterRegistry();
+        authenticationManager = new JwtReactiveAuthenticationManager(jwtProperties, registry, now::get);
+        String token = createValidToken("user123", List.of("ADMIN"));
+        Authentication auth = new UsernamePasswordAuthenticationToken(null, token, null);
+        Authentication first = authenticationManager.authenticate(auth).block();
+
+        // When
+        now.addAndGet(ChronoUnit.HOURS.getDuration().toMillis());
+        Authentication second = authenticationManager.authenticate(auth).block();
+
+        // Then
+        assertNotNull(second);
+        assertNotSame(first, second);
+        assertEquals(0.0, registry.get("security.jwt.cache").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe verificar siempre cuando el cache está desactivado")
+    void shouldAlwaysVerifyWhenCacheIsDisabled() {
+        // Given
+        when(jwtProperties.getCacheMaxEntries()).thenReturn(0);
+        var registry = new SimpleMeterRegistry();
+        authenticationManager = new JwtReactiveAuthenticationManager(jwtProperties, registry);
+        String token = createValidToken("user123", List.of("ADMIN"));
+        Authentication auth = new UsernamePasswordAuthenticationToken(null, token, null);
+
+        // When
+        Authentication first = authenticationManager.authenticate(auth).block();
+        Authentication second = authenticationManager.authenticate(auth).block();
+
+        // Then
+        assertNotNull(first);
+        assertNotSame(first, second);
+        assertTrue(registry.find("security.jwt.cache").counters().isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token con jti revocado")
+    void shouldRejectTokenWithRevokedJti() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        long exp = Instant.now().plus(1, ChronoUnit.HOURS).getEpochSecond();
+        var revocations = new TokenRevocations(() -> Flux.just(Revocation.token("jti-revoked", exp)),
+                Duration.ZERO, 0.01, registry);
+        revocations.refresh().block();
+        authenticationManager = new JwtReactiveAuthenticationManager(jwtProperties, registry, revocations);
+        Authentication revoked = new UsernamePasswordAuthenticationToken(null, createTokenWithId("user123", "jti-revoked"), null);
+        Authentication valid = new UsernamePasswordAuthenticationToken(null, createTokenWithId("user123", "jti-ok"), null);
+
+        // When & Then
+        StepVerifier.create(authenticationManager.authenticate(revoked)).verifyComplete();
+        StepVerifier.create(authenticationManager.authenticate(valid))
+                .assertNext(authentication -> assertEquals("user123", authentication.getPrincipal()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe rechazar un token ya cacheado cuando su subject se revoca después")
+    void shouldRejectCachedTokenWhenSubjectIsRevokedLater() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var source = new AtomicReference<Flux<Revocation>>(Flux.empty());
+        var revocations = new TokenRevocations(source::get, Duration.ZERO, 0.01, registry);
+        authenticationManager = new JwtReactiveAuthenticationManager(jwtProperties, registry, revocations);
+        String token = createTokenWithId("user123", "jti-1");
+        Authentication auth = new UsernamePasswordAuthenticationToken(null, token, null);
+        assertNotNull(authenticationManager.authenticate(auth).block());
+
+        // When
+        long now = Instant.now().getEpochSecond();
+        source.set(Flux.just(Revocation.subject("user123", now + 1, now + 3600)));
+        revocations.refresh().block();
+
+        // Then
+        StepVerifier.create(authenticationManager.authenticate(auth)).verifyComplete();
+        assertEquals(1.0, registry.get("security.jwt.cache").tag("result", "hit").counter().count());
+    }
+
     // Helper methods for creating test tokens
 
     private String createValidToken(String userId, List<String> roles) {
@@ -371,4 +498,15 @@ class JwtReactiveAuthenticationManagerTest {
                 .signWith(secretKey)
                 .compact();
     }
+
+    private String createTokenWithId(String userId, String jti) {
+        return Jwts.builder()
+                .setSubject(userId)
+                .setIssuer(validIssuer)
+                .setId(jti)
+                .setIssuedAt(new Date())
+                .setExpiration(Date.from(Instant.now().plus(1, ChronoUnit.HOURS)))
+                .signWith(secretKey)
+                .compact();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.crediya.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("VerifiedTokenCache Tests")
+class VerifiedTokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000L);
+    private SimpleMeterRegistry registry;
+    private VerifiedTokenCache cache;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        cache = new VerifiedTokenCache(2, registry, now::get);
+    }
+
+    @Test
+    @DisplayName("Debe dar el mismo digest para el mismo token y distinto para otro")
+    void shouldDigestSameTokenEqually() {
+        // Given & When
+        var digest = VerifiedTokenCache.digest("a.b.c");
+
+        // Then
+        assertEquals(digest, VerifiedTokenCache.digest("a.b.c"));
+        assertNotEquals(digest, VerifiedTokenCache.digest("a.b.d"));
+    }
+
+    @Test
+    @DisplayName("Debe devolver la entrada hasta su vencimiento y después null")
+    void shouldReturnEntryUntilItExpires() {
+        // Given
+        var digest = VerifiedTokenCache.digest("token");
+        Authentication auth = authentication("user");
+        cache.put(digest, verified(auth, now.get() + 1_000));
+
+        // When
+        var before = cache.get(digest);
+        now.addAndGet(1_000);
+        var after = cache.get(digest);
+
+        // Then
+        assertSame(auth, before.authentication());
+        assertNull(after);
+        assertEquals(0, cache.size());
+        assertEquals(1.0, registry.get("security.jwt.cache").tag("result", "hit").counter().count());
+        assertEquals(1.0, registry.get("security.jwt.cache").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    @DisplayName("No debe guardar un token que ya venció")
+    void shouldNotStoreExpiredToken() {
+        // Given
+        var digest = VerifiedTokenCache.digest("token");
+
+        // When
+        cache.put(digest, verified(authentication("user"), now.get()));
+
+        // Then
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    @DisplayName("Debe descartar el token usado hace más tiempo y no pasar del máximo de entradas")
+    void shouldStayBoundedEvictingLeastRecentlyUsed() {
+        // Given
+        var hot = VerifiedTokenCache.digest("hot");
+        var cold = VerifiedTokenCache.digest("cold");
+        cache.put(hot, verified(authentication("a"), now.get() + 10_000));
+        cache.put(cold, verified(authentication("b"), now.get() + 10_000));
+        cache.get(hot);
+
+        // When
+        var extra = VerifiedTokenCache.digest("extra");
+        cache.put(extra, verified(authentication("c"), now.get() + 10_000));
+
+        // Then
+        assertNotNull(cache.get(hot));
+        assertNotNull(cache.get(extra));
+        assertNull(cache.get(cold));
+        assertEquals(2, cache.size());
+        assertEquals(1.0, registry.get("security.jwt.cache.evictions").counter().count());
+        assertEquals(2.0, registry.get("security.jwt.cache.size").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Debe repartir entradas grandes en segmentos sin pasar del máximo")
+    void shouldBoundSegmentedCache() {
+        // Given
+        var large = new VerifiedTokenCache(1_000, registry, now::get);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            large.put(VerifiedTokenCache.digest("token-" + i), verified(authentication("u"), now.get() + 10_000));
+        }
+
+        // Then
+        assertTrue(large.size() <= 1_000);
+        assertTrue(large.size() > 900);
+    }
+
+    private static VerifiedTokenCache.VerifiedToken verified(Authentication auth, long expiresAtMillis) {
+        return new VerifiedTokenCache.VerifiedToken(auth, "jti", Long.MIN_VALUE, expiresAtMillis);
+    }
+
+    private static Authentication authentication(String user) {
+        return new UsernamePasswordAuthenticationToken(user, "token", List.of());
+    }
+}
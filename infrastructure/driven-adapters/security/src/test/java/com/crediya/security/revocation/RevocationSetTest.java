@@ -0,0 +1,82 @@
+package com.crediya.security.revocation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RevocationSet Tests")
+class RevocationSetTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    @Test
+    @DisplayName("Debe rechazar el jti revocado y aceptar los demás")
+    void shouldRejectRevokedJtiOnly() {
+        // Given
+        var set = RevocationSet.of(List.of(Revocation.token("jti-1", NOW + 3600)), NOW, 0.01);
+
+        // When & Then
+        assertTrue(set.isRevoked("jti-1", "user1", NOW));
+        assertFalse(set.isRevoked("jti-2", "user1", NOW));
+        assertFalse(set.isRevoked(null, "user1", NOW));
+    }
+
+    @Test
+    @DisplayName("Debe rechazar por subject solo los tokens emitidos hasta la revocación")
+    void shouldRejectSubjectTokensIssuedUntilRevocation() {
+        // Given
+        var set = RevocationSet.of(List.of(Revocation.subject("user1", NOW, NOW + 3600)), NOW, 0.01);
+
+        // When & Then
+        assertTrue(set.isRevoked("any", "user1", NOW - 10));
+        assertTrue(set.isRevoked("any", "user1", NOW));
+        assertTrue(set.isRevoked(null, "user1", Long.MIN_VALUE));
+        assertFalse(set.isRevoked("any", "user1", NOW + 1));
+        assertFalse(set.isRevoked("any", "user2", NOW - 10));
+    }
+
+    @Test
+    @DisplayName("Debe descartar las revocaciones ya vencidas al armar el conjunto")
+    void shouldDropExpiredRevocations() {
+        // Given
+        var set = RevocationSet.of(List.of(
+                Revocation.token("old", NOW),
+                Revocation.subject("user1", NOW - 7200, NOW - 3600)), NOW, 0.01);
+
+        // When & Then
+        assertSame(RevocationSet.EMPTY, set);
+        assertFalse(set.isRevoked("old", "user1", NOW - 7200));
+    }
+
+    @Test
+    @DisplayName("No debe confundir un jti con un subject del mismo valor")
+    void shouldNotMixTokenAndSubjectEntries() {
+        // Given
+        var set = RevocationSet.of(List.of(Revocation.token("abc", NOW + 60)), NOW, 0.01);
+
+        // When & Then
+        assertFalse(set.isRevoked("other", "abc", NOW));
+    }
+
+    @Test
+    @DisplayName("No debe rechazar tokens válidos aunque el Bloom dé falsos positivos")
+    void shouldNeverRejectValidTokensOnBloomFalsePositives() {
+        // Given
+        var revoked = new ArrayList<Revocation>();
+        for (int i = 0; i < 10_000; i++) {
+            revoked.add(Revocation.token("revoked-" + i, NOW + 3600));
+        }
+        var set = RevocationSet.of(revoked, NOW, 0.2);
+
+        // When & Then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(set.isRevoked("revoked-" + i, "user", NOW));
+            assertFalse(set.isRevoked("valid-" + i, "user", NOW));
+        }
+        assertEquals(10_000, set.size());
+    }
+}
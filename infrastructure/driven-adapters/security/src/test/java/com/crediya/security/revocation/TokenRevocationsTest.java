@@ -0,0 +1,120 @@
+package com.crediya.security.revocation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TokenRevocations Tests")
+class TokenRevocationsTest {
+
+    private static final long NOW = 1_700_000_000L;
+
+    private final AtomicReference<Flux<Revocation>> revocations = new AtomicReference<>(Flux.empty());
+    private SimpleMeterRegistry registry;
+    private TokenRevocations tokenRevocations;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        tokenRevocations = new TokenRevocations(() -> revocations.get(), Duration.ZERO, 0.01, registry, () -> NOW);
+    }
+
+    @Test
+    @DisplayName("Debe aplicar lo que devuelve la fuente al refrescar")
+    void shouldApplySourceOnRefresh() {
+        // Given
+        revocations.set(Flux.just(Revocation.token("jti-1", NOW + 60)));
+
+        // When
+        boolean before = tokenRevocations.isRevoked("jti-1", "user1", NOW);
+        tokenRevocations.refresh().block();
+        boolean after = tokenRevocations.isRevoked("jti-1", "user1", NOW);
+
+        // Then
+        assertFalse(before);
+        assertTrue(after);
+        assertEquals(1, tokenRevocations.size());
+        assertEquals(1.0, registry.get("security.jwt.revoked").counter().count());
+        assertEquals(1.0, registry.get("security.jwt.revocations").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Debe quitar la revocación cuando la fuente ya no la devuelve")
+    void shouldDropRevocationMissingFromSource() {
+        // Given
+        revocations.set(Flux.just(Revocation.subject("user1", NOW, NOW + 60)));
+        tokenRevocations.refresh().block();
+
+        // When
+        revocations.set(Flux.empty());
+        tokenRevocations.refresh().block();
+
+        // Then
+        assertFalse(tokenRevocations.isRevoked("jti-1", "user1", NOW));
+    }
+
+    @Test
+    @DisplayName("Debe mantener el snapshot anterior si la fuente falla")
+    void shouldKeepPreviousSnapshotWhenSourceFails() {
+        // Given
+        revocations.set(Flux.fromIterable(List.of(Revocation.token("jti-1", NOW + 60))));
+        tokenRevocations.refresh().block();
+
+        // When
+        revocations.set(Flux.error(new IllegalStateException("fuente caída")));
+        tokenRevocations.refresh().block();
+
+        // Then
+        assertTrue(tokenRevocations.isRevoked("jti-1", "user1", NOW));
+        assertEquals(1.0, registry.get("security.jwt.revocations.refresh").tag("result", "error").counter().count());
+    }
+
+    @Test
+    @DisplayName("Debe cargar las revocaciones antes de quedar listo cuando el refresco está agendado")
+    void shouldLoadSnapshotBeforeFirstRequest() {
+        // Given
+        revocations.set(Flux.just(Revocation.token("jti-1", NOW + 60)));
+
+        // When
+        var scheduled = new TokenRevocations(() -> revocations.get(), Duration.ofHours(1), 0.01, registry, () -> NOW);
+
+        // Then
+        try {
+            assertTrue(scheduled.isRevoked("jti-1", "user1", NOW));
+            assertFalse(scheduled.isRevoked("jti-2", "user1", NOW));
+        } finally {
+            scheduled.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar los tokens hasta el primer snapshot si la carga inicial falla")
+    void shouldRejectUntilFirstSnapshotWhenInitialLoadFails() {
+        // Given
+        revocations.set(Flux.error(new IllegalStateException("fuente caída")));
+        var scheduled = new TokenRevocations(() -> revocations.get(), Duration.ofHours(1), 0.01, registry, () -> NOW);
+
+        try {
+            // When
+            boolean before = scheduled.isRevoked("jti-1", "user1", NOW);
+            revocations.set(Flux.empty());
+            scheduled.refresh().block();
+            boolean after = scheduled.isRevoked("jti-1", "user1", NOW);
+
+            // Then
+            assertTrue(before);
+            assertFalse(after);
+            assertEquals(1.0, registry.get("security.jwt.revocations.unavailable").counter().count());
+        } finally {
+            scheduled.destroy();
+        }
+    }
+}
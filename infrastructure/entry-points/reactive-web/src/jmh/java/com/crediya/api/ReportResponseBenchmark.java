@@ -0,0 +1,75 @@
+package com.crediya.api;
+
+import com.crediya.api.dto.ApiResponse;
+import com.crediya.api.dto.ReportDto;
+import com.crediya.api.mapper.ReportDtoMapper;
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBreakdown;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de armar la respuesta de GET /api/v1/reports: DTO + Jackson en cada request
+ * contra los bytes ya codificados de {@link ReportResponseCache}, y el mapeo Report -> DTO solo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReportResponseBenchmark {
+
+    private static final String PATH = "/api/v1/reports";
+
+    private ObjectMapper mapper;
+    private ReportResponseCache cache;
+    private Report report;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().findAndAddModules().build();
+        cache = new ReportResponseCache(mapper);
+        report = new Report("global-report", 1_250L, "2025-01-15T10:30:45Z", new BigDecimal("987654321"));
+        report.setVersion(42L);
+        report.setByStatus(Map.of(
+                "APPROVED", new ReportBreakdown(900L, new BigDecimal("987654321")),
+                "REJECTED", new ReportBreakdown(350L, BigDecimal.ZERO)));
+        report.setByDimension(Map.of("product", Map.of(
+                "LIBRE_INVERSION", new ReportBreakdown(600L, new BigDecimal("600000000")),
+                "VEHICULO", new ReportBreakdown(300L, new BigDecimal("387654321")))));
+    }
+
+    private Object body() {
+        return ApiResponse.ok(ReportDtoMapper.toDto(report), "Operación exitosa", PATH, Instant.parse(report.getUpdatedAt()));
+    }
+
+    @Benchmark
+    public ReportDto mapToDto() {
+        return ReportDtoMapper.toDto(report);
+    }
+
+    @Benchmark
+    public byte[] serializePerRequest() throws Exception {
+        return mapper.writeValueAsBytes(body());
+    }
+
+    @Benchmark
+    public byte[] cachedIdentity() {
+        return cache.get(report.getVersion(), PATH, this::body).identity();
+    }
+
+    @Benchmark
+    public byte[] cachedGzip() {
+        return cache.get(report.getVersion(), PATH, this::body).gzip();
+    }
+}
@@ -1,31 +1,71 @@
 package com.crediya.api;
 
 import com.crediya.api.dto.ApiResponse;
-import com.crediya.api.dto.ReportDto;
+import com.crediya.api.mapper.ReportDtoMapper;
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportGranularity;
+import com.crediya.usecase.showreportrange.ShowReportRangeUseCase;
 import com.crediya.usecase.showreports.ShowReportsUseCase;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 // com/crediya/api/Handler.java
 @Component
 @RequiredArgsConstructor
 public class Handler {
 
     private final ShowReportsUseCase showReportsUseCase;
+    private final ShowReportRangeUseCase showReportRangeUseCase;
+    private final ReportResponseCache responseCache;
 
+    /**
+     * GET condicional: ETag fuerte a partir de la versión del reporte y Last-Modified desde updatedAt.
+     * Los bytes gzip y los identity son representaciones distintas, cada una con su ETag
+     * ({@code "v<version>-gzip"} y {@code "v<version>"}); If-None-Match acepta cualquiera de las dos.
+     * Con If-None-Match / If-Modified-Since vigentes responde 304 sin cuerpo; con el cache del
+     * repositorio activo ese 304 no llega a DynamoDB. El 200 escribe los bytes ya serializados de
+     * esa versión (gzip si el cliente lo acepta).
+     */
     public Mono<ServerResponse> listenGETUseCase(ServerRequest req) {
         return showReportsUseCase.execute()
-                // Si execute() devuelve ReportDto, deja como está:
-                // .map(dto -> ApiResponse.ok(dto, "Operación exitosa", req.path()))
-                // Si devuelve Report (dominio), mapea:
-                .map(report -> ApiResponse.ok(toDto(report), "Operación exitosa", req.path()))
-                .flatMap(body -> ServerResponse.ok()
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .bodyValue(body))
+                .flatMap(report -> {
+                    boolean gzip = acceptsGzip(req);
+                    String etag = etag(version(report), gzip);
+                    Instant lastModified = lastModified(report);
+                    if (notModified(req, version(report), lastModified)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                                .headers(h -> validators(h, etag, lastModified))
+                                .build();
+                    }
+                    var encoded = responseCache.get(version(report), req.path(), () -> ApiResponse.ok(
+                            ReportDtoMapper.toDto(report), "Operación exitosa", req.path(),
+                            lastModified == null ? Instant.now() : lastModified));
+                    byte[] bytes = gzip ? encoded.gzip() : encoded.identity();
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .headers(h -> {
+                                validators(h, etag, lastModified);
+                                if (gzip) {
+                                    h.set(HttpHeaders.CONTENT_ENCODING, "gzip");
+                                }
+                                h.setContentLength(bytes.length);
+                            })
+                            .body(BodyInserters.fromDataBuffers(Mono.just(DefaultDataBufferFactory.sharedInstance.wrap(bytes))));
+                })
                 .switchIfEmpty(ServerResponse.status(HttpStatus.NOT_FOUND)
                         .contentType(MediaType.APPLICATION_JSON)
                         .bodyValue(ApiResponse.fail("No hay reporte", null, req.path())))
@@ -34,14 +74,99 @@ public class Handler {
                         .bodyValue(ApiResponse.fail("Error interno", e.getMessage(), req.path())));
     }
 
-    // Ajusta getters según tu dominio
-    private ReportDto toDto(com.crediya.model.report.Report r) {
-        return ReportDto.builder()
-                .metricId(r.getMetricId())
-                .count(r.getCount())
-                .updatedAt(r.getUpdatedAt())
-                .totalAmountCents(r.getTotalAmountCents())
-                .build();
+    /**
+     * GET /api/v1/reports/range?from=&to=&granularity=
+     * Por defecto: últimas 24h a resolución HOUR. Los parámetros inválidos (400) los resuelve GlobalExceptionHandler.
+     */
+    public Mono<ServerResponse> listenGETRange(ServerRequest req) {
+        return Mono.defer(() -> {
+                    Instant to = instantParam(req, "to", Instant.now());
+                    Instant from = instantParam(req, "from", to.minus(Duration.ofDays(1)));
+                    var granularity = ReportGranularity.from(req.queryParam("granularity").orElse("HOUR"));
+                    return showReportRangeUseCase.execute(from, to, granularity);
+                })
+                .map(range -> ApiResponse.ok(ReportDtoMapper.toDto(range), "Operación exitosa", req.path()))
+                .flatMap(body -> ServerResponse.ok()
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(body));
+    }
+
+    private static long version(Report report) {
+        return report.getVersion() == null ? 0 : report.getVersion();
+    }
+
+    private static String etag(long version, boolean gzip) {
+        return gzip ? "\"v" + version + "-gzip\"" : "\"v" + version + "\"";
+    }
+
+    /** gzip listado en Accept-Encoding y no rechazado con q=0 */
+    private static boolean acceptsGzip(ServerRequest req) {
+        for (String header : req.headers().header(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : header.split(",")) {
+                String[] parts = coding.trim().split(";");
+                if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                    return parts.length == 1 || !parts[1].trim().matches("q=0(\\.0*)?");
+                }
+            }
+        }
+        return false;
+    }
+
+    private static Instant lastModified(Report report) {
+        if (report.getUpdatedAt() == null) {
+            return null;
+        }
+        try {
+            return Instant.parse(report.getUpdatedAt()).truncatedTo(ChronoUnit.SECONDS);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
-}
 
+    /**
+     * no-cache (en lugar del no-store global) para que el cliente guarde el cuerpo y revalide; el
+     * ETag depende de Accept-Encoding, también en el 304.
+     */
+    private static void validators(HttpHeaders headers, String etag, Instant lastModified) {
+        headers.setETag(etag);
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified != null) {
+            headers.setLastModified(lastModified);
+        }
+        headers.setCacheControl(CacheControl.noCache());
+    }
+
+    /** If-None-Match manda sobre If-Modified-Since (RFC 9110 §13.2.2); en GET la comparación es débil */
+    private static boolean notModified(ServerRequest req, long version, Instant lastModified) {
+        HttpHeaders headers = req.headers().asHttpHeaders();
+        try {
+            List<String> ifNoneMatch = headers.getIfNoneMatch();
+            if (!ifNoneMatch.isEmpty()) {
+                return ifNoneMatch.stream().anyMatch(tag -> "*".equals(tag)
+                        || opaqueTag(tag).equals(etag(version, false))
+                        || opaqueTag(tag).equals(etag(version, true)));
+            }
+            long ifModifiedSince = headers.getIfModifiedSince();
+            return ifModifiedSince >= 0 && lastModified != null && lastModified.toEpochMilli() <= ifModifiedSince;
+        } catch (IllegalArgumentException e) {
+            // Cabecera malformada: se responde el cuerpo completo
+            return false;
+        }
+    }
+
+    private static String opaqueTag(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static Instant instantParam(ServerRequest req, String name, Instant defaultValue) {
+        var value = req.queryParam(name);
+        if (value.isEmpty() || value.get().isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Instant.parse(value.get());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(name + " debe ser ISO-8601, ej. 2025-09-17T04:30:00Z");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.crediya.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cuerpo de GET /api/v1/reports ya serializado (JSON y gzip) para la última versión del reporte.
+ * Mientras la versión no cambia, responder es escribir los mismos bytes: sin DTO, sin Jackson.
+ */
+@Component
+public class ReportResponseCache {
+
+    private final ObjectMapper objectMapper;
+    private final AtomicReference<Encoded> latest = new AtomicReference<>();
+
+    public ReportResponseCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** Bytes de la versión pedida; {@code body} solo se construye y serializa en un miss */
+    public Encoded get(long version, String path, Supplier<Object> body) {
+        Encoded current = latest.get();
+        if (current != null && current.version == version && current.path.equals(path)) {
+            return current;
+        }
+        Encoded encoded = encode(version, path, body.get());
+        // Una lectura atrasada no reemplaza a una versión más nueva
+        latest.accumulateAndGet(encoded, (prev, next) -> prev == null || next.version >= prev.version ? next : prev);
+        return encoded;
+    }
+
+    private Encoded encode(long version, String path, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Encoded(version, path, json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo serializar el reporte", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        var bytes = new ByteArrayOutputStream(json.length / 2 + 32);
+        try (var out = new GZIPOutputStream(bytes)) {
+            out.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public record Encoded(long version, String path, byte[] identity, byte[] gzip) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.crediya.api;
+
+import com.crediya.api.config.ReportStreamProperties;
+import com.crediya.api.dto.ReportDto;
+import com.crediya.api.mapper.ReportDtoMapper;
+import com.crediya.usecase.streamreports.StreamReportsUseCase;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * GET /api/v1/reports/stream: Server-Sent Events con el reporte global.
+ * Un cliente lento no acumula eventos: si no alcanza a consumir, recibe solo el último estado.
+ */
+@Component
+public class ReportStreamHandler {
+
+    private final StreamReportsUseCase streamReportsUseCase;
+    private final ReportStreamProperties properties;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public ReportStreamHandler(StreamReportsUseCase streamReportsUseCase,
+                               ReportStreamProperties properties,
+                               MeterRegistry registry) {
+        this.streamReportsUseCase = streamReportsUseCase;
+        this.properties = properties;
+        Gauge.builder("report.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clientes conectados al stream SSE del reporte")
+                .register(registry);
+    }
+
+    public Mono<ServerResponse> listenGETStream(ServerRequest req) {
+        Flux<ServerSentEvent<ReportDto>> reports = streamReportsUseCase.execute()
+                .onBackpressureLatest()
+                .map(report -> ServerSentEvent.<ReportDto>builder()
+                        .id(String.valueOf(report.getVersion()))
+                        .event("report")
+                        .data(ReportDtoMapper.toDto(report))
+                        .build());
+        Flux<ServerSentEvent<ReportDto>> heartbeats = Flux.interval(properties.heartbeat())
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<ReportDto>builder().comment("heartbeat").build());
+
+        var events = Flux.merge(reports, heartbeats)
+                .doOnSubscribe(s -> subscribers.incrementAndGet())
+                .doFinally(signal -> subscribers.decrementAndGet());
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(BodyInserters.fromServerSentEvents(events));
+    }
+}
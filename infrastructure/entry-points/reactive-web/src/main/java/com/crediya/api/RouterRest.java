@@ -3,6 +3,8 @@ package com.crediya.api;
 import com.crediya.api.handler.GlobalExceptionHandler;
 import com.crediya.api.dto.ErrorResponseDto;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -52,11 +54,61 @@ public class RouterRest {
                                 )
                             }
                     )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/reports/range",
+                    method = RequestMethod.GET,
+                    operation = @Operation(
+                            operationId = "getReportRange",
+                            summary = "Obtener el reporte por rango de tiempo",
+                            description = "Serie de puntos a la granularidad pedida, calculada con los buckets de minuto/hora/día",
+                            parameters = {
+                                @Parameter(in = ParameterIn.QUERY, name = "from", description = "ISO-8601; por defecto to - 24h"),
+                                @Parameter(in = ParameterIn.QUERY, name = "to", description = "ISO-8601; por defecto ahora"),
+                                @Parameter(in = ParameterIn.QUERY, name = "granularity", description = "MINUTE, HOUR o DAY; por defecto HOUR")
+                            },
+                            responses = {
+                                @ApiResponse(
+                                    responseCode = "200",
+                                    description = "OK",
+                                    content = @Content(schema = @Schema(implementation = Object.class))
+                                ),
+                                @ApiResponse(
+                                    responseCode = "400",
+                                    description = "Bad Request - Rango o granularidad inválidos",
+                                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+                                ),
+                                @ApiResponse(
+                                    responseCode = "500",
+                                    description = "Internal Server Error - Error interno del servidor",
+                                    content = @Content(schema = @Schema(implementation = ErrorResponseDto.class))
+                                )
+                            }
+                    )
+            ),
+            @RouterOperation(
+                    path = "/api/v1/reports/stream",
+                    method = RequestMethod.GET,
+                    operation = @Operation(
+                            operationId = "streamReports",
+                            summary = "Stream del reporte en vivo",
+                            description = "Server-Sent Events (text/event-stream): estado actual y luego un evento 'report' por cada cambio, más heartbeats",
+                            responses = {
+                                @ApiResponse(
+                                    responseCode = "200",
+                                    description = "OK",
+                                    content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = Object.class))
+                                )
+                            }
+                    )
             )
     })
     public RouterFunction<ServerResponse> routerFunction(Handler handler, 
+                                                         ReportStreamHandler streamHandler,
                                                          GlobalExceptionHandler globalExceptionHandler) {
         return route(GET("/api/v1/reports"), handler::listenGETUseCase)
+                .andRoute(GET("/api/v1/reports/range"), handler::listenGETRange)
+                .andRoute(GET("/api/v1/reports/stream"), streamHandler::listenGETStream)
                 .filter(globalExceptionHandler);
     }
 }
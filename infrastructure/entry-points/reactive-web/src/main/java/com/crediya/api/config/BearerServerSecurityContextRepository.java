@@ -10,9 +10,17 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+/**
+ * Contexto de seguridad a partir del Bearer, resuelto de forma perezosa: {@code load} solo arma el
+ * Mono y el token se lee y verifica cuando alguien se suscribe, es decir cuando una regla de
+ * autorización necesita la Authentication. En las rutas {@code permitAll} nadie se suscribe y el
+ * request no paga el costo del JWT aunque traiga el header.
+ */
 @Component
 public class BearerServerSecurityContextRepository implements ServerSecurityContextRepository {
 
+    private static final String BEARER = "Bearer ";
+
     private final JwtReactiveAuthenticationManager authManager;
 
     public BearerServerSecurityContextRepository(JwtReactiveAuthenticationManager authManager) {
@@ -21,9 +29,14 @@ public class BearerServerSecurityContextRepository implements ServerSecurityCont
 
     @Override
     public Mono<SecurityContext> load(ServerWebExchange exchange) {
+        // cache: varias reglas o filtros del mismo request comparten una sola verificación
+        return Mono.defer(() -> resolve(exchange)).cache();
+    }
+
+    private Mono<SecurityContext> resolve(ServerWebExchange exchange) {
         String header = exchange.getRequest().getHeaders().getFirst("Authorization");
-        if (header != null && header.startsWith("Bearer ")) {
-            var token = header.substring(7);
+        if (header != null && header.startsWith(BEARER)) {
+            var token = header.substring(BEARER.length());
             var auth = new UsernamePasswordAuthenticationToken(null, token);
             return authManager.authenticate(auth).map(SecurityContextImpl::new);
         }
@@ -34,4 +47,4 @@ public class BearerServerSecurityContextRepository implements ServerSecurityCont
     public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
         return Mono.empty();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,14 @@
+package com.crediya.api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Stream SSE del reporte: cada cuánto se envía un comentario de heartbeat para mantener viva la conexión */
+@ConfigurationProperties(prefix = "app.report.stream")
+public record ReportStreamProperties(Duration heartbeat) {
+
+    public ReportStreamProperties {
+        if (heartbeat == null || heartbeat.isZero() || heartbeat.isNegative()) heartbeat = Duration.ofSeconds(15);
+    }
+}
@@ -31,13 +31,16 @@ public class SecurityConfig {
                 .securityContextRepository(contextRepo)
                 .authorizeExchange(ex -> ex
                         .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Cambio de shards en caliente solo para administradores
+                        .pathMatchers(HttpMethod.POST, "/actuator/reportshards").hasRole("ADMIN")
                         // Swagger completo abierto
                         .pathMatchers("/v3/api-docs/**",
                                 "/swagger-ui.html",
                                 "/swagger-ui/**",
                                 "/webjars/**",
                                 "/actuator/**").permitAll()
-                        .pathMatchers(HttpMethod.GET, "/api/v1/reports").permitAll()
+                        // Sin suscriptor al contexto: el Bearer de estas rutas no se verifica
+                        .pathMatchers(HttpMethod.GET, "/api/v1/reports", "/api/v1/reports/range", "/api/v1/reports/stream").permitAll()
 
 
                         .anyExchange().authenticated()
@@ -17,13 +17,18 @@ public class ApiResponse<T> {
     private Instant timestamp;
 
     public static <T> ApiResponse<T> ok(T data, String message, String path) {
+        return ok(data, message, path, Instant.now());
+    }
+
+    /** Con un timestamp fijo (ej. updatedAt del dato) la misma versión produce siempre el mismo cuerpo */
+    public static <T> ApiResponse<T> ok(T data, String message, String path, Instant timestamp) {
         return ApiResponse.<T>builder()
                 .success(true)
                 .message(message)
                 .data(data)
                 .errors(null)
                 .path(path)
-                .timestamp(Instant.now())
+                .timestamp(timestamp)
                 .build();
     }
 
@@ -0,0 +1,17 @@
+package com.crediya.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportBreakdownDto {
+    private Long count;
+    private BigDecimal totalAmountCents;
+}
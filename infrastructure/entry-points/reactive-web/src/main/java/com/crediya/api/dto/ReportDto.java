@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor  // <- agrega constructor vacío
@@ -17,4 +18,6 @@ public class ReportDto {
     private Long count;
     private String updatedAt;
     private BigDecimal totalAmountCents;
+    private Map<String, ReportBreakdownDto> byStatus;
+    private Map<String, Map<String, ReportBreakdownDto>> byDimension;
 }
@@ -0,0 +1,20 @@
+package com.crediya.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportPointDto {
+    private Instant from;
+    private Instant to;
+    private Long count;
+    private BigDecimal totalAmountCents;
+}
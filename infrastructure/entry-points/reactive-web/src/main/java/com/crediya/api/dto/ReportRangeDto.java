@@ -0,0 +1,24 @@
+package com.crediya.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportRangeDto {
+    private Instant from;
+    private Instant to;
+    private String granularity;
+    private Long count;
+    private BigDecimal totalAmountCents;
+    private List<ReportPointDto> points;
+    private Integer bucketsRead;
+}
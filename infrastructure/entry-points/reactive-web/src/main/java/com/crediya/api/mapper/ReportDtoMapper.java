@@ -0,0 +1,74 @@
+package com.crediya.api.mapper;
+
+import com.crediya.api.dto.ReportBreakdownDto;
+import com.crediya.api.dto.ReportDto;
+import com.crediya.api.dto.ReportPointDto;
+import com.crediya.api.dto.ReportRangeDto;
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBreakdown;
+import com.crediya.model.report.ReportPoint;
+import com.crediya.model.report.ReportRange;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Modelo -> DTO de respuesta campo a campo, con mapas y listas del tamaño exacto y sin streams.
+ * Lo usan el GET, el rango y el stream SSE.
+ */
+public final class ReportDtoMapper {
+
+    private ReportDtoMapper() {
+    }
+
+    public static ReportDto toDto(Report r) {
+        return ReportDto.builder()
+                .metricId(r.getMetricId())
+                .count(r.getCount())
+                .updatedAt(r.getUpdatedAt())
+                .totalAmountCents(r.getTotalAmountCents())
+                .byStatus(toDto(r.getByStatus()))
+                .byDimension(toDimensionsDto(r.getByDimension()))
+                .build();
+    }
+
+    public static ReportRangeDto toDto(ReportRange r) {
+        return ReportRangeDto.builder()
+                .from(r.getFrom())
+                .to(r.getTo())
+                .granularity(r.getGranularity().name())
+                .count(r.getCount())
+                .totalAmountCents(r.getTotalAmountCents())
+                .points(toPointsDto(r.getPoints()))
+                .bucketsRead(r.getBucketsRead())
+                .build();
+    }
+
+    private static List<ReportPointDto> toPointsDto(List<ReportPoint> points) {
+        var result = new ArrayList<ReportPointDto>(points.size());
+        for (ReportPoint p : points) {
+            result.add(new ReportPointDto(p.getFrom(), p.getTo(), p.getCount(), p.getTotalAmountCents()));
+        }
+        return result;
+    }
+
+    private static Map<String, Map<String, ReportBreakdownDto>> toDimensionsDto(Map<String, Map<String, ReportBreakdown>> byDimension) {
+        if (byDimension == null) {
+            return Map.of();
+        }
+        var result = HashMap.<String, Map<String, ReportBreakdownDto>>newHashMap(byDimension.size());
+        byDimension.forEach((dimension, values) -> result.put(dimension, toDto(values)));
+        return result;
+    }
+
+    private static Map<String, ReportBreakdownDto> toDto(Map<String, ReportBreakdown> breakdowns) {
+        if (breakdowns == null) {
+            return Map.of();
+        }
+        var result = HashMap.<String, ReportBreakdownDto>newHashMap(breakdowns.size());
+        breakdowns.forEach((key, b) -> result.put(key, new ReportBreakdownDto(b.getCount(), b.getTotalAmountCents())));
+        return result;
+    }
+}
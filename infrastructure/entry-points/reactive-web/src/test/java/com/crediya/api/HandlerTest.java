@@ -0,0 +1,158 @@
+package com.crediya.api;
+
+import com.crediya.model.report.Report;
+import com.crediya.usecase.showreportrange.ShowReportRangeUseCase;
+import com.crediya.usecase.showreports.ShowReportsUseCase;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.reactive.function.server.MockServerRequest;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Handler Tests")
+class HandlerTest {
+
+    private static final String UPDATED_AT = "2025-01-15T10:30:45.123Z";
+
+    @Mock
+    private ShowReportsUseCase showReportsUseCase;
+
+    @Mock
+    private ShowReportRangeUseCase showReportRangeUseCase;
+
+    private Handler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new Handler(showReportsUseCase, showReportRangeUseCase,
+                new ReportResponseCache(JsonMapper.builder().findAndAddModules().build()));
+        Report report = new Report("global-report", 10L, UPDATED_AT, new BigDecimal("500.00"));
+        report.setVersion(42L);
+        when(showReportsUseCase.execute()).thenReturn(Mono.just(report));
+    }
+
+    private static MockServerRequest.Builder request() {
+        return MockServerRequest.builder().uri(URI.create("/api/v1/reports"));
+    }
+
+    @Test
+    @DisplayName("Debe responder 200 con ETag y Last-Modified")
+    void shouldReturnValidatorsOnFullResponse() {
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(request().build()))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.OK, response.statusCode());
+                    assertEquals("\"v42\"", response.headers().getETag());
+                    assertEquals(Instant.parse("2025-01-15T10:30:45Z").toEpochMilli(), response.headers().getLastModified());
+                    assertEquals("no-cache", response.headers().getCacheControl());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 cuando If-None-Match coincide con la versión")
+    void shouldReturnNotModifiedWhenEtagMatches() {
+        // Given
+        var req = request().header(HttpHeaders.IF_NONE_MATCH, "\"v41\", W/\"v42\"").build();
+
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(req))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+                    assertEquals("\"v42\"", response.headers().getETag());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 200 cuando la versión cambió aunque If-Modified-Since sea posterior")
+    void shouldPreferIfNoneMatchOverIfModifiedSince() {
+        // Given
+        var req = request()
+                .header(HttpHeaders.IF_NONE_MATCH, "\"v41\"")
+                .header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 15 Jan 2025 11:00:00 GMT")
+                .build();
+
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(req))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 304 cuando no hubo cambios desde If-Modified-Since")
+    void shouldReturnNotModifiedWhenNotModifiedSince() {
+        // Given
+        var req = request().header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 15 Jan 2025 10:30:45 GMT").build();
+
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(req))
+                .assertNext(response -> assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder 200 cuando el reporte cambió después de If-Modified-Since")
+    void shouldReturnOkWhenModifiedSince() {
+        // Given
+        var req = request().header(HttpHeaders.IF_MODIFIED_SINCE, "Wed, 15 Jan 2025 10:30:44 GMT").build();
+
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(req))
+                .assertNext(response -> assertEquals(HttpStatus.OK, response.statusCode()))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe responder gzip solo cuando el cliente lo acepta")
+    void shouldNegotiateGzip() {
+        // Given
+        var gzip = request().header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8").build();
+        var refused = request().header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0").build();
+
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(gzip))
+                .assertNext(response -> {
+                    assertEquals("gzip", response.headers().getFirst(HttpHeaders.CONTENT_ENCODING));
+                    assertEquals(HttpHeaders.ACCEPT_ENCODING, response.headers().getFirst(HttpHeaders.VARY));
+                })
+                .verifyComplete();
+        StepVerifier.create(handler.listenGETUseCase(refused))
+                .assertNext(response -> assertNull(response.headers().getFirst(HttpHeaders.CONTENT_ENCODING)))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Debe usar un ETag distinto por codificación y aceptar cualquiera en If-None-Match")
+    void shouldUseDistinctEtagPerEncoding() {
+        // Given
+        var gzip = request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").build();
+        var revalidate = request().header(HttpHeaders.IF_NONE_MATCH, "\"v42-gzip\"").build();
+
+        // When & Then
+        StepVerifier.create(handler.listenGETUseCase(gzip))
+                .assertNext(response -> assertEquals("\"v42-gzip\"", response.headers().getETag()))
+                .verifyComplete();
+        StepVerifier.create(handler.listenGETUseCase(revalidate))
+                .assertNext(response -> {
+                    assertEquals(HttpStatus.NOT_MODIFIED, response.statusCode());
+                    assertEquals("\"v42\"", response.headers().getETag());
+                })
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,86 @@
+package com.crediya.api;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportResponseCacheTest {
+
+    private static final String PATH = "/api/v1/reports";
+
+    private ReportResponseCache cache;
+    private AtomicInteger builds;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ReportResponseCache(JsonMapper.builder().build());
+        builds = new AtomicInteger();
+    }
+
+    private Object body(long version) {
+        builds.incrementAndGet();
+        return Map.of("version", version);
+    }
+
+    @Test
+    @DisplayName("Debe serializar una sola vez por versión")
+    void shouldReuseBytesForSameVersion() {
+        // When
+        var first = cache.get(1, PATH, () -> body(1));
+        var second = cache.get(1, PATH, () -> body(1));
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+        assertEquals("{\"version\":1}", new String(first.identity()));
+    }
+
+    @Test
+    @DisplayName("Debe volver a serializar cuando cambia la versión")
+    void shouldEncodeAgainOnNewVersion() {
+        // Given
+        cache.get(1, PATH, () -> body(1));
+
+        // When
+        var next = cache.get(2, PATH, () -> body(2));
+
+        // Then
+        assertEquals(2, builds.get());
+        assertEquals("{\"version\":2}", new String(next.identity()));
+    }
+
+    @Test
+    @DisplayName("No debe reemplazar una versión más nueva con una lectura atrasada")
+    void shouldKeepNewestVersion() {
+        // Given
+        cache.get(3, PATH, () -> body(3));
+        cache.get(2, PATH, () -> body(2));
+
+        // When
+        cache.get(3, PATH, () -> body(3));
+
+        // Then
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    @DisplayName("Debe guardar el gzip equivalente al JSON")
+    void shouldCompressSamePayload() throws IOException {
+        // When
+        var encoded = cache.get(1, PATH, () -> body(1));
+
+        // Then
+        try (var in = new GZIPInputStream(new ByteArrayInputStream(encoded.gzip()))) {
+            assertArrayEquals(encoded.identity(), in.readAllBytes());
+        }
+    }
+}
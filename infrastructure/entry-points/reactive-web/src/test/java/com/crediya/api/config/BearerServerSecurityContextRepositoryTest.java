@@ -0,0 +1,88 @@
+package com.crediya.api.config;
+
+import com.crediya.security.JwtReactiveAuthenticationManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BearerServerSecurityContextRepository Tests")
+class BearerServerSecurityContextRepositoryTest {
+
+    @Mock
+    private JwtReactiveAuthenticationManager authManager;
+
+    private BearerServerSecurityContextRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        repository = new BearerServerSecurityContextRepository(authManager);
+    }
+
+    @Test
+    @DisplayName("No debe verificar el token hasta que alguien pida el contexto")
+    void shouldNotVerifyTokenUntilContextIsRequested() {
+        // Given
+        var exchange = exchangeWithBearer("a.b.c");
+
+        // When
+        repository.load(exchange);
+
+        // Then
+        verifyNoInteractions(authManager);
+    }
+
+    @Test
+    @DisplayName("Debe verificar una sola vez aunque el contexto se pida varias veces")
+    void shouldVerifyOnceWhenContextIsRequestedSeveralTimes() {
+        // Given
+        Authentication auth = new UsernamePasswordAuthenticationToken("user123", "a.b.c", List.of());
+        when(authManager.authenticate(any())).thenReturn(Mono.just(auth));
+        Mono<SecurityContext> context = repository.load(exchangeWithBearer("a.b.c"));
+
+        // When & Then
+        StepVerifier.create(context)
+                .expectNextMatches(c -> c.getAuthentication() == auth)
+                .verifyComplete();
+        StepVerifier.create(context)
+                .expectNextMatches(c -> c.getAuthentication() == auth)
+                .verifyComplete();
+        verify(authManager, times(1)).authenticate(any());
+    }
+
+    @Test
+    @DisplayName("Debe devolver vacío sin header Bearer")
+    void shouldReturnEmptyWithoutBearerHeader() {
+        // Given
+        var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/reports")
+                .header(HttpHeaders.AUTHORIZATION, "Basic dXNlcjpwYXNz"));
+
+        // When
+        Mono<SecurityContext> context = repository.load(exchange);
+
+        // Then
+        StepVerifier.create(context).verifyComplete();
+        verifyNoInteractions(authManager);
+    }
+
+    private static MockServerWebExchange exchangeWithBearer(String token) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/reports")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+    }
+}
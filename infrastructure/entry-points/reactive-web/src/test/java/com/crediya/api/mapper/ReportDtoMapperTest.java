@@ -0,0 +1,75 @@
+package com.crediya.api.mapper;
+
+import com.crediya.api.dto.ReportDto;
+import com.crediya.api.dto.ReportRangeDto;
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBreakdown;
+import com.crediya.model.report.ReportGranularity;
+import com.crediya.model.report.ReportPoint;
+import com.crediya.model.report.ReportRange;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ReportDtoMapper Tests")
+class ReportDtoMapperTest {
+
+    @Test
+    @DisplayName("Debe copiar totales y desglose del reporte")
+    void shouldMapReportWithBreakdowns() {
+        // Given
+        var report = new Report("global-report", 3L, "2025-01-01T00:00:00Z", new BigDecimal("150.50"));
+        report.setByStatus(Map.of("APPROVED", new ReportBreakdown(3L, new BigDecimal("150.50"))));
+        report.setByDimension(Map.of("product", Map.of("AUTO", new ReportBreakdown(1L, BigDecimal.TEN))));
+
+        // When
+        ReportDto dto = ReportDtoMapper.toDto(report);
+
+        // Then
+        assertEquals("global-report", dto.getMetricId());
+        assertEquals(3L, dto.getCount());
+        assertEquals("2025-01-01T00:00:00Z", dto.getUpdatedAt());
+        assertEquals(new BigDecimal("150.50"), dto.getTotalAmountCents());
+        assertEquals(3L, dto.getByStatus().get("APPROVED").getCount());
+        assertEquals(BigDecimal.TEN, dto.getByDimension().get("product").get("AUTO").getTotalAmountCents());
+    }
+
+    @Test
+    @DisplayName("Sin desglose debe devolver mapas vacíos")
+    void shouldMapMissingBreakdownsToEmptyMaps() {
+        // When
+        ReportDto dto = ReportDtoMapper.toDto(new Report("global-report", 0L, null, BigDecimal.ZERO));
+
+        // Then
+        assertEquals(Map.of(), dto.getByStatus());
+        assertEquals(Map.of(), dto.getByDimension());
+    }
+
+    @Test
+    @DisplayName("Debe copiar el rango con sus puntos en orden")
+    void shouldMapRange() {
+        // Given
+        Instant from = Instant.parse("2025-01-01T00:00:00Z");
+        Instant to = Instant.parse("2025-01-01T02:00:00Z");
+        var points = List.of(
+                new ReportPoint(from, from.plusSeconds(3600), 1L, BigDecimal.ONE),
+                new ReportPoint(from.plusSeconds(3600), to, 2L, BigDecimal.TEN));
+        var range = new ReportRange(from, to, ReportGranularity.HOUR, 3L, new BigDecimal("11"), points, 2);
+
+        // When
+        ReportRangeDto dto = ReportDtoMapper.toDto(range);
+
+        // Then
+        assertEquals("HOUR", dto.getGranularity());
+        assertEquals(3L, dto.getCount());
+        assertEquals(2, dto.getPoints().size());
+        assertEquals(BigDecimal.TEN, dto.getPoints().get(1).getTotalAmountCents());
+        assertEquals(2, dto.getBucketsRead());
+    }
+}
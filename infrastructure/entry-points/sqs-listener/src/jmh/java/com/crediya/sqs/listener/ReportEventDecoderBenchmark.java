@@ -0,0 +1,62 @@
+package com.crediya.sqs.listener;
+
+import com.crediya.model.report.ReportEvent;
+import com.crediya.sqs.listener.config.SQSProperties;
+import com.crediya.sqs.listener.dto.GenerateReportEventDto;
+import com.crediya.sqs.listener.helper.ReportEventDecoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decode de un evento: DTO con Jackson databind + BigDecimal (camino anterior) contra el parser de
+ * streaming a centavos. El profiler gc del build da {@code gc.alloc.rate.norm} (bytes por mensaje).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ReportEventDecoderBenchmark {
+
+    private static final String BODY = """
+            {"applicationId":"b7f9c2e4-1a2b-4c3d-9e8f-0a1b2c3d4e5f","status":"APPROVED","approvedAmount":50056.00,\
+            "product":"LIBRE_INVERSION","channel":"WEB","email":"cliente@crediya.com","termMonths":36,\
+            "metadata":{"source":"solicitudes","retries":0}}""";
+
+    private ObjectMapper objectMapper;
+    private SQSProperties properties;
+    private ReportEventDecoder decoder;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        properties = new SQSProperties("us-east-1", null, "queue", 20, 10, 10, 1, List.of("product", "channel"));
+        decoder = new ReportEventDecoder(objectMapper, properties);
+    }
+
+    @Benchmark
+    public ReportEvent databindDto() throws Exception {
+        var evt = objectMapper.readValue(BODY, GenerateReportEventDto.class);
+        var dimensions = new HashMap<String, String>();
+        for (String name : properties.dimensions()) {
+            Object value = evt.getAttributes().get(name);
+            if (value != null) {
+                dimensions.put(name, value.toString());
+            }
+        }
+        return new ReportEvent(evt.getStatus(), evt.getApprovedAmount(), dimensions);
+    }
+
+    @Benchmark
+    public ReportEvent streamingDecoder() throws Exception {
+        return decoder.decode(BODY);
+    }
+}
@@ -0,0 +1,137 @@
+package com.crediya.sqs.listener;
+
+import com.crediya.model.report.Report;
+import com.crediya.model.report.ReportBucket;
+import com.crediya.model.report.ReportEvent;
+import com.crediya.model.report.gateways.ReportRepository;
+import com.crediya.sqs.listener.config.SQSExecutionProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import com.crediya.sqs.listener.helper.ReportEventDecoder;
+import com.crediya.sqs.listener.helper.SQSExecution;
+import com.crediya.usecase.generatereport.GenerateReportUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un segundo de tráfico ({@code rate} mensajes en lotes de 10) por invocación, cada lote manejado
+ * en el scheduler del modo como lo hace el listener, con una escritura a DynamoDB simulada de 5 ms. Un throughput >= 1 ops/s significa que el modo sostiene ese ritmo.
+ * Hilos de plataforma vivos en {@code platformThreads}; la memoria sale del profiler gc
+ * ({@code gc.alloc.rate.norm}) configurado en el build.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SQSExecutionBenchmark {
+
+    private static final int BATCH = 10;
+    private static final int IN_FLIGHT_BATCHES = 64;
+    private static final Duration WRITE_LATENCY = Duration.ofMillis(5);
+
+    @Param({"FIXED", "VIRTUAL", "BOUNDED"})
+    public SQSExecutionProperties.Mode mode;
+
+    @Param({"1000", "10000"})
+    public int rate;
+
+    private SQSExecution execution;
+    private SQSProcessor processor;
+    private List<List<Message>> second;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Threads {
+        public long platformThreads;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        var properties = new SQSProperties("us-east-1", null, "queue", 20, 10, BATCH, 4, List.of("product"));
+        execution = new SQSExecution(new SQSExecutionProperties(mode, 0, 0), properties);
+        processor = new SQSProcessor(new ReportEventDecoder(new ObjectMapper(), properties),
+                new GenerateReportUseCase(new SlowRepository()), execution);
+
+        second = new ArrayList<>(rate / BATCH);
+        for (int b = 0; b < rate / BATCH; b++) {
+            var batch = new ArrayList<Message>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                batch.add(Message.builder()
+                        .messageId(b + "-" + i)
+                        .body("{\"status\":\"APPROVED\",\"approvedAmount\":1500.25,\"product\":\"LIBRE_INVERSION\"}")
+                        .build());
+            }
+            second.add(batch);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        execution.close();
+    }
+
+    @Benchmark
+    public long oneSecondOfTraffic(Threads threads) {
+        Long processed = Flux.fromIterable(second)
+                // Como SQSListener.listenWithinLimit: cada lote se suscribe en el scheduler del modo
+                .flatMap(batch -> Mono.defer(() -> processor.apply(batch)).subscribeOn(execution.scheduler()), IN_FLIGHT_BATCHES)
+                .map(result -> (long) result.processed().size())
+                .reduce(0L, Long::sum)
+                .block();
+        threads.platformThreads = ManagementFactory.getThreadMXBean().getThreadCount();
+        return processed == null ? 0 : processed;
+    }
+
+    /** Repositorio que solo simula la latencia de la escritura agregada */
+    private static final class SlowRepository implements ReportRepository {
+        @Override
+        public Mono<Void> updateReport(BigDecimal approvedAmountCents) {
+            return Mono.delay(WRITE_LATENCY).then();
+        }
+
+        @Override
+        public Mono<Void> recordEvent(ReportEvent event) {
+            return Mono.delay(WRITE_LATENCY).then();
+        }
+
+        @Override
+        public Mono<Void> recordEvents(List<ReportEvent> events) {
+            return Mono.delay(WRITE_LATENCY).then();
+        }
+
+        @Override
+        public Mono<Report> get() {
+            return Mono.empty();
+        }
+
+        @Override
+        public Flux<Report> updates() {
+            return Flux.empty();
+        }
+
+        @Override
+        public Mono<Map<ReportBucket, Report>> getBuckets(Collection<ReportBucket> buckets) {
+            return Mono.just(Map.of());
+        }
+    }
+}
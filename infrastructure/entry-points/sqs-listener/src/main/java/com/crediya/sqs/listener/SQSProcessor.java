@@ -1,36 +1,68 @@
 package com.crediya.sqs.listener;
 
 
-import com.crediya.model.report.Report;
-import com.crediya.sqs.listener.dto.GenerateReportEventDto;
+import com.crediya.model.report.ReportEvent;
+import com.crediya.sqs.listener.helper.BatchResult;
+import com.crediya.sqs.listener.helper.ReportEventDecoder;
+import com.crediya.sqs.listener.helper.SQSExecution;
 import com.crediya.usecase.generatereport.GenerateReportUseCase;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 import software.amazon.awssdk.services.sqs.model.Message;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-public class SQSProcessor implements Function<Message, Mono<Void>> {
-    private final ObjectMapper objectMapper;
+public class SQSProcessor implements Function<List<Message>, Mono<BatchResult>> {
+    private final ReportEventDecoder decoder;
     private final GenerateReportUseCase saveReport;
+    private final SQSExecution execution;
 
+    /**
+     * Todo el receive se aplica como una sola actualización del reporte. Un mensaje que no se puede
+     * leer queda fuera del lote y sin confirmar; si la actualización falla, no se confirma ninguno.
+     * El decode y la escritura se suscriben en el scheduler de {@link SQSExecution}, nunca en los
+     * hilos del SDK o del timer que completan el receive.
+     * Un evento sin {@code eventId} se identifica con el messageId: cubre las redeliveries de SQS.
+     */
     @Override
-    public Mono<Void> apply(Message message) {
-        return Mono.fromCallable(() -> objectMapper.readValue(message.body(), GenerateReportEventDto.class))
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(evt -> {
-                    log.info("SQS[{}] payload -> status={}, approvedAmount={}", message.messageId(), evt.getStatus(), evt.getApprovedAmount());
-                    return saveReport.execute(evt.getApprovedAmount());
-                })
-                .doOnSuccess(v -> log.info(" SQS[{}] Report guardado", message.messageId()))
-                .doOnError(e -> log.error(" SQS[{}] Error procesando: {}", message.messageId(), e.getMessage(), e))
-                .then(); // Mono<Void>
+    public Mono<BatchResult> apply(List<Message> messages) {
+        return Mono.fromCallable(() -> decode(messages))
+                .subscribeOn(execution.scheduler())
+                .flatMap(batch -> saveReport.executeAll(batch.events())
+                        .doOnSuccess(v -> log.info(" SQS lote de {} mensajes guardado", batch.events().size()))
+                        .thenReturn(new BatchResult(batch.messages(), batch.unreadable()))
+                        .onErrorResume(e -> {
+                            log.error(" SQS Error guardando lote de {} mensajes: {}", batch.messages().size(), e.getMessage(), e);
+                            return Mono.just(BatchResult.failed(messages, e));
+                        }));
+    }
+
+    private Decoded decode(List<Message> messages) {
+        var decoded = new Decoded(new ArrayList<>(messages.size()), new ArrayList<>(messages.size()), new ArrayList<>());
+        for (Message message : messages) {
+            try {
+                var event = decoder.decode(message.body());
+                if (event.id() == null) {
+                    event = event.withId(message.messageId());
+                }
+                log.debug("SQS[{}] payload -> status={}, approvedAmount={}", message.messageId(), event.status(), event.approvedAmount());
+                decoded.messages().add(message);
+                decoded.events().add(event);
+            } catch (Exception e) {
+                log.error(" SQS[{}] Error procesando: {}", message.messageId(), e.getMessage(), e);
+                decoded.unreadable().add(message);
+            }
+        }
+        return decoded;
+    }
+
+    private record Decoded(List<Message> messages, List<ReportEvent> events, List<Message> unreadable) {
     }
 }
@@ -0,0 +1,21 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Consulta periódica de GetQueueAttributes para publicar el backlog de la cola como gauges
+ * (para escalar por backlog y no por CPU). Cada {@code interval} se hace una llamada.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.backlog")
+public record SQSBacklogProperties(boolean enabled, Duration interval) {
+
+    public SQSBacklogProperties {
+        if (interval == null || interval.isNegative() || interval.isZero()) interval = Duration.ofSeconds(15);
+    }
+
+    public static SQSBacklogProperties disabled() {
+        return new SQSBacklogProperties(false, null);
+    }
+}
@@ -0,0 +1,35 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Límite adaptativo (AIMD) de lotes en vuelo del listener. Arranca en {@code initial}, sube de a uno
+ * por cada {@code window} lotes con p99 dentro de {@code targetLatency} y se multiplica por
+ * {@code backoffRatio} ante throttling o p99 alto, a lo sumo una vez por {@code cooldown}.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.concurrency")
+public record SQSConcurrencyProperties(
+        int min,
+        int max,
+        int initial,
+        Duration targetLatency,
+        double backoffRatio,
+        int window,
+        Duration cooldown) {
+
+    public SQSConcurrencyProperties {
+        if (min < 1) min = 1;
+        if (max < min) max = Math.max(min, 16);
+        if (initial < min || initial > max) initial = min;
+        if (targetLatency == null || targetLatency.isNegative() || targetLatency.isZero()) targetLatency = Duration.ofMillis(250);
+        if (backoffRatio <= 0 || backoffRatio >= 1) backoffRatio = 0.5;
+        if (window < 1) window = 20;
+        if (cooldown == null || cooldown.isNegative()) cooldown = Duration.ofSeconds(1);
+    }
+
+    public static SQSConcurrencyProperties defaults() {
+        return new SQSConcurrencyProperties(0, 0, 0, null, 0, 0, null);
+    }
+}
@@ -1,6 +1,16 @@
 package com.crediya.sqs.listener.config;
 
+import com.crediya.sqs.listener.helper.AdaptiveConcurrencyLimiter;
+import com.crediya.sqs.listener.helper.BatchResult;
+import com.crediya.sqs.listener.helper.DimensionValues;
+import com.crediya.sqs.listener.helper.EventLatency;
+import com.crediya.sqs.listener.helper.MessageFilter;
+import com.crediya.sqs.listener.helper.QueueBacklogPoller;
+import com.crediya.sqs.listener.helper.ReceiveBuffer;
+import com.crediya.sqs.listener.helper.SQSExecution;
 import com.crediya.sqs.listener.helper.SQSListener;
+import com.crediya.sqs.listener.helper.VisibilityHeartbeat;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import reactor.core.publisher.Mono;
@@ -17,21 +27,75 @@ import software.amazon.awssdk.services.sqs.SqsAsyncClient;
 import software.amazon.awssdk.services.sqs.model.Message;
 
 import java.net.URI;
+import java.util.List;
 import java.util.function.Function;
 
 @Configuration
 public class SQSConfig {
 
     @Bean
-    public SQSListener sqsListener(SqsAsyncClient client, SQSProperties properties, Function<Message, Mono<Void>> fn) {
+    public SQSListener sqsListener(SqsAsyncClient client, SQSProperties properties, Function<List<Message>, Mono<BatchResult>> fn,
+                                   AdaptiveConcurrencyLimiter limiter, ReceiveBuffer buffer, VisibilityHeartbeat heartbeat,
+                                   SQSExecution execution, MessageFilter filter, EventLatency latency) {
         return SQSListener.builder()
                 .client(client)
                 .properties(properties)
                 .processor(fn)
+                .limiter(limiter)
+                .buffer(buffer)
+                .heartbeat(heartbeat)
+                .execution(execution)
+                .filter(filter)
+                .latency(latency)
                 .build()
                 .start();
     }
 
+    @Bean
+    public AdaptiveConcurrencyLimiter sqsConcurrencyLimiter(SQSConcurrencyProperties properties, MeterRegistry registry) {
+        return new AdaptiveConcurrencyLimiter(properties, registry);
+    }
+
+    @Bean
+    public ReceiveBuffer sqsReceiveBuffer(SQSPrefetchProperties prefetch, SQSProperties properties, MeterRegistry registry) {
+        return new ReceiveBuffer(prefetch, properties, registry);
+    }
+
+    @Bean
+    public MessageFilter sqsMessageFilter(SQSFilterProperties filter, MeterRegistry registry) {
+        return new MessageFilter(filter, registry);
+    }
+
+    @Bean
+    public DimensionValues sqsDimensionValues(SQSDimensionProperties dimensions, MeterRegistry registry) {
+        return new DimensionValues(dimensions, registry);
+    }
+
+    @Bean
+    public EventLatency sqsEventLatency(MeterRegistry registry) {
+        return new EventLatency(registry);
+    }
+
+    @Bean(destroyMethod = "close")
+    public QueueBacklogPoller sqsQueueBacklogPoller(SqsAsyncClient client, SQSProperties properties,
+                                                    SQSBacklogProperties backlog, EventLatency latency,
+                                                    MeterRegistry registry) {
+        var poller = new QueueBacklogPoller(client, properties, backlog, latency, registry);
+        poller.start();
+        return poller;
+    }
+
+    @Bean(destroyMethod = "close")
+    public SQSExecution sqsExecution(SQSExecutionProperties execution, SQSProperties properties) {
+        return new SQSExecution(execution, properties);
+    }
+
+    @Bean(destroyMethod = "close")
+    public VisibilityHeartbeat sqsVisibilityHeartbeat(SqsAsyncClient client, SQSProperties properties,
+                                                      SQSHeartbeatProperties heartbeat, MeterRegistry registry) {
+        return new VisibilityHeartbeat(client, properties, heartbeat, registry);
+    }
+
     @Bean
     public SqsAsyncClient configSqs(SQSProperties properties, MetricPublisher publisher) {
         return SqsAsyncClient.builder()
@@ -0,0 +1,27 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Valores admitidos por dimensión. Cada valor distinto es un contador en el ítem del reporte, que
+ * no puede pasar de 400 KB: con {@code allowed} una dimensión solo acepta los valores listados; sin
+ * lista se admiten los primeros {@code maxPerDimension} valores vistos por esta instancia. Lo demás
+ * se cuenta como {@code OTHER}.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.dimension-values")
+public record SQSDimensionProperties(
+        int maxPerDimension,
+        Map<String, List<String>> allowed) {
+
+    public SQSDimensionProperties {
+        if (maxPerDimension < 1) maxPerDimension = 50;
+        allowed = allowed == null ? Map.of() : Map.copyOf(allowed);
+    }
+
+    public static SQSDimensionProperties defaults() {
+        return new SQSDimensionProperties(0, null);
+    }
+}
@@ -0,0 +1,31 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Dónde corre el manejo de mensajes (parseo y armado del lote):
+ * <ul>
+ *   <li>{@code FIXED}: pool fijo de {@code numberOfThreads} hilos de plataforma (modelo anterior).</li>
+ *   <li>{@code VIRTUAL}: un hilo virtual por tarea (Java 21).</li>
+ *   <li>{@code BOUNDED}: scheduler bounded-elastic propio con {@code threads} hilos y hasta
+ *   {@code queuedTasks} tareas en espera.</li>
+ * </ul>
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.execution")
+public record SQSExecutionProperties(
+        Mode mode,
+        int threads,
+        int queuedTasks) {
+
+    public enum Mode { FIXED, VIRTUAL, BOUNDED }
+
+    public SQSExecutionProperties {
+        if (mode == null) mode = Mode.FIXED;
+        if (threads < 1) threads = Runtime.getRuntime().availableProcessors() * 2;
+        if (queuedTasks < 1) queuedTasks = 10_000;
+    }
+
+    public static SQSExecutionProperties defaults() {
+        return new SQSExecutionProperties(null, 0, 0);
+    }
+}
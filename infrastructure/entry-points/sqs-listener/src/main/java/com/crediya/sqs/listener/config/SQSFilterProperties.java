@@ -0,0 +1,27 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Filtro por message attribute antes de parsear. Con {@code statuses} vacío pasa todo; si no, los
+ * mensajes cuyo {@code attribute} no está en la lista se confirman sin leer el cuerpo. Los que no
+ * traen el atributo pasan solo con {@code acceptMissing}.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.filter")
+public record SQSFilterProperties(
+        String attribute,
+        List<String> statuses,
+        Boolean acceptMissing) {
+
+    public SQSFilterProperties {
+        if (attribute == null || attribute.isBlank()) attribute = "status";
+        statuses = statuses == null ? List.of() : List.copyOf(statuses);
+        if (acceptMissing == null) acceptMissing = true;
+    }
+
+    public static SQSFilterProperties defaults() {
+        return new SQSFilterProperties(null, null, null);
+    }
+}
@@ -0,0 +1,30 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Extensión de visibilidad de los mensajes en proceso. Cada {@code interval} se extienden en
+ * {@code extension} los que vencen dentro de {@code leadTime}, hasta {@code maxExtension} en total
+ * para que un mensaje trabado vuelva a la cola en algún momento.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.heartbeat")
+public record SQSHeartbeatProperties(
+        boolean enabled,
+        Duration interval,
+        Duration leadTime,
+        Duration extension,
+        Duration maxExtension) {
+
+    public SQSHeartbeatProperties {
+        if (interval == null || interval.isNegative() || interval.isZero()) interval = Duration.ofSeconds(1);
+        if (leadTime == null || leadTime.isNegative()) leadTime = Duration.ofSeconds(3);
+        if (extension == null || extension.toSeconds() < 1) extension = Duration.ofSeconds(10);
+        if (maxExtension == null || maxExtension.isNegative()) maxExtension = Duration.ofMinutes(5);
+    }
+
+    public static SQSHeartbeatProperties disabled() {
+        return new SQSHeartbeatProperties(false, null, null, null, null);
+    }
+}
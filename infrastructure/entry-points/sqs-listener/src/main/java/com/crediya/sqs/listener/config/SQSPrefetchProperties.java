@@ -0,0 +1,27 @@
+package com.crediya.sqs.listener.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Receive por adelantado: {@code receivers} long-polls simultáneos llenan un buffer de hasta
+ * {@code capacity} mensajes. Un lote al que le queda menos de {@code visibilityMargin} de visibilidad
+ * no se procesa: se deja volver a la cola.
+ */
+@ConfigurationProperties(prefix = "entrypoint.sqs.prefetch")
+public record SQSPrefetchProperties(
+        int receivers,
+        int capacity,
+        Duration visibilityMargin) {
+
+    public SQSPrefetchProperties {
+        if (receivers < 1) receivers = 2;
+        if (capacity < 1) capacity = 100;
+        if (visibilityMargin == null || visibilityMargin.isNegative()) visibilityMargin = Duration.ofSeconds(2);
+    }
+
+    public static SQSPrefetchProperties defaults() {
+        return new SQSPrefetchProperties(0, 0, null);
+    }
+}
@@ -2,6 +2,8 @@ package com.crediya.sqs.listener.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.List;
+
 @ConfigurationProperties(prefix = "entrypoint.sqs")
 public record SQSProperties(
         String region,
@@ -10,5 +12,11 @@ public record SQSProperties(
         int waitTimeSeconds,
         int visibilityTimeoutSeconds,
         int maxNumberOfMessages,
-        int numberOfThreads) {
+        int numberOfThreads,
+        /* Campos del evento que se cuentan como dimensión del reporte (ej. product, channel) */
+        List<String> dimensions) {
+
+    public SQSProperties {
+        dimensions = dimensions == null ? List.of() : List.copyOf(dimensions);
+    }
 }
@@ -1,11 +1,14 @@
 package com.crediya.sqs.listener.dto;
 
+import com.fasterxml.jackson.annotation.JsonAnySetter;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
 @Getter
 @Setter
 @AllArgsConstructor
@@ -13,4 +16,11 @@ import java.math.BigDecimal;
 public class GenerateReportEventDto {
     private String status;             // "APPROVED", "REJECTED", etc.
     private BigDecimal approvedAmount; // 50056.00
+    /** Resto de campos del evento; de aquí salen las dimensiones configuradas */
+    private Map<String, Object> attributes = new HashMap<>();
+
+    @JsonAnySetter
+    public void setAttribute(String name, Object value) {
+        attributes.put(name, value);
+    }
 }
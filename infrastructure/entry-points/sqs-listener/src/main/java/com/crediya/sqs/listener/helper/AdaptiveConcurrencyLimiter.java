@@ -0,0 +1,167 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSConcurrencyProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Límite AIMD de lotes en vuelo: +1 cuando una ventana de lotes termina con p99 dentro del objetivo,
+ * ×{@code backoffRatio} cuando hay throttling o el p99 se pasa. Tras una baja se ignoran las demás
+ * señales durante el cooldown, para que una ráfaga de lotes throttleados no lleve el límite al mínimo.
+ * <p>
+ * Quien no consigue lugar espera {@link #available()}, que se completa cuando se libera un lugar o
+ * sube el límite: no hay reintentos por timer ni rechazos contados sin un lote esperando.
+ */
+@Log4j2
+public class AdaptiveConcurrencyLimiter {
+
+    private final int min;
+    private final int max;
+    private final double backoffRatio;
+    private final long targetNanos;
+    private final long cooldownNanos;
+    private final long[] samples;
+    private final LongSupplier clock;
+    /** Se reemplaza y se completa en cada release o subida del límite */
+    private final AtomicReference<Sinks.Empty<Void>> freed = new AtomicReference<>(Sinks.empty());
+
+    private final Counter rejected;
+    private final Counter throttleDecreases;
+    private final Counter latencyDecreases;
+
+    private int limit;
+    private int inFlight;
+    private int sampled;
+    private long lastDecrease;
+
+    public AdaptiveConcurrencyLimiter(SQSConcurrencyProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(SQSConcurrencyProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.min = properties.min();
+        this.max = properties.max();
+        this.backoffRatio = properties.backoffRatio();
+        this.targetNanos = properties.targetLatency().toNanos();
+        this.cooldownNanos = properties.cooldown().toNanos();
+        this.samples = new long[properties.window()];
+        this.clock = clock;
+        this.limit = properties.initial();
+        this.lastDecrease = clock.getAsLong() - cooldownNanos;
+
+        Gauge.builder("sqs.listener.concurrency.limit", this, AdaptiveConcurrencyLimiter::limit).register(registry);
+        Gauge.builder("sqs.listener.concurrency.in_flight", this, AdaptiveConcurrencyLimiter::inFlight).register(registry);
+        this.rejected = Counter.builder("sqs.listener.concurrency.rejected").register(registry);
+        this.throttleDecreases = Counter.builder("sqs.listener.concurrency.decreases").tag("reason", "throttle").register(registry);
+        this.latencyDecreases = Counter.builder("sqs.listener.concurrency.decreases").tag("reason", "latency").register(registry);
+    }
+
+    /** Máximo de lotes que el límite puede llegar a permitir */
+    public int maxLimit() {
+        return max;
+    }
+
+    public synchronized int limit() {
+        return limit;
+    }
+
+    public synchronized int inFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Toma un lugar si hay. Se llama con un lote esperando: cada rechazo es un lote que el límite
+     * demora. Un rechazo no bloquea; quien llama espera {@link #available()}.
+     */
+    public synchronized boolean tryAcquire() {
+        if (inFlight >= limit) {
+            rejected.increment();
+            return false;
+        }
+        inFlight++;
+        return true;
+    }
+
+    public void release() {
+        synchronized (this) {
+            if (inFlight > 0) {
+                inFlight--;
+            }
+        }
+        signal();
+    }
+
+    /** Completa en cuanto haya lugar; si ya hay, de inmediato */
+    public Mono<Void> available() {
+        // Primero la señal y después el chequeo: un release en el medio completa esta misma señal
+        Sinks.Empty<Void> signal = freed.get();
+        synchronized (this) {
+            if (inFlight < limit) {
+                return Mono.empty();
+            }
+        }
+        return signal.asMono();
+    }
+
+    /** Latencia de un lote procesado sin throttling */
+    public void onLatency(long nanos) {
+        if (sample(nanos)) {
+            signal();
+        }
+    }
+
+    /** true si la ventana cerró y el límite subió */
+    private synchronized boolean sample(long nanos) {
+        samples[sampled++] = nanos;
+        if (sampled < samples.length) {
+            return false;
+        }
+        sampled = 0;
+        long p99 = percentile99();
+        if (p99 > targetNanos) {
+            decrease(latencyDecreases, "p99 " + p99 / 1_000_000 + "ms");
+        } else if (limit < max) {
+            limit++;
+            return true;
+        }
+        return false;
+    }
+
+    /** Se completa fuera del monitor: los que esperan reintentan tryAcquire en este mismo hilo */
+    private void signal() {
+        freed.getAndSet(Sinks.empty()).tryEmitEmpty();
+    }
+
+    /** DynamoDB u otro servicio aguas abajo pidió bajar el ritmo */
+    public synchronized void onThrottle() {
+        decrease(throttleDecreases, "throttling");
+    }
+
+    private void decrease(Counter counter, String reason) {
+        long now = clock.getAsLong();
+        if (now - lastDecrease < cooldownNanos) {
+            return;
+        }
+        lastDecrease = now;
+        int previous = limit;
+        limit = Math.max(min, (int) (limit * backoffRatio));
+        // La ventana en curso se midió con el límite anterior
+        sampled = 0;
+        counter.increment();
+        log.warn("SQS concurrency limit {} -> {} ({})", previous, limit, reason);
+    }
+
+    private long percentile99() {
+        long[] sorted = Arrays.copyOf(samples, samples.length);
+        Arrays.sort(sorted);
+        return sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+    }
+}
@@ -0,0 +1,34 @@
+package com.crediya.sqs.listener.helper;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+
+/**
+ * Resultado de procesar un receive: solo {@code processed} se borra de la cola; {@code failed}
+ * vuelve a quedar visible al vencer el visibility timeout. {@code error}, si lo hay, es la causa
+ * del fallo y le dice al listener si debe bajar la concurrencia.
+ */
+public record BatchResult(List<Message> processed, List<Message> failed, Throwable error) {
+
+    public BatchResult {
+        processed = List.copyOf(processed);
+        failed = List.copyOf(failed);
+    }
+
+    public BatchResult(List<Message> processed, List<Message> failed) {
+        this(processed, failed, null);
+    }
+
+    public static BatchResult processed(List<Message> messages) {
+        return new BatchResult(messages, List.of());
+    }
+
+    public static BatchResult failed(List<Message> messages) {
+        return new BatchResult(List.of(), messages);
+    }
+
+    public static BatchResult failed(List<Message> messages, Throwable error) {
+        return new BatchResult(List.of(), messages, error);
+    }
+}
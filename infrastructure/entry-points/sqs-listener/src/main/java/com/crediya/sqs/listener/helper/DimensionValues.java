@@ -0,0 +1,60 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSDimensionProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Acota los valores distintos de cada dimensión antes de que lleguen al reporte: el valor que no
+ * está en la lista permitida, o que llega cuando la dimensión ya tiene su tope, se agrupa en
+ * {@link #OTHER}. Los valores ya admitidos se resuelven sin bloquear.
+ */
+public class DimensionValues {
+
+    public static final String OTHER = "OTHER";
+
+    private final int maxPerDimension;
+    private final Map<String, Set<String>> allowed;
+    private final Map<String, Set<String>> seen = new ConcurrentHashMap<>();
+    private final MeterRegistry registry;
+
+    public DimensionValues(SQSDimensionProperties properties, MeterRegistry registry) {
+        this.maxPerDimension = properties.maxPerDimension();
+        this.allowed = properties.allowed().entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> Set.copyOf(e.getValue())));
+        this.registry = registry;
+    }
+
+    /** El valor sin espacios si se admite; si no, {@link #OTHER}. Un valor en blanco se deja pasar: el evento lo descarta */
+    public String admit(String dimension, String raw) {
+        String value = raw.trim();
+        if (value.isEmpty()) {
+            return value;
+        }
+        Set<String> permitted = allowed.get(dimension);
+        if (permitted != null) {
+            return permitted.contains(value) ? value : fold(dimension);
+        }
+        Set<String> known = seen.computeIfAbsent(dimension, k -> ConcurrentHashMap.newKeySet());
+        if (known.contains(value)) {
+            return value;
+        }
+        synchronized (known) {
+            if (known.contains(value) || known.size() < maxPerDimension) {
+                known.add(value);
+                return value;
+            }
+        }
+        return fold(dimension);
+    }
+
+    private String fold(String dimension) {
+        Counter.builder("sqs.listener.dimension.folded").tag("dimension", dimension).register(registry).increment();
+        return OTHER;
+    }
+}
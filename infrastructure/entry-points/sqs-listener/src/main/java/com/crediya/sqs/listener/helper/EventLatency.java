@@ -0,0 +1,117 @@
+package com.crediya.sqs.listener.helper;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Antigüedad de los eventos a partir del {@code SentTimestamp} de SQS (epoch millis, reloj de pared):
+ * <ul>
+ *     <li>{@code sqs.event.dwell}: desde el envío hasta que el receive lo trae.</li>
+ *     <li>{@code sqs.event.processing}: desde que el listener toma el lote hasta que el reporte quedó escrito.</li>
+ *     <li>{@code sqs.event.latency}: desde el envío hasta que el evento es visible en el reporte.</li>
+ *     <li>{@code sqs.event.receive.count}: {@code ApproximateReceiveCount}, 1 si no hubo reentregas.</li>
+ * </ul>
+ * Los tiempos contra SentTimestamp comparan relojes de máquinas distintas; una diferencia negativa
+ * por desfase se registra como cero.
+ */
+public class EventLatency {
+
+    static final long NONE = Long.MAX_VALUE;
+
+    private final LongSupplier wallClock;
+    private final Timer dwell;
+    private final Timer processing;
+    private final Timer latency;
+    private final DistributionSummary receiveCount;
+    /** SentTimestamp más viejo recibido desde la última lectura del poller de backlog */
+    private final AtomicLong oldestSent = new AtomicLong(NONE);
+
+    public EventLatency(MeterRegistry registry) {
+        this(registry, System::currentTimeMillis);
+    }
+
+    EventLatency(MeterRegistry registry, LongSupplier wallClock) {
+        this.wallClock = wallClock;
+        this.dwell = Timer.builder("sqs.event.dwell")
+                .description("Tiempo del evento en la cola hasta ser recibido")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.processing = Timer.builder("sqs.event.processing")
+                .description("Proceso de un lote, de tomarlo del buffer a tenerlo escrito en el reporte")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.latency = Timer.builder("sqs.event.latency")
+                .description("Desde el envío del evento hasta que es visible en el reporte")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.receiveCount = DistributionSummary.builder("sqs.event.receive.count")
+                .description("Entregas de cada mensaje (ApproximateReceiveCount)")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /** Al llegar un receive */
+    public void received(List<Message> messages) {
+        long now = wallClock.getAsLong();
+        long oldest = NONE;
+        for (Message message : messages) {
+            long sent = sentTimestamp(message);
+            if (sent != NONE) {
+                dwell.record(Math.max(0, now - sent), TimeUnit.MILLISECONDS);
+                oldest = Math.min(oldest, sent);
+            }
+            long count = attribute(message, MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+            if (count != NONE) {
+                receiveCount.record(count);
+            }
+        }
+        if (oldest != NONE) {
+            oldestSent.accumulateAndGet(oldest, Math::min);
+        }
+    }
+
+    /** Lote escrito en el reporte: cierra el tiempo de proceso y la latencia de punta a punta */
+    public void processed(List<Message> messages, long processingStartNanos, long nowNanos) {
+        processing.record(nowNanos - processingStartNanos, TimeUnit.NANOSECONDS);
+        long now = wallClock.getAsLong();
+        for (Message message : messages) {
+            long sent = sentTimestamp(message);
+            if (sent != NONE) {
+                latency.record(Math.max(0, now - sent), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /** Devuelve y olvida el SentTimestamp más viejo visto; {@link #NONE} si no llegó nada */
+    long takeOldestSent() {
+        return oldestSent.getAndSet(NONE);
+    }
+
+    long now() {
+        return wallClock.getAsLong();
+    }
+
+    private static long sentTimestamp(Message message) {
+        return attribute(message, MessageSystemAttributeName.SENT_TIMESTAMP);
+    }
+
+    private static long attribute(Message message, MessageSystemAttributeName name) {
+        String value = message.attributes().get(name);
+        if (value == null) {
+            return NONE;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return NONE;
+        }
+    }
+}
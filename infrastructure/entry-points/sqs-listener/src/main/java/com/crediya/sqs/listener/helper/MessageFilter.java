@@ -0,0 +1,68 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSFilterProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Separa un receive según el status que viene como message attribute: lo que no está suscrito
+ * se confirma sin deserializar el cuerpo ni escribir en DynamoDB.
+ */
+public class MessageFilter {
+
+    private final String attribute;
+    private final Set<String> statuses;
+    private final boolean acceptMissing;
+    private final Counter accepted;
+    private final Counter dropped;
+
+    public MessageFilter(SQSFilterProperties properties, MeterRegistry registry) {
+        this.attribute = properties.attribute();
+        this.statuses = properties.statuses().stream()
+                .map(s -> s.trim().toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.acceptMissing = properties.acceptMissing();
+        this.accepted = Counter.builder("sqs.listener.filter").tag("result", "accepted").register(registry);
+        this.dropped = Counter.builder("sqs.listener.filter").tag("result", "dropped").register(registry);
+    }
+
+    /** Atributo que hay que pedir en el receive */
+    public String attribute() {
+        return attribute;
+    }
+
+    public Split split(List<Message> messages) {
+        if (statuses.isEmpty()) {
+            accepted.increment(messages.size());
+            return new Split(messages, List.of());
+        }
+        var keep = new ArrayList<Message>(messages.size());
+        var drop = new ArrayList<Message>();
+        for (Message message : messages) {
+            (subscribed(message) ? keep : drop).add(message);
+        }
+        accepted.increment(keep.size());
+        dropped.increment(drop.size());
+        return new Split(keep, drop);
+    }
+
+    private boolean subscribed(Message message) {
+        MessageAttributeValue value = message.hasMessageAttributes() ? message.messageAttributes().get(attribute) : null;
+        if (value == null || value.stringValue() == null) {
+            return acceptMissing;
+        }
+        return statuses.contains(value.stringValue().trim().toUpperCase(Locale.ROOT));
+    }
+
+    /** {@code accepted} va al processor; {@code dropped} se confirma directo */
+    public record Split(List<Message> accepted, List<Message> dropped) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSBacklogProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publica el backlog de la cola cada {@code interval} con una llamada a GetQueueAttributes:
+ * {@code sqs.queue.messages} (visibles), {@code sqs.queue.messages.in_flight} (recibidos sin
+ * borrar) y {@code sqs.queue.oldest.age} en segundos.
+ * <p>
+ * GetQueueAttributes no informa la edad del mensaje más viejo (eso solo está en CloudWatch); se
+ * estima con el SentTimestamp más viejo recibido en el intervalo. Si no llegó nada y sigue habiendo
+ * backlog, la edad anterior sigue creciendo con el reloj; sin backlog es cero.
+ */
+@Log4j2
+public class QueueBacklogPoller implements AutoCloseable {
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final SQSBacklogProperties properties;
+    private final EventLatency latency;
+
+    private final AtomicLong visible = new AtomicLong();
+    private final AtomicLong inFlight = new AtomicLong();
+    private final AtomicLong oldestAgeSeconds = new AtomicLong();
+    private long oldestSent = EventLatency.NONE;
+    private final Counter failed;
+
+    private Disposable ticker;
+
+    public QueueBacklogPoller(SqsAsyncClient client, SQSProperties sqs, SQSBacklogProperties properties,
+                              EventLatency latency, MeterRegistry registry) {
+        this.client = client;
+        this.queueUrl = sqs.queueUrl();
+        this.properties = properties;
+        this.latency = latency;
+        Gauge.builder("sqs.queue.messages", visible, AtomicLong::get)
+                .description("ApproximateNumberOfMessages")
+                .register(registry);
+        Gauge.builder("sqs.queue.messages.in_flight", inFlight, AtomicLong::get)
+                .description("ApproximateNumberOfMessagesNotVisible")
+                .register(registry);
+        Gauge.builder("sqs.queue.oldest.age", oldestAgeSeconds, AtomicLong::get)
+                .description("Edad estimada del mensaje visible más viejo")
+                .baseUnit("seconds")
+                .register(registry);
+        this.failed = Counter.builder("sqs.queue.attributes.failed").register(registry);
+    }
+
+    public synchronized void start() {
+        if (!properties.enabled() || ticker != null) {
+            return;
+        }
+        ticker = Flux.interval(properties.interval())
+                .onBackpressureDrop()
+                .concatMap(tick -> poll().onErrorResume(e -> {
+                    failed.increment();
+                    log.warn("Could not read sqs queue attributes: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    /** Una consulta; los ticks corren de a uno, así que el estado de la estimación no se comparte */
+    Mono<Void> poll() {
+        var request = GetQueueAttributesRequest.builder()
+                .queueUrl(queueUrl)
+                .attributeNames(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)
+                .build();
+        return Mono.fromFuture(() -> client.getQueueAttributes(request))
+                .doOnNext(this::update)
+                .then();
+    }
+
+    private void update(GetQueueAttributesResponse response) {
+        Map<QueueAttributeName, String> attributes = response.attributes();
+        long messages = parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES));
+        visible.set(messages);
+        inFlight.set(parse(attributes.get(QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE)));
+
+        long seen = latency.takeOldestSent();
+        if (messages == 0) {
+            oldestSent = EventLatency.NONE;
+        } else if (seen != EventLatency.NONE) {
+            oldestSent = seen;
+        }
+        oldestAgeSeconds.set(oldestSent == EventLatency.NONE ? 0 : Math.max(0, (latency.now() - oldestSent) / 1000));
+    }
+
+    private static long parse(String value) {
+        if (value == null) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.dispose();
+            ticker = null;
+        }
+    }
+}
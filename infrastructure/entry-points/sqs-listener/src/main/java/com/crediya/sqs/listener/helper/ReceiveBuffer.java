@@ -0,0 +1,138 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSPrefetchProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Buffer acotado en mensajes entre los receivers y el procesamiento. Cada receive reserva antes
+ * {@code maxNumberOfMessages} lugares y devuelve los que no usó, así el buffer nunca se pasa de
+ * {@code capacity} aunque haya varios long-polls en vuelo.
+ * <p>
+ * Los lotes guardan su vencimiento de visibilidad, contado desde que volvió el receive (SQS la
+ * empieza a contar al devolver los mensajes, no durante el long-poll): si el más viejo ya gastó la
+ * mitad, el procesamiento no da abasto y no tiene sentido recibir más.
+ * <p>
+ * Quien consume espera {@link #ready()}, que {@link #offer} completa al guardar un lote: sin
+ * polling por timer ni latencia agregada entre el receive y el procesamiento.
+ */
+@Log4j2
+public class ReceiveBuffer {
+
+    private final int receivers;
+    private final int batchSize;
+    private final long visibilityNanos;
+    private final long marginNanos;
+    private final LongSupplier clock;
+    private final Semaphore credits;
+    private final ConcurrentLinkedQueue<ReceivedBatch> batches = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    /** Se reemplaza y se completa en cada lote guardado */
+    private final AtomicReference<Sinks.Empty<Void>> arrived = new AtomicReference<>(Sinks.empty());
+
+    private final Timer receiveLatency;
+    private final Counter emptyReceives;
+    private final Counter receives;
+    private final Counter expired;
+
+    public ReceiveBuffer(SQSPrefetchProperties prefetch, SQSProperties properties, MeterRegistry registry) {
+        this(prefetch, properties, registry, System::nanoTime);
+    }
+
+    ReceiveBuffer(SQSPrefetchProperties prefetch, SQSProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.receivers = prefetch.receivers();
+        this.batchSize = Math.max(1, properties.maxNumberOfMessages());
+        this.visibilityNanos = Duration.ofSeconds(properties.visibilityTimeoutSeconds()).toNanos();
+        this.marginNanos = prefetch.visibilityMargin().toNanos();
+        this.clock = clock;
+        // Con menos lugares que un receive completo ningún receiver podría reservar
+        this.credits = new Semaphore(Math.max(prefetch.capacity(), batchSize));
+
+        Gauge.builder("sqs.listener.buffer.depth", depth, AtomicInteger::get).register(registry);
+        this.receiveLatency = Timer.builder("sqs.listener.receive.latency").register(registry);
+        this.emptyReceives = Counter.builder("sqs.listener.receive").tag("result", "empty").register(registry);
+        this.receives = Counter.builder("sqs.listener.receive").tag("result", "messages").register(registry);
+        this.expired = Counter.builder("sqs.listener.buffer.expired").register(registry);
+    }
+
+    public int receivers() {
+        return receivers;
+    }
+
+    /** Lugar para un receive completo, salvo que el buffer esté lleno o atrasado */
+    public boolean reserve() {
+        return !lagging() && credits.tryAcquire(batchSize);
+    }
+
+    /**
+     * Guarda lo recibido y libera los lugares que el receive no llenó. El inicio del receive solo
+     * mide su latencia: la espera del long-poll no consume visibilidad.
+     */
+    public void offer(List<Message> messages, long receiveStartNanos) {
+        long now = clock.getAsLong();
+        receiveLatency.record(now - receiveStartNanos, TimeUnit.NANOSECONDS);
+        (messages.isEmpty() ? emptyReceives : receives).increment();
+        credits.release(batchSize - messages.size());
+        if (!messages.isEmpty()) {
+            depth.addAndGet(messages.size());
+            batches.add(new ReceivedBatch(messages, now + visibilityNanos));
+            arrived.getAndSet(Sinks.empty()).tryEmitEmpty();
+        }
+    }
+
+    /** Completa cuando hay un lote para tomar; si ya hay, de inmediato */
+    public Mono<Void> ready() {
+        // Primero la señal y después el chequeo: un offer en el medio completa esta misma señal
+        Sinks.Empty<Void> signal = arrived.get();
+        return batches.isEmpty() ? signal.asMono() : Mono.empty();
+    }
+
+    public boolean isEmpty() {
+        return batches.isEmpty();
+    }
+
+    /** El receive falló: se devuelve la reserva completa */
+    public void cancel() {
+        credits.release(batchSize);
+    }
+
+    /** Siguiente lote con visibilidad suficiente, o null si no hay; los vencidos se descartan */
+    public ReceivedBatch poll() {
+        ReceivedBatch batch;
+        while ((batch = batches.poll()) != null) {
+            depth.addAndGet(-batch.messages().size());
+            credits.release(batch.messages().size());
+            if (batch.deadline() - clock.getAsLong() >= marginNanos) {
+                return batch;
+            }
+            expired.increment(batch.messages().size());
+            log.warn("{} sqs messages waited too long in the buffer and will be redelivered", batch.messages().size());
+        }
+        return null;
+    }
+
+    public int depth() {
+        return depth.get();
+    }
+
+    private boolean lagging() {
+        ReceivedBatch oldest = batches.peek();
+        return oldest != null && oldest.deadline() - clock.getAsLong() < visibilityNanos / 2;
+    }
+}
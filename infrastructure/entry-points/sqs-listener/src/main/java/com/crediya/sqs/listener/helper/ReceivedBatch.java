@@ -0,0 +1,12 @@
+package com.crediya.sqs.listener.helper;
+
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.List;
+
+/**
+ * Mensajes de un mismo receive y el instante (System.nanoTime) en que vence su visibilidad,
+ * contado desde que volvió el receive.
+ */
+public record ReceivedBatch(List<Message> messages, long deadline) {
+}
@@ -0,0 +1,173 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.model.report.Money;
+import com.crediya.model.report.ReportEvent;
+import com.crediya.sqs.listener.config.SQSDimensionProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decodifica el cuerpo del evento con el parser de streaming de Jackson: lee {@code status},
+ * {@code approvedAmount} (directo a centavos en un long) y las dimensiones configuradas, y salta
+ * el resto sin materializarlo. Sin DTO, sin mapa de atributos y sin BigDecimal: el monto queda en {@link Money}.
+ * {@code eventId}, si viene, identifica el evento para aplicarlo una sola vez. Los valores de
+ * dimensión pasan por {@link DimensionValues}, que agrupa en OTHER los que exceden el tope.
+ * <p>
+ * Rechaza apenas lo detecta: cuerpo que no es un objeto, monto con más de dos decimales o que no
+ * cabe en un long, y eventos APPROVED sin monto.
+ */
+@Component
+public class ReportEventDecoder {
+
+    static final String STATUS = "status";
+    static final String APPROVED_AMOUNT = "approvedAmount";
+    static final String EVENT_ID = "eventId";
+
+    private final JsonFactory factory;
+    private final Set<String> dimensions;
+    private final DimensionValues values;
+
+    public ReportEventDecoder(ObjectMapper objectMapper, SQSProperties properties) {
+        this(objectMapper, properties, new DimensionValues(SQSDimensionProperties.defaults(), new SimpleMeterRegistry()));
+    }
+
+    @Autowired
+    public ReportEventDecoder(ObjectMapper objectMapper, SQSProperties properties, DimensionValues values) {
+        this.factory = objectMapper.getFactory();
+        this.dimensions = Set.copyOf(properties.dimensions());
+        this.values = values;
+    }
+
+    public ReportEvent decode(String body) throws IOException {
+        if (body == null || body.isEmpty()) {
+            throw new IllegalArgumentException("Cuerpo vacío");
+        }
+        try (JsonParser parser = factory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("El evento debe ser un objeto JSON");
+            }
+            String status = null;
+            String id = null;
+            boolean hasAmount = false;
+            long cents = 0;
+            Map<String, String> found = null;
+
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                if (STATUS.equals(field)) {
+                    status = token == JsonToken.VALUE_NULL ? null : scalar(parser, token, field);
+                } else if (APPROVED_AMOUNT.equals(field)) {
+                    hasAmount = token != JsonToken.VALUE_NULL;
+                    cents = hasAmount ? cents(parser, token) : 0;
+                } else if (EVENT_ID.equals(field)) {
+                    id = token == JsonToken.VALUE_NULL ? null : scalar(parser, token, field);
+                } else if (dimensions.contains(field) && token.isScalarValue() && token != JsonToken.VALUE_NULL) {
+                    if (found == null) {
+                        found = new HashMap<>(4);
+                    }
+                    found.put(field, values.admit(field, parser.getText()));
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            if (parser.currentToken() != JsonToken.END_OBJECT) {
+                throw new IllegalArgumentException("Evento incompleto");
+            }
+            var event = new ReportEvent(status, hasAmount ? Money.ofCents(cents) : null, found, id);
+            if (event.approved() && !hasAmount) {
+                throw new IllegalArgumentException("Evento APPROVED sin approvedAmount");
+            }
+            return event;
+        }
+    }
+
+    private static String scalar(JsonParser parser, JsonToken token, String field) throws IOException {
+        if (!token.isScalarValue()) {
+            throw new IllegalArgumentException(field + " debe ser un valor simple");
+        }
+        return parser.getText();
+    }
+
+    private static long cents(JsonParser parser, JsonToken token) throws IOException {
+        try {
+            return centsOrOverflow(parser, token);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("approvedAmount fuera de rango", e);
+        }
+    }
+
+    private static long centsOrOverflow(JsonParser parser, JsonToken token) throws IOException {
+        return switch (token) {
+            case VALUE_NUMBER_INT -> {
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    throw new IllegalArgumentException("approvedAmount fuera de rango");
+                }
+                yield Math.multiplyExact(parser.getLongValue(), 100L);
+            }
+            case VALUE_NUMBER_FLOAT, VALUE_STRING ->
+                    parseCents(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            default -> throw new IllegalArgumentException("approvedAmount debe ser numérico");
+        };
+    }
+
+    /**
+     * {@code [-]d+[.d{0,2}0*]} a centavos sin crear objetos. La notación exponencial, rara en estos
+     * eventos, pasa por BigDecimal; en ambos casos un tercer decimal distinto de cero se rechaza.
+     */
+    static long parseCents(char[] text, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        boolean negative = i < end && text[i] == '-';
+        if (negative) i++;
+        if (i == end) {
+            throw new IllegalArgumentException("approvedAmount vacío");
+        }
+        long units = 0;
+        int digits = 0;
+        for (; i < end && text[i] >= '0' && text[i] <= '9'; i++, digits++) {
+            units = Math.addExact(Math.multiplyExact(units, 10L), text[i] - '0');
+        }
+        long fraction = 0;
+        if (i < end && text[i] == '.') {
+            i++;
+            int decimals = 0;
+            for (; i < end && text[i] >= '0' && text[i] <= '9'; i++, decimals++) {
+                if (decimals < 2) {
+                    fraction = fraction * 10 + (text[i] - '0');
+                } else if (text[i] != '0') {
+                    throw new IllegalArgumentException("approvedAmount con más de dos decimales");
+                }
+            }
+            if (decimals == 1) fraction *= 10;
+        }
+        if (i < end && (text[i] == 'e' || text[i] == 'E')) {
+            return exponent(new String(text, offset, length));
+        }
+        if (i != end || digits == 0) {
+            throw new IllegalArgumentException("approvedAmount inválido");
+        }
+        long cents = Math.addExact(Math.multiplyExact(units, 100L), fraction);
+        return negative ? -cents : cents;
+    }
+
+    private static long exponent(String text) {
+        try {
+            return new BigDecimal(text).movePointRight(2).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("approvedAmount inválido: " + text, e);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSExecutionProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * Scheduler compartido por el listener y el processor según {@link SQSExecutionProperties.Mode}.
+ * Se crea una sola vez: antes cada start armaba su propio pool fijo.
+ */
+public class SQSExecution implements AutoCloseable {
+
+    private final SQSExecutionProperties.Mode mode;
+    private final Scheduler scheduler;
+
+    public SQSExecution(SQSExecutionProperties properties, SQSProperties sqs) {
+        this.mode = properties.mode();
+        this.scheduler = switch (mode) {
+            case FIXED -> Schedulers.fromExecutorService(
+                    Executors.newFixedThreadPool(Math.max(1, sqs.numberOfThreads())), "sqs-fixed");
+            case VIRTUAL -> Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sqs-virtual-", 0).factory()), "sqs-virtual");
+            case BOUNDED -> Schedulers.newBoundedElastic(properties.threads(), properties.queuedTasks(), "sqs-bounded");
+        };
+    }
+
+    public SQSExecutionProperties.Mode mode() {
+        return mode;
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+}
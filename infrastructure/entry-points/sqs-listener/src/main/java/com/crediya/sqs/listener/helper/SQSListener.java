@@ -1,65 +1,219 @@
 package com.crediya.sqs.listener.helper;
 
+import com.crediya.sqs.listener.config.SQSConcurrencyProperties;
+import com.crediya.sqs.listener.config.SQSFilterProperties;
 import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.Builder;
 import lombok.extern.log4j.Log4j2;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
+import software.amazon.awssdk.core.exception.SdkServiceException;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
-import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
+import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 @Log4j2
 @Builder
 public class SQSListener {
+    private static final Duration RECEIVE_PAUSE = Duration.ofMillis(100);
+
     private final SqsAsyncClient client;
     private final SQSProperties properties;
-    private final Function<Message, Mono<Void>> processor;
+    /** Recibe cada receive completo; lo que devuelve como procesado se confirma con DeleteMessageBatch */
+    private final Function<List<Message>, Mono<BatchResult>> processor;
+    /** Cuántos lotes (proceso + borrado) hay en vuelo; cada suscripción es un lugar posible */
+    @Builder.Default
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter(SQSConcurrencyProperties.defaults(), new SimpleMeterRegistry());
+    /** Descarta por message attribute los status no suscritos antes de parsear */
+    @Builder.Default
+    private final MessageFilter filter = new MessageFilter(SQSFilterProperties.defaults(), new SimpleMeterRegistry());
+    /** Lo recibido y aún no procesado; los receivers lo llenan sin esperar al procesamiento */
+    private final ReceiveBuffer buffer;
+    /** Extiende la visibilidad de lo que está en proceso para que no se reentregue a mitad de camino */
+    private final VisibilityHeartbeat heartbeat;
+    /** Scheduler del manejo de mensajes: pool fijo, hilos virtuales o bounded-elastic */
+    private final SQSExecution execution;
+    /** Antigüedad de los eventos: en cola, en proceso y hasta quedar visibles en el reporte */
+    @Builder.Default
+    private final EventLatency latency = new EventLatency(new SimpleMeterRegistry());
     private String operation;
 
     public SQSListener start() {
         this.operation = "MessageFrom:" + properties.queueUrl();
-        ExecutorService service = Executors.newFixedThreadPool(properties.numberOfThreads());
-        Flux<Void> flow = listenRetryRepeat().publishOn(Schedulers.fromExecutorService(service));
-        for (var i = 0; i < properties.numberOfThreads(); i++) {
-            flow.subscribe();
+        heartbeat.start();
+        for (var i = 0; i < buffer.receivers(); i++) {
+            receiveRepeat().subscribe();
+        }
+        for (var i = 0; i < limiter.maxLimit(); i++) {
+            listenRetryRepeat().subscribe();
         }
         return this;
     }
 
+    private Flux<Void> receiveRepeat() {
+        return Mono.defer(this::receive)
+                .doOnError(e -> log.error("Error receiving from sqs queue", e))
+                .repeat();
+    }
+
+    /**
+     * Un long-poll: reserva lugar en el buffer, recibe y deja el lote para el procesamiento. Con el
+     * buffer lleno o atrasado el receiver espera en vez de traer mensajes que vencerían en cola.
+     */
+    Mono<Void> receive() {
+        if (!buffer.reserve()) {
+            return Mono.delay(RECEIVE_PAUSE).then();
+        }
+        long start = System.nanoTime();
+        return getMessages()
+                .doOnNext(messages -> {
+                    latency.received(messages);
+                    buffer.offer(messages, start);
+                })
+                .doOnError(e -> buffer.cancel())
+                .then()
+                .onErrorResume(e -> {
+                    log.error("Error receiving sqs messages", e);
+                    return Mono.delay(RECEIVE_PAUSE).then();
+                });
+    }
+
     private Flux<Void> listenRetryRepeat() {
-        return listen()
+        return Mono.defer(this::listenWithinLimit)
                 .doOnError(e -> log.error("Error listening sqs queue", e))
                 .repeat();
     }
 
-    private Flux<Void> listen() {
-        return getMessages()
-                .flatMap(message -> processor.apply(message)
-                        .name("async_operation")
-                        .tag("operation", operation)
-                        .metrics()
-                        .then(confirm(message)))
-                .onErrorContinue((e, o) -> log.error("Error listening sqs message", e));
+    /**
+     * Sin nada en el buffer la suscripción espera a que llegue un lote, sin tocar el límite.
+     * Con un lote esperando y sin lugar, espera a que el limitador libere uno o suba el límite.
+     * El lote se procesa suscrito en el scheduler de {@link SQSExecution}: el Flux del listener no
+     * emite elementos, así que un publishOn no movería el trabajo de los hilos del SDK o del timer.
+     */
+    Mono<Void> listenWithinLimit() {
+        if (buffer.isEmpty()) {
+            return buffer.ready();
+        }
+        if (!limiter.tryAcquire()) {
+            return limiter.available();
+        }
+        ReceivedBatch batch = buffer.poll();
+        if (batch == null) {
+            // Otra suscripción se lo llevó, o venció en el buffer
+            limiter.release();
+            return Mono.empty();
+        }
+        heartbeat.track(batch);
+        return Mono.defer(() -> listen(batch.messages(), System.nanoTime()))
+                .subscribeOn(execution.scheduler())
+                .doFinally(signal -> {
+                    heartbeat.untrack(batch.messages());
+                    limiter.release();
+                });
+    }
+
+    /** Lo filtrado se confirma en el mismo DeleteMessageBatch que lo procesado */
+    private Mono<Void> listen(List<Message> messages, long start) {
+        MessageFilter.Split split = filter.split(messages);
+        Mono<BatchResult> processed = split.accepted().isEmpty()
+                ? Mono.just(BatchResult.processed(List.of()))
+                : process(split.accepted());
+        return processed
+                .flatMap(result -> {
+                    if (!result.processed().isEmpty()) {
+                        latency.processed(result.processed(), start, System.nanoTime());
+                    }
+                    if (!result.failed().isEmpty()) {
+                        log.warn("{} sqs messages failed and will be redelivered", result.failed().size());
+                    }
+                    if (split.dropped().isEmpty()) {
+                        return confirm(result.processed(), true);
+                    }
+                    var acknowledge = new ArrayList<Message>(result.processed());
+                    acknowledge.addAll(split.dropped());
+                    return confirm(acknowledge, true);
+                })
+                .onErrorResume(e -> {
+                    log.error("Error listening sqs message", e);
+                    return Mono.empty();
+                });
     }
 
-    private Mono<Void> confirm(Message message) {
-        return Mono.fromCallable(() -> getDeleteMessageRequest(message.receiptHandle()))
-                .flatMap(request -> Mono.fromFuture(client.deleteMessage(request)))
-                .then();
+    /** La latencia del proceso (escritura a DynamoDB incluida) y su throttling alimentan el límite */
+    private Mono<BatchResult> process(List<Message> messages) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return processor.apply(messages)
+                    .name("async_operation")
+                    .tag("operation", operation)
+                    .metrics()
+                    .doOnNext(result -> {
+                        if (isThrottling(result.error())) {
+                            limiter.onThrottle();
+                        } else {
+                            limiter.onLatency(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (isThrottling(e)) {
+                            limiter.onThrottle();
+                        }
+                    });
+        });
     }
 
-    private Flux<Message> getMessages() {
+    /** ProvisionedThroughputExceeded, ThrottlingException, 429... o una transacción cancelada por throttling */
+    static boolean isThrottling(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof SdkServiceException service
+                    && (service.isThrottlingException() || String.valueOf(service.getMessage()).contains("ThrottlingError"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Un solo DeleteMessageBatch por receive. Las entradas que fallan por el lado del servicio se
+     * reintentan una vez; las demás (p. ej. receipt handle vencido) solo se registran y el mensaje
+     * se reprocesa cuando vuelva a ser visible.
+     */
+    private Mono<Void> confirm(List<Message> messages, boolean retry) {
+        if (messages.isEmpty()) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> getDeleteMessageBatchRequest(messages))
+                .flatMap(request -> Mono.fromFuture(client.deleteMessageBatch(request)))
+                .flatMap(response -> {
+                    var retryable = new ArrayList<Message>();
+                    for (BatchResultErrorEntry failed : response.failed()) {
+                        Message message = messages.get(Integer.parseInt(failed.id()));
+                        log.warn("Could not delete sqs message {}: {} {}", message.messageId(), failed.code(), failed.message());
+                        if (retry && !Boolean.TRUE.equals(failed.senderFault())) {
+                            retryable.add(message);
+                        }
+                    }
+                    return confirm(retryable, false);
+                });
+    }
+
+    private Mono<List<Message>> getMessages() {
         return Mono.fromCallable(this::getReceiveMessageRequest)
                 .flatMap(request -> Mono.fromFuture(client.receiveMessage(request)))
                 .doOnNext(response -> log.debug("{} received messages from sqs", response.messages().size()))
-                .flatMapMany(response -> Flux.fromIterable(response.messages()));
+                .map(ReceiveMessageResponse::messages);
     }
 
     private ReceiveMessageRequest getReceiveMessageRequest() {
@@ -68,13 +222,24 @@ public class SQSListener {
                 .maxNumberOfMessages(properties.maxNumberOfMessages())
                 .waitTimeSeconds(properties.waitTimeSeconds())
                 .visibilityTimeout(properties.visibilityTimeoutSeconds())
+                .messageAttributeNames(filter.attribute())
+                .messageSystemAttributeNames(MessageSystemAttributeName.SENT_TIMESTAMP,
+                        MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT)
                 .build();
     }
 
-    private DeleteMessageRequest getDeleteMessageRequest(String receiptHandle) {
-        return DeleteMessageRequest.builder()
+    /** El id de cada entrada es su posición, para ubicar el mensaje de las entradas fallidas */
+    private DeleteMessageBatchRequest getDeleteMessageBatchRequest(List<Message> messages) {
+        var entries = new ArrayList<DeleteMessageBatchRequestEntry>(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            entries.add(DeleteMessageBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .receiptHandle(messages.get(i).receiptHandle())
+                    .build());
+        }
+        return DeleteMessageBatchRequest.builder()
                 .queueUrl(properties.queueUrl())
-                .receiptHandle(receiptHandle)
+                .entries(entries)
                 .build();
     }
 }
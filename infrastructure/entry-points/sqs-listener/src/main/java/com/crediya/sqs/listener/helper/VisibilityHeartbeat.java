@@ -0,0 +1,173 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSHeartbeatProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Mantiene invisibles los mensajes mientras se procesan. Sigue los receipt handles en vuelo y,
+ * antes de que venza su visibilidad, la extiende con ChangeMessageVisibilityBatch (de a 10).
+ * Así un visibility timeout bajo no provoca reentregas cuando DynamoDB se pone lento.
+ */
+@Log4j2
+public class VisibilityHeartbeat implements AutoCloseable {
+
+    /** Máximo de entradas por ChangeMessageVisibilityBatch */
+    static final int MAX_ENTRIES = 10;
+
+    private final SqsAsyncClient client;
+    private final String queueUrl;
+    private final SQSHeartbeatProperties properties;
+    private final LongSupplier clock;
+    private final Map<String, Tracked> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter avoided;
+
+    private Disposable ticker;
+
+    public VisibilityHeartbeat(SqsAsyncClient client, SQSProperties sqs, SQSHeartbeatProperties properties, MeterRegistry registry) {
+        this(client, sqs, properties, registry, System::nanoTime);
+    }
+
+    VisibilityHeartbeat(SqsAsyncClient client, SQSProperties sqs, SQSHeartbeatProperties properties,
+                        MeterRegistry registry, LongSupplier clock) {
+        this.client = client;
+        this.queueUrl = sqs.queueUrl();
+        this.properties = properties;
+        this.clock = clock;
+        this.sent = Counter.builder("sqs.listener.heartbeat.sent").register(registry);
+        this.failed = Counter.builder("sqs.listener.heartbeat.failed").register(registry);
+        this.avoided = Counter.builder("sqs.listener.heartbeat.expirations_avoided").register(registry);
+    }
+
+    public synchronized void start() {
+        if (!properties.enabled() || ticker != null) {
+            return;
+        }
+        ticker = Flux.interval(properties.interval())
+                .onBackpressureDrop()
+                .concatMap(tick -> beat().onErrorResume(e -> {
+                    log.error("Error extending sqs visibility", e);
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    public void track(ReceivedBatch batch) {
+        if (!properties.enabled()) {
+            return;
+        }
+        long limit = batch.deadline() + properties.maxExtension().toNanos();
+        for (Message message : batch.messages()) {
+            inFlight.put(message.receiptHandle(), new Tracked(message, batch.deadline(), limit));
+        }
+    }
+
+    /** Deja de seguir los mensajes; cuenta los que ya habrían vuelto a la cola sin extensión */
+    public void untrack(List<Message> messages) {
+        long now = clock.getAsLong();
+        for (Message message : messages) {
+            Tracked tracked = inFlight.remove(message.receiptHandle());
+            if (tracked != null && tracked.extended && now > tracked.originalDeadline) {
+                avoided.increment();
+            }
+        }
+    }
+
+    int tracked() {
+        return inFlight.size();
+    }
+
+    /** Una pasada: extiende todo lo que vence dentro de leadTime */
+    Mono<Void> beat() {
+        long now = clock.getAsLong();
+        long lead = properties.leadTime().toNanos();
+        var due = new ArrayList<Tracked>();
+        for (Tracked tracked : inFlight.values()) {
+            // Vencido ya no se puede extender: el receipt handle deja de valer
+            if (tracked.deadline > now && tracked.deadline - now <= lead && tracked.deadline < tracked.limit) {
+                due.add(tracked);
+            }
+        }
+        if (due.isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.range(0, (due.size() + MAX_ENTRIES - 1) / MAX_ENTRIES)
+                .map(i -> due.subList(i * MAX_ENTRIES, Math.min(due.size(), (i + 1) * MAX_ENTRIES)))
+                .concatMap(chunk -> extend(chunk, now))
+                .then();
+    }
+
+    private Mono<Void> extend(List<Tracked> chunk, long now) {
+        int seconds = (int) properties.extension().toSeconds();
+        var entries = new ArrayList<ChangeMessageVisibilityBatchRequestEntry>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            entries.add(ChangeMessageVisibilityBatchRequestEntry.builder()
+                    .id(Integer.toString(i))
+                    .receiptHandle(chunk.get(i).message.receiptHandle())
+                    .visibilityTimeout(seconds)
+                    .build());
+        }
+        var request = ChangeMessageVisibilityBatchRequest.builder().queueUrl(queueUrl).entries(entries).build();
+        return Mono.fromFuture(() -> client.changeMessageVisibilityBatch(request))
+                .doOnNext(response -> {
+                    // La nueva visibilidad corre desde la llamada, no desde el vencimiento anterior
+                    long deadline = now + properties.extension().toNanos();
+                    for (ChangeMessageVisibilityBatchResultEntry ok : response.successful()) {
+                        Tracked tracked = chunk.get(Integer.parseInt(ok.id()));
+                        tracked.deadline = deadline;
+                        tracked.extended = true;
+                        sent.increment();
+                    }
+                    for (BatchResultErrorEntry error : response.failed()) {
+                        Tracked tracked = chunk.get(Integer.parseInt(error.id()));
+                        failed.increment();
+                        log.warn("Could not extend visibility of sqs message {}: {} {}",
+                                tracked.message.messageId(), error.code(), error.message());
+                    }
+                })
+                .then();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.dispose();
+            ticker = null;
+        }
+    }
+
+    private static final class Tracked {
+        private final Message message;
+        private final long originalDeadline;
+        private final long limit;
+        private volatile long deadline;
+        private volatile boolean extended;
+
+        private Tracked(Message message, long deadline, long limit) {
+            this.message = message;
+            this.originalDeadline = deadline;
+            this.deadline = deadline;
+            this.limit = limit;
+        }
+    }
+}
@@ -1,5 +1,12 @@
 package com.crediya.sqs.listener.config;
 
+import com.crediya.sqs.listener.helper.AdaptiveConcurrencyLimiter;
+import com.crediya.sqs.listener.helper.EventLatency;
+import com.crediya.sqs.listener.helper.MessageFilter;
+import com.crediya.sqs.listener.helper.ReceiveBuffer;
+import com.crediya.sqs.listener.helper.SQSExecution;
+import com.crediya.sqs.listener.helper.VisibilityHeartbeat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -35,7 +42,14 @@ class SQSConfigTest {
 
     @Test
     void configSQSListenerIsNotNull() {
-        assertThat(sqsConfig.sqsListener(sqsAsyncClient, sqsProperties, message -> Mono.empty())).isNotNull();
+        assertThat(sqsConfig.sqsListener(sqsAsyncClient, sqsProperties, message -> Mono.empty(),
+                new AdaptiveConcurrencyLimiter(SQSConcurrencyProperties.defaults(), new SimpleMeterRegistry()),
+                new ReceiveBuffer(SQSPrefetchProperties.defaults(), sqsProperties, new SimpleMeterRegistry()),
+                new VisibilityHeartbeat(sqsAsyncClient, sqsProperties, SQSHeartbeatProperties.disabled(), new SimpleMeterRegistry()),
+                new SQSExecution(SQSExecutionProperties.defaults(), sqsProperties),
+                new MessageFilter(SQSFilterProperties.defaults(), new SimpleMeterRegistry()),
+                new EventLatency(new SimpleMeterRegistry())))
+                .isNotNull();
     }
 
     @Test
@@ -0,0 +1,134 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSConcurrencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long TARGET = Duration.ofMillis(100).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private AdaptiveConcurrencyLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        var properties = new SQSConcurrencyProperties(1, 8, 4, Duration.ofMillis(100), 0.5, 4, Duration.ofSeconds(1));
+        limiter = new AdaptiveConcurrencyLimiter(properties, registry, clock::get);
+    }
+
+    private void window(long latency) {
+        for (int i = 0; i < 4; i++) {
+            limiter.onLatency(latency);
+        }
+    }
+
+    @Test
+    @DisplayName("Debe rechazar cuando los lotes en vuelo alcanzan el límite")
+    void shouldRejectAboveLimit() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            assertThat(limiter.tryAcquire()).isTrue();
+        }
+
+        // When & Then
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(registry.get("sqs.listener.concurrency.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe avisar a quien espera cuando se libera un lugar o sube el límite")
+    void shouldSignalWhenPermitIsFreedOrLimitRaised() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        var afterRelease = limiter.available().toFuture();
+        boolean waiting = afterRelease.isDone();
+
+        // When
+        limiter.release();
+        limiter.tryAcquire();
+        var afterRaise = limiter.available().toFuture();
+        boolean waitingForRaise = afterRaise.isDone();
+        window(TARGET / 2);
+
+        // Then
+        assertThat(waiting).isFalse();
+        assertThat(afterRelease).isDone();
+        assertThat(waitingForRaise).isFalse();
+        assertThat(afterRaise).isDone();
+        assertThat(registry.get("sqs.listener.concurrency.rejected").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Debe subir de a uno por ventana dentro del objetivo, hasta el máximo")
+    void shouldIncreaseAdditively() {
+        // When
+        window(TARGET / 2);
+        window(TARGET / 2);
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(6);
+        for (int i = 0; i < 10; i++) {
+            window(TARGET / 2);
+        }
+        assertThat(limiter.limit()).isEqualTo(8);
+        assertThat(registry.get("sqs.listener.concurrency.limit").gauge().value()).isEqualTo(8);
+    }
+
+    @Test
+    @DisplayName("Debe bajar a la mitad con throttling y una sola vez por cooldown")
+    void shouldDecreaseMultiplicativelyOncePerCooldown() {
+        // When
+        limiter.onThrottle();
+        limiter.onThrottle();
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(2);
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+        limiter.onThrottle();
+        limiter.onThrottle();
+        assertThat(limiter.limit()).isEqualTo(1);
+        assertThat(registry.get("sqs.listener.concurrency.decreases").tag("reason", "throttle").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe bajar cuando el p99 de la ventana supera el objetivo")
+    void shouldDecreaseOnHighP99() {
+        // When
+        limiter.onLatency(TARGET / 2);
+        limiter.onLatency(TARGET / 2);
+        limiter.onLatency(TARGET / 2);
+        limiter.onLatency(TARGET * 3);
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(2);
+        assertThat(registry.get("sqs.listener.concurrency.decreases").tag("reason", "latency").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe reconocer throttling aunque venga envuelto")
+    void shouldDetectWrappedThrottling() {
+        // Given
+        var throttled = SdkServiceException.builder().statusCode(429).message("slow down").build();
+        var other = SdkServiceException.builder().statusCode(400).message("bad request").build();
+
+        // When & Then
+        assertThat(SQSListener.isThrottling(new RuntimeException(throttled))).isTrue();
+        assertThat(SQSListener.isThrottling(other)).isFalse();
+        assertThat(SQSListener.isThrottling(null)).isFalse();
+    }
+}
@@ -0,0 +1,50 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSDimensionProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DimensionValuesTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("Debe agrupar en OTHER los valores que llegan después del tope")
+    void shouldFoldValuesBeyondLimit() {
+        // Given
+        var values = new DimensionValues(new SQSDimensionProperties(2, null), registry);
+        values.admit("product", "AUTO");
+        values.admit("product", "HOME");
+
+        // When
+        String third = values.admit("product", "TRAVEL");
+
+        // Then
+        assertThat(third).isEqualTo(DimensionValues.OTHER);
+        assertThat(values.admit("product", "AUTO")).isEqualTo("AUTO");
+        assertThat(values.admit("channel", "WEB")).isEqualTo("WEB");
+        assertThat(registry.get("sqs.listener.dimension.folded").tag("dimension", "product").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe aceptar solo los valores permitidos en las dimensiones con lista")
+    void shouldApplyAllowList() {
+        // Given
+        var values = new DimensionValues(
+                new SQSDimensionProperties(1, Map.of("channel", List.of("WEB", "APP"))), registry);
+
+        // When & Then
+        assertThat(values.admit("channel", "APP")).isEqualTo("APP");
+        assertThat(values.admit("channel", "WEB")).isEqualTo("WEB");
+        assertThat(values.admit("channel", "BRANCH")).isEqualTo(DimensionValues.OTHER);
+        assertThat(values.admit("product", " AUTO ")).isEqualTo("AUTO");
+        assertThat(values.admit("product", "HOME")).isEqualTo(DimensionValues.OTHER);
+    }
+}
@@ -0,0 +1,92 @@
+package com.crediya.sqs.listener.helper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventLatencyTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private SimpleMeterRegistry registry;
+    private EventLatency latency;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        latency = new EventLatency(registry, clock::get);
+    }
+
+    private static Message message(String id, Long sentAt, String receiveCount) {
+        var attributes = new HashMap<MessageSystemAttributeName, String>();
+        if (sentAt != null) {
+            attributes.put(MessageSystemAttributeName.SENT_TIMESTAMP, Long.toString(sentAt));
+        }
+        if (receiveCount != null) {
+            attributes.put(MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, receiveCount);
+        }
+        return Message.builder().messageId(id).attributes(attributes).build();
+    }
+
+    @Test
+    @DisplayName("Debe registrar el tiempo en cola y las entregas de cada mensaje recibido")
+    void shouldRecordDwellAndReceiveCount() {
+        // Given
+        var messages = List.of(message("1", NOW - 2_000, "1"), message("2", NOW - 500, "3"));
+
+        // When
+        latency.received(messages);
+
+        // Then
+        var dwell = registry.get("sqs.event.dwell").timer();
+        assertThat(dwell.count()).isEqualTo(2);
+        assertThat(dwell.max(TimeUnit.MILLISECONDS)).isEqualTo(2_000);
+        var receives = registry.get("sqs.event.receive.count").summary();
+        assertThat(receives.totalAmount()).isEqualTo(4);
+        assertThat(latency.takeOldestSent()).isEqualTo(NOW - 2_000);
+        assertThat(latency.takeOldestSent()).isEqualTo(EventLatency.NONE);
+    }
+
+    @Test
+    @DisplayName("Debe registrar el proceso del lote y la latencia hasta el reporte")
+    void shouldRecordProcessingAndEndToEndLatency() {
+        // Given
+        var messages = List.of(message("1", NOW - 1_000, "1"));
+        clock.addAndGet(250);
+
+        // When
+        latency.processed(messages, 0, Duration.ofMillis(40).toNanos());
+
+        // Then
+        assertThat(registry.get("sqs.event.processing").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(registry.get("sqs.event.latency").timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(1_250);
+    }
+
+    @Test
+    @DisplayName("Debe ignorar mensajes sin atributos y registrar cero ante desfase de relojes")
+    void shouldIgnoreMissingAttributesAndClampClockSkew() {
+        // Given
+        var messages = List.of(message("1", null, null), message("2", NOW + 5_000, "x"));
+
+        // When
+        latency.received(messages);
+
+        // Then
+        var dwell = registry.get("sqs.event.dwell").timer();
+        assertThat(dwell.count()).isEqualTo(1);
+        assertThat(dwell.totalTime(TimeUnit.MILLISECONDS)).isZero();
+        assertThat(registry.get("sqs.event.receive.count").summary().count()).isZero();
+    }
+}
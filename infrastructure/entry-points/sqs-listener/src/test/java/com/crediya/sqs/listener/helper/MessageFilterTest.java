@@ -0,0 +1,81 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSFilterProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MessageFilterTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private static Message message(String id, String status) {
+        var builder = Message.builder().messageId(id);
+        if (status != null) {
+            builder.messageAttributes(Map.of("status",
+                    MessageAttributeValue.builder().dataType("String").stringValue(status).build()));
+        }
+        return builder.build();
+    }
+
+    @Test
+    @DisplayName("Debe dejar pasar todo cuando no hay status suscritos")
+    void shouldAcceptAllWithoutRules() {
+        // Given
+        var filter = new MessageFilter(SQSFilterProperties.defaults(), registry);
+        var messages = List.of(message("1", "REJECTED"), message("2", null));
+
+        // When
+        var split = filter.split(messages);
+
+        // Then
+        assertThat(split.accepted()).isEqualTo(messages);
+        assertThat(split.dropped()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Debe descartar los status no suscritos sin importar mayúsculas")
+    void shouldDropUnsubscribedStatuses() {
+        // Given
+        var filter = new MessageFilter(new SQSFilterProperties("status", List.of("approved"), true), registry);
+        var approved = message("1", "APPROVED");
+        var rejected = message("2", "REJECTED");
+        var missing = message("3", null);
+
+        // When
+        var split = filter.split(List.of(approved, rejected, missing));
+
+        // Then
+        assertThat(split.accepted()).containsExactly(approved, missing);
+        assertThat(split.dropped()).containsExactly(rejected);
+        assertThat(registry.get("sqs.listener.filter").tag("result", "accepted").counter().count()).isEqualTo(2);
+        assertThat(registry.get("sqs.listener.filter").tag("result", "dropped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Debe descartar los mensajes sin atributo cuando acceptMissing es false")
+    void shouldDropMissingAttributeWhenConfigured() {
+        // Given
+        var filter = new MessageFilter(new SQSFilterProperties("status", List.of("APPROVED"), false), registry);
+
+        // When
+        var split = filter.split(List.of(message("1", null)));
+
+        // Then
+        assertThat(split.accepted()).isEmpty();
+        assertThat(split.dropped()).hasSize(1);
+    }
+}
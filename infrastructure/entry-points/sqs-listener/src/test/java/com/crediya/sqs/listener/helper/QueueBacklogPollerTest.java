@@ -0,0 +1,119 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSBacklogProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesRequest;
+import software.amazon.awssdk.services.sqs.model.GetQueueAttributesResponse;
+import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
+import software.amazon.awssdk.services.sqs.model.QueueAttributeName;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class QueueBacklogPollerTest {
+
+    private static final SQSProperties PROPERTIES = new SQSProperties("us-east-1", null,
+            "http://localhost:4566/00000000000/queueName", 20, 10, 10, 1, List.of());
+    private static final long NOW = 1_700_000_000_000L;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+    private SqsAsyncClient client;
+    private SimpleMeterRegistry registry;
+    private EventLatency latency;
+    private QueueBacklogPoller poller;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(SqsAsyncClient.class);
+        registry = new SimpleMeterRegistry();
+        latency = new EventLatency(registry, clock::get);
+        poller = new QueueBacklogPoller(client, PROPERTIES, new SQSBacklogProperties(true, Duration.ofSeconds(15)),
+                latency, registry);
+    }
+
+    private void respond(long visible, long inFlight) {
+        when(client.getQueueAttributes(any(GetQueueAttributesRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                GetQueueAttributesResponse.builder().attributes(Map.of(
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES, Long.toString(visible),
+                        QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE, Long.toString(inFlight))).build()));
+    }
+
+    private static Message sentAt(long epochMillis) {
+        return Message.builder().messageId("m").attributes(Map.of(
+                MessageSystemAttributeName.SENT_TIMESTAMP, Long.toString(epochMillis))).build();
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).gauge().value();
+    }
+
+    @Test
+    @DisplayName("Debe publicar los mensajes visibles y en vuelo de la cola")
+    void shouldPublishQueueDepth() {
+        // Given
+        respond(120, 8);
+
+        // When
+        StepVerifier.create(poller.poll()).verifyComplete();
+
+        // Then
+        assertThat(gauge("sqs.queue.messages")).isEqualTo(120);
+        assertThat(gauge("sqs.queue.messages.in_flight")).isEqualTo(8);
+        var request = ArgumentCaptor.forClass(GetQueueAttributesRequest.class);
+        verify(client).getQueueAttributes(request.capture());
+        assertThat(request.getValue().queueUrl()).isEqualTo(PROPERTIES.queueUrl());
+        assertThat(request.getValue().attributeNames()).containsExactlyInAnyOrder(
+                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES,
+                QueueAttributeName.APPROXIMATE_NUMBER_OF_MESSAGES_NOT_VISIBLE);
+    }
+
+    @Test
+    @DisplayName("Debe estimar la edad del más viejo con lo recibido y hacerla crecer si no llega nada")
+    void shouldEstimateOldestAgeFromReceivedMessages() {
+        // Given
+        respond(50, 0);
+        latency.received(List.of(sentAt(NOW - 30_000), sentAt(NOW - 5_000)));
+
+        // When
+        StepVerifier.create(poller.poll()).verifyComplete();
+        double first = gauge("sqs.queue.oldest.age");
+        clock.addAndGet(15_000);
+        StepVerifier.create(poller.poll()).verifyComplete();
+        double second = gauge("sqs.queue.oldest.age");
+
+        // Then
+        assertThat(first).isEqualTo(30);
+        assertThat(second).isEqualTo(45);
+    }
+
+    @Test
+    @DisplayName("Debe dejar la edad en cero cuando no hay backlog")
+    void shouldResetAgeWithoutBacklog() {
+        // Given
+        respond(0, 3);
+        latency.received(List.of(sentAt(NOW - 30_000)));
+
+        // When
+        StepVerifier.create(poller.poll()).verifyComplete();
+
+        // Then
+        assertThat(gauge("sqs.queue.oldest.age")).isZero();
+    }
+}
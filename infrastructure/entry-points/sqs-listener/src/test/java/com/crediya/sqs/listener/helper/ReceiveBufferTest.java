@@ -0,0 +1,144 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSPrefetchProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReceiveBufferTest {
+
+    private static final SQSProperties PROPERTIES = new SQSProperties("us-east-1", null,
+            "http://localhost:4566/00000000000/queueName", 20, 10, 2, 1, List.of());
+
+    private final AtomicLong clock = new AtomicLong();
+    private SimpleMeterRegistry registry;
+    private ReceiveBuffer buffer;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        buffer = new ReceiveBuffer(new SQSPrefetchProperties(2, 4, Duration.ofSeconds(2)), PROPERTIES, registry, clock::get);
+    }
+
+    private static List<Message> messages(int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> Message.builder().messageId(Integer.toString(i)).build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Debe limitar las reservas a la capacidad y devolver los lugares no usados")
+    void shouldBoundReservationsByCapacity() {
+        // Given
+        assertThat(buffer.reserve()).isTrue();
+        assertThat(buffer.reserve()).isTrue();
+
+        // When
+        boolean full = buffer.reserve();
+        buffer.offer(messages(1), 0);
+
+        // Then
+        assertThat(full).isFalse();
+        assertThat(buffer.reserve()).isFalse();
+        assertThat(buffer.depth()).isEqualTo(1);
+        assertThat(buffer.poll().messages()).hasSize(1);
+        assertThat(buffer.reserve()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe avisar a quien espera cuando llega un lote, y no por un receive vacío")
+    void shouldSignalWhenBatchArrives() {
+        // Given
+        var waiting = buffer.ready().toFuture();
+
+        // When
+        buffer.reserve();
+        buffer.offer(List.of(), 0);
+        boolean afterEmpty = waiting.isDone();
+        buffer.reserve();
+        buffer.offer(messages(1), 0);
+
+        // Then
+        assertThat(afterEmpty).isFalse();
+        assertThat(waiting).isDone();
+        assertThat(buffer.ready().toFuture()).isDone();
+        buffer.poll();
+        assertThat(buffer.ready().toFuture()).isNotDone();
+    }
+
+    @Test
+    @DisplayName("Debe medir receives vacíos aparte de los que traen mensajes")
+    void shouldCountEmptyReceives() {
+        // When
+        buffer.reserve();
+        buffer.offer(List.of(), 0);
+        buffer.reserve();
+        buffer.offer(messages(2), 0);
+
+        // Then
+        assertThat(registry.get("sqs.listener.receive").tag("result", "empty").counter().count()).isEqualTo(1);
+        assertThat(registry.get("sqs.listener.receive").tag("result", "messages").counter().count()).isEqualTo(1);
+        assertThat(registry.get("sqs.listener.buffer.depth").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Debe pausar la recepción cuando el lote más viejo gastó la mitad de su visibilidad")
+    void shouldPauseWhenOldestBatchIsLagging() {
+        // Given
+        buffer.reserve();
+        buffer.offer(messages(1), 0);
+
+        // When
+        clock.set(Duration.ofSeconds(6).toNanos());
+
+        // Then
+        assertThat(buffer.reserve()).isFalse();
+        assertThat(buffer.poll().messages()).hasSize(1);
+        assertThat(buffer.reserve()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Debe contar la visibilidad desde que volvió el receive y no desde el long-poll")
+    void shouldStartVisibilityWhenReceiveReturns() {
+        // Given
+        buffer.reserve();
+        clock.set(Duration.ofSeconds(15).toNanos());
+        buffer.offer(messages(1), 0);
+
+        // When
+        clock.set(Duration.ofSeconds(18).toNanos());
+
+        // Then
+        assertThat(buffer.reserve()).isTrue();
+        assertThat(buffer.poll().messages()).hasSize(1);
+        assertThat(registry.get("sqs.listener.receive.latency").timer().max(TimeUnit.SECONDS))
+                .isEqualTo(15.0);
+    }
+
+    @Test
+    @DisplayName("Debe descartar los lotes a punto de perder la visibilidad")
+    void shouldDropBatchesCloseToExpiry() {
+        // Given
+        buffer.reserve();
+        buffer.offer(messages(2), 0);
+
+        // When
+        clock.set(Duration.ofSeconds(9).toNanos());
+
+        // Then
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.depth()).isZero();
+        assertThat(registry.get("sqs.listener.buffer.expired").counter().count()).isEqualTo(2);
+    }
+}
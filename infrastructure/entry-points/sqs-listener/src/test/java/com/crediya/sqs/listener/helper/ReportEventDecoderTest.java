@@ -0,0 +1,124 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.model.report.Money;
+import com.crediya.model.report.ReportEvent;
+import com.crediya.sqs.listener.config.SQSDimensionProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReportEventDecoderTest {
+
+    private ReportEventDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        var properties = new SQSProperties("us-east-1", null, "queue", 20, 10, 10, 1, List.of("product", "channel"));
+        decoder = new ReportEventDecoder(new ObjectMapper(), properties);
+    }
+
+    @Test
+    @DisplayName("Debe leer status, monto y dimensiones configuradas ignorando el resto")
+    void shouldDecodeKnownFieldsOnly() throws IOException {
+        // Given
+        String body = """
+                {"id":"a1","status":"approved","nested":{"x":[1,2,{"y":3}]},
+                 "approvedAmount":50056.5,"product":"AUTO","channel":7,"other":"z"}
+                """;
+
+        // When
+        ReportEvent event = decoder.decode(body);
+
+        // Then
+        assertThat(event.status()).isEqualTo(ReportEvent.APPROVED);
+        assertThat(event.approvedAmount()).isEqualTo(Money.of("50056.50"));
+        assertThat(event.dimensions()).isEqualTo(Map.of("product", "AUTO", "channel", "7"));
+    }
+
+    @Test
+    @DisplayName("Debe contar como OTHER los valores de dimensión que exceden el tope")
+    void shouldFoldDimensionValuesBeyondLimit() throws IOException {
+        // Given
+        var properties = new SQSProperties("us-east-1", null, "queue", 20, 10, 10, 1, List.of("product"));
+        var capped = new ReportEventDecoder(new ObjectMapper(), properties,
+                new DimensionValues(new SQSDimensionProperties(1, null), new SimpleMeterRegistry()));
+        capped.decode("{\"status\":\"REJECTED\",\"product\":\"AUTO\"}");
+
+        // When
+        ReportEvent event = capped.decode("{\"status\":\"REJECTED\",\"product\":\"HOME\"}");
+
+        // Then
+        assertThat(event.dimensions()).isEqualTo(Map.of("product", DimensionValues.OTHER));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"100, 100.00", "\"100.25\", 100.25", "-3.1, -3.10", "1.5E3, 1500.00", "10.500, 10.50", "0, 0.00"})
+    @DisplayName("Debe convertir el monto a centavos exactos")
+    void shouldDecodeAmountToCents(String amount, String expected) throws IOException {
+        // When
+        ReportEvent event = decoder.decode("{\"status\":\"APPROVED\",\"approvedAmount\":" + amount + "}");
+
+        // Then
+        assertThat(event.approvedAmount()).isEqualTo(Money.of(expected));
+    }
+
+    @Test
+    @DisplayName("Debe aceptar un evento no aprobado sin monto")
+    void shouldAcceptRejectedWithoutAmount() throws IOException {
+        // When
+        ReportEvent event = decoder.decode("{\"status\":\"REJECTED\",\"approvedAmount\":null}");
+
+        // Then
+        assertThat(event.status()).isEqualTo("REJECTED");
+        assertThat(event.approvedAmount()).isNull();
+    }
+
+    @Test
+    @DisplayName("Debe leer eventId como identificador del evento")
+    void shouldDecodeEventId() throws IOException {
+        // When
+        ReportEvent withId = decoder.decode("{\"eventId\":\"evt-1\",\"status\":\"REJECTED\"}");
+        ReportEvent withoutId = decoder.decode("{\"id\":\"a1\",\"status\":\"REJECTED\"}");
+
+        // Then
+        assertThat(withId.id()).isEqualTo("evt-1");
+        assertThat(withoutId.id()).isNull();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "[]",
+            "\"APPROVED\"",
+            "{\"status\":\"APPROVED\"}",
+            "{\"status\":\"APPROVED\",\"approvedAmount\":1.005}",
+            "{\"status\":\"APPROVED\",\"approvedAmount\":\"12abc\"}",
+            "{\"status\":\"APPROVED\",\"approvedAmount\":99999999999999999999}",
+            "{\"status\":\"APPROVED\",\"approvedAmount\":true}",
+            "{\"status\":{\"code\":\"APPROVED\"},\"approvedAmount\":1}"
+    })
+    @DisplayName("Debe rechazar payloads mal formados")
+    void shouldRejectMalformedPayloads(String body) {
+        // When & Then
+        assertThatThrownBy(() -> decoder.decode(body)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Debe rechazar JSON truncado")
+    void shouldRejectTruncatedJson() {
+        // When & Then
+        assertThatThrownBy(() -> decoder.decode("{\"status\":\"APPROVED\",\"approvedAmount\":1")).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSExecutionProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+class SQSExecutionTest {
+
+    private static final SQSProperties PROPERTIES = new SQSProperties("us-east-1", null,
+            "http://localhost:4566/00000000000/queueName", 20, 10, 10, 2, List.of());
+
+    private static Mono<Thread> currentThread(SQSExecution execution) {
+        return Mono.fromCallable(Thread::currentThread).subscribeOn(execution.scheduler());
+    }
+
+    @Test
+    @DisplayName("Debe correr en hilos virtuales en modo VIRTUAL")
+    void shouldRunOnVirtualThreads() {
+        // Given
+        try (var execution = new SQSExecution(new SQSExecutionProperties(SQSExecutionProperties.Mode.VIRTUAL, 0, 0), PROPERTIES)) {
+            // When & Then
+            StepVerifier.create(currentThread(execution))
+                    .expectNextMatches(Thread::isVirtual)
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe correr en hilos de plataforma propios en modo BOUNDED")
+    void shouldRunOnDedicatedBoundedScheduler() {
+        // Given
+        try (var execution = new SQSExecution(new SQSExecutionProperties(SQSExecutionProperties.Mode.BOUNDED, 2, 10), PROPERTIES)) {
+            // When & Then
+            StepVerifier.create(currentThread(execution))
+                    .expectNextMatches(t -> !t.isVirtual() && t.getName().startsWith("sqs-bounded"))
+                    .verifyComplete();
+        }
+    }
+
+    @Test
+    @DisplayName("Debe usar el pool fijo por defecto")
+    void shouldDefaultToFixedPool() {
+        // Given
+        try (var execution = new SQSExecution(SQSExecutionProperties.defaults(), PROPERTIES)) {
+            // When & Then
+            StepVerifier.create(currentThread(execution))
+                    .expectNextMatches(t -> !t.isVirtual())
+                    .verifyComplete();
+        }
+    }
+}
@@ -1,24 +1,48 @@
 package com.crediya.sqs.listener.helper;
 
 import com.crediya.sqs.listener.SQSProcessor;
+import com.crediya.sqs.listener.config.SQSExecutionProperties;
+import com.crediya.sqs.listener.config.SQSFilterProperties;
+import com.crediya.sqs.listener.config.SQSHeartbeatProperties;
+import com.crediya.sqs.listener.config.SQSPrefetchProperties;
 import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.util.ReflectionTestUtils;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.DeleteMessageBatchResponse;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageRequest;
 import software.amazon.awssdk.services.sqs.model.DeleteMessageResponse;
 import software.amazon.awssdk.services.sqs.model.Message;
+import software.amazon.awssdk.services.sqs.model.MessageAttributeValue;
+import software.amazon.awssdk.services.sqs.model.MessageSystemAttributeName;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageRequest;
 import software.amazon.awssdk.services.sqs.model.ReceiveMessageResponse;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 class SQSListenerTest {
@@ -65,4 +89,243 @@ class SQSListenerTest {
 //        Flux<Void> flow = ReflectionTestUtils.invokeMethod(sqsListener, "listen");
 //        StepVerifier.create(flow).verifyComplete();
 //    }
+
+    private static final SQSProperties PROPERTIES = new SQSProperties("us-east-1", "http://localhost:4566",
+            "http://localhost:4566/00000000000/queueName", 20, 30, 10, 1, List.of());
+    private static final SQSExecution EXECUTION = new SQSExecution(SQSExecutionProperties.defaults(), PROPERTIES);
+
+    @AfterAll
+    static void closeExecution() {
+        EXECUTION.close();
+    }
+
+    private static Message message(String id) {
+        return Message.builder().messageId(id).receiptHandle("rh-" + id).body("{}").build();
+    }
+
+    private static ReceiveBuffer buffer() {
+        return new ReceiveBuffer(SQSPrefetchProperties.defaults(), PROPERTIES, new SimpleMeterRegistry());
+    }
+
+    private static VisibilityHeartbeat heartbeat(SqsAsyncClient client) {
+        return new VisibilityHeartbeat(client, PROPERTIES, SQSHeartbeatProperties.disabled(), new SimpleMeterRegistry());
+    }
+
+    private static Mono<Void> listen(SQSListener listener) {
+        return listener.receive().then(Mono.defer(listener::listenWithinLimit));
+    }
+
+    @Test
+    @DisplayName("Debe procesar el lote en el scheduler del modo de ejecución")
+    void shouldProcessBatchOnExecutionScheduler() {
+        // Given
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        var ok = message("1");
+        when(client.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(ok).build()));
+        when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        var threads = new ArrayList<String>();
+        try (var execution = new SQSExecution(
+                new SQSExecutionProperties(SQSExecutionProperties.Mode.VIRTUAL, 0, 0), PROPERTIES)) {
+            var listener = SQSListener.builder()
+                    .client(client)
+                    .properties(PROPERTIES)
+                    .operation("operation")
+                    .buffer(buffer())
+                    .heartbeat(heartbeat(client))
+                    .execution(execution)
+                    .processor(messages -> Mono.fromCallable(() -> {
+                        threads.add(Thread.currentThread().getName());
+                        return BatchResult.processed(messages);
+                    }))
+                    .build();
+
+            // When
+            StepVerifier.create(listen(listener)).verifyComplete();
+        }
+
+        // Then
+        assertThat(threads).singleElement().asString().startsWith("sqs-virtual-");
+    }
+
+    @Test
+    @DisplayName("Debe confirmar con un solo DeleteMessageBatch solo los mensajes procesados")
+    void shouldDeleteProcessedMessagesInOneBatch() {
+        // Given
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        var ok1 = message("1");
+        var bad = message("2");
+        var ok2 = message("3");
+        when(client.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(ok1, bad, ok2).build()));
+        when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        var listener = SQSListener.builder()
+                .client(client)
+                .properties(PROPERTIES)
+                .operation("operation")
+                .buffer(buffer())
+                .heartbeat(heartbeat(client))
+                .execution(EXECUTION)
+                .processor(messages -> Mono.just(new BatchResult(List.of(ok1, ok2), List.of(bad))))
+                .build();
+
+        // When & Then
+        StepVerifier.create(listen(listener)).verifyComplete();
+
+        var captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(client, times(1)).deleteMessageBatch(captor.capture());
+        assertThat(captor.getValue().entries())
+                .extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+                .containsExactly("rh-1", "rh-3");
+        verify(client, never()).deleteMessage(any(DeleteMessageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debe reintentar una vez solo las entradas que fallaron del lado del servicio")
+    void shouldRetryOnlyServerSideFailures() {
+        // Given
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        var first = message("1");
+        var second = message("2");
+        when(client.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(first, second).build()));
+        when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder()
+                        .successful(List.of())
+                        .failed(BatchResultErrorEntry.builder().id("0").code("InternalError").senderFault(false).build(),
+                                BatchResultErrorEntry.builder().id("1").code("ReceiptHandleIsInvalid").senderFault(true).build())
+                        .build()))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        var listener = SQSListener.builder()
+                .client(client)
+                .properties(PROPERTIES)
+                .operation("operation")
+                .buffer(buffer())
+                .heartbeat(heartbeat(client))
+                .execution(EXECUTION)
+                .processor(messages -> Mono.just(BatchResult.processed(messages)))
+                .build();
+
+        // When & Then
+        StepVerifier.create(listen(listener)).verifyComplete();
+
+        var captor = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(client, times(2)).deleteMessageBatch(captor.capture());
+        assertThat(captor.getAllValues().get(1).entries())
+                .extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+                .containsExactly("rh-1");
+    }
+
+    @Test
+    @DisplayName("Debe dejar de recibir cuando el buffer está lleno")
+    void shouldPauseReceivingWhenBufferIsFull() {
+        // Given
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        var messages = new ArrayList<Message>();
+        for (int i = 0; i < 10; i++) {
+            messages.add(message(Integer.toString(i)));
+        }
+        when(client.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(messages).build()));
+        var buffer = new ReceiveBuffer(new SQSPrefetchProperties(1, 10, null), PROPERTIES, new SimpleMeterRegistry());
+        var listener = SQSListener.builder()
+                .client(client)
+                .properties(PROPERTIES)
+                .operation("operation")
+                .buffer(buffer)
+                .heartbeat(heartbeat(client))
+                .execution(EXECUTION)
+                .processor(batch -> Mono.just(BatchResult.processed(batch)))
+                .build();
+
+        // When
+        StepVerifier.create(listener.receive()).verifyComplete();
+        StepVerifier.create(listener.receive()).verifyComplete();
+
+        // Then
+        verify(client, times(1)).receiveMessage(any(ReceiveMessageRequest.class));
+        assertThat(buffer.depth()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("Debe confirmar los status no suscritos sin pasarlos al processor")
+    void shouldAcknowledgeFilteredMessagesWithoutProcessing() {
+        // Given
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        var approved = message("1").toBuilder().messageAttributes(Map.of("status",
+                MessageAttributeValue.builder().dataType("String").stringValue("APPROVED").build())).build();
+        var rejected = message("2").toBuilder().messageAttributes(Map.of("status",
+                MessageAttributeValue.builder().dataType("String").stringValue("REJECTED").build())).build();
+        when(client.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(approved, rejected).build()));
+        when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        var seen = new ArrayList<Message>();
+        var listener = SQSListener.builder()
+                .client(client)
+                .properties(PROPERTIES)
+                .operation("operation")
+                .buffer(buffer())
+                .heartbeat(heartbeat(client))
+                .execution(EXECUTION)
+                .filter(new MessageFilter(new SQSFilterProperties("status", List.of("APPROVED"), true), new SimpleMeterRegistry()))
+                .processor(batch -> {
+                    seen.addAll(batch);
+                    return Mono.just(BatchResult.processed(batch));
+                })
+                .build();
+
+        // When & Then
+        StepVerifier.create(listen(listener)).verifyComplete();
+
+        assertThat(seen).containsExactly(approved);
+        var receive = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(client).receiveMessage(receive.capture());
+        assertThat(receive.getValue().messageAttributeNames()).containsExactly("status");
+        var delete = ArgumentCaptor.forClass(DeleteMessageBatchRequest.class);
+        verify(client).deleteMessageBatch(delete.capture());
+        assertThat(delete.getValue().entries())
+                .extracting(DeleteMessageBatchRequestEntry::receiptHandle)
+                .containsExactlyInAnyOrder("rh-1", "rh-2");
+    }
+
+    @Test
+    @DisplayName("Debe pedir SentTimestamp y ApproximateReceiveCount y medir la latencia hasta el reporte")
+    void shouldRequestSystemAttributesAndRecordLatency() {
+        // Given
+        SqsAsyncClient client = mock(SqsAsyncClient.class);
+        var sent = message("1").toBuilder().attributes(Map.of(
+                MessageSystemAttributeName.SENT_TIMESTAMP, Long.toString(System.currentTimeMillis() - 1_000),
+                MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT, "1")).build();
+        when(client.receiveMessage(any(ReceiveMessageRequest.class))).thenReturn(CompletableFuture.completedFuture(
+                ReceiveMessageResponse.builder().messages(sent).build()));
+        when(client.deleteMessageBatch(any(DeleteMessageBatchRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture(DeleteMessageBatchResponse.builder().build()));
+        var registry = new SimpleMeterRegistry();
+        var listener = SQSListener.builder()
+                .client(client)
+                .properties(PROPERTIES)
+                .operation("operation")
+                .buffer(buffer())
+                .heartbeat(heartbeat(client))
+                .execution(EXECUTION)
+                .latency(new EventLatency(registry))
+                .processor(batch -> Mono.just(BatchResult.processed(batch)))
+                .build();
+
+        // When & Then
+        StepVerifier.create(listen(listener)).verifyComplete();
+
+        var receive = ArgumentCaptor.forClass(ReceiveMessageRequest.class);
+        verify(client).receiveMessage(receive.capture());
+        assertThat(receive.getValue().messageSystemAttributeNames()).containsExactlyInAnyOrder(
+                MessageSystemAttributeName.SENT_TIMESTAMP, MessageSystemAttributeName.APPROXIMATE_RECEIVE_COUNT);
+        assertThat(registry.get("sqs.event.dwell").timer().count()).isEqualTo(1);
+        assertThat(registry.get("sqs.event.processing").timer().count()).isEqualTo(1);
+        assertThat(registry.get("sqs.event.latency").timer().count()).isEqualTo(1);
+        assertThat(registry.get("sqs.event.latency").timer().max(TimeUnit.MILLISECONDS))
+                .isGreaterThanOrEqualTo(1_000);
+    }
 }
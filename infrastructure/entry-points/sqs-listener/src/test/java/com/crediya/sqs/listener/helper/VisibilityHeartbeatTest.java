@@ -0,0 +1,133 @@
+package com.crediya.sqs.listener.helper;
+
+import com.crediya.sqs.listener.config.SQSHeartbeatProperties;
+import com.crediya.sqs.listener.config.SQSProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.test.StepVerifier;
+import software.amazon.awssdk.services.sqs.SqsAsyncClient;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequest;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResponse;
+import software.amazon.awssdk.services.sqs.model.ChangeMessageVisibilityBatchResultEntry;
+import software.amazon.awssdk.services.sqs.model.Message;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VisibilityHeartbeatTest {
+
+    private static final SQSProperties PROPERTIES = new SQSProperties("us-east-1", null,
+            "http://localhost:4566/00000000000/queueName", 20, 10, 10, 1, List.of());
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong clock = new AtomicLong();
+    private SqsAsyncClient client;
+    private SimpleMeterRegistry registry;
+    private VisibilityHeartbeat heartbeat;
+
+    @BeforeEach
+    void setUp() {
+        client = mock(SqsAsyncClient.class);
+        registry = new SimpleMeterRegistry();
+        var properties = new SQSHeartbeatProperties(true, Duration.ofSeconds(1), Duration.ofSeconds(3),
+                Duration.ofSeconds(10), Duration.ofMinutes(5));
+        heartbeat = new VisibilityHeartbeat(client, PROPERTIES, properties, registry, clock::get);
+        // Responde como exitosas todas las entradas pedidas
+        when(client.changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class))).thenAnswer(inv -> {
+            ChangeMessageVisibilityBatchRequest request = inv.getArgument(0);
+            var ok = request.entries().stream()
+                    .map(e -> ChangeMessageVisibilityBatchResultEntry.builder().id(e.id()).build())
+                    .toList();
+            return CompletableFuture.completedFuture(ChangeMessageVisibilityBatchResponse.builder().successful(ok).build());
+        });
+    }
+
+    private static List<Message> messages(int n) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> Message.builder().messageId("m" + i).receiptHandle("rh-" + i).build())
+                .toList();
+    }
+
+    @Test
+    @DisplayName("No debe extender lo que todavía está lejos de vencer")
+    void shouldNotExtendBeforeLeadTime() {
+        // Given
+        heartbeat.track(new ReceivedBatch(messages(2), 10 * SECOND));
+
+        // When
+        StepVerifier.create(heartbeat.beat()).verifyComplete();
+
+        // Then
+        verify(client, never()).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debe extender en lotes de 10 los mensajes próximos a vencer")
+    void shouldExtendInBatchesOfTen() {
+        // Given
+        heartbeat.track(new ReceivedBatch(messages(12), 10 * SECOND));
+        clock.set(8 * SECOND);
+
+        // When
+        StepVerifier.create(heartbeat.beat()).verifyComplete();
+
+        // Then
+        var captor = ArgumentCaptor.forClass(ChangeMessageVisibilityBatchRequest.class);
+        verify(client, times(2)).changeMessageVisibilityBatch(captor.capture());
+        assertThat(captor.getAllValues().get(0).entries()).hasSize(10)
+                .extracting(ChangeMessageVisibilityBatchRequestEntry::visibilityTimeout)
+                .containsOnly(10);
+        assertThat(captor.getAllValues().get(1).entries()).hasSize(2);
+        assertThat(registry.get("sqs.listener.heartbeat.sent").counter().count()).isEqualTo(12);
+
+        // Extendidos hasta 18s: en la siguiente pasada ya no vencen dentro del lead time
+        StepVerifier.create(heartbeat.beat()).verifyComplete();
+        verify(client, times(2)).changeMessageVisibilityBatch(any(ChangeMessageVisibilityBatchRequest.class));
+    }
+
+    @Test
+    @DisplayName("Debe contar como evitada la expiración de un mensaje terminado después de su vencimiento original")
+    void shouldCountAvoidedExpirations() {
+        // Given
+        var batch = new ReceivedBatch(messages(2), 10 * SECOND);
+        heartbeat.track(batch);
+        clock.set(8 * SECOND);
+        StepVerifier.create(heartbeat.beat()).verifyComplete();
+
+        // When
+        clock.set(12 * SECOND);
+        heartbeat.untrack(batch.messages());
+
+        // Then
+        assertThat(registry.get("sqs.listener.heartbeat.expirations_avoided").counter().count()).isEqualTo(2);
+        assertThat(heartbeat.tracked()).isZero();
+    }
+
+    @Test
+    @DisplayName("No debe seguir mensajes cuando está deshabilitado")
+    void shouldIgnoreWhenDisabled() {
+        // Given
+        var disabled = new VisibilityHeartbeat(client, PROPERTIES, SQSHeartbeatProperties.disabled(), registry, clock::get);
+
+        // When
+        disabled.track(new ReceivedBatch(messages(1), SECOND));
+
+        // Then
+        assertThat(disabled.tracked()).isZero();
+    }
+}
@@ -0,0 +1,100 @@
+package com.crediya.metrics.aws;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.MetricRecord;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Costo por llamada del SDK: {@code publish} (lo que paga el hilo de la llamada, solo el offer al
+ * anillo) y el registro en el consumidor con los meters cacheados contra la búsqueda en el registry
+ * por cada valor, como hacía la versión anterior. El profiler gc da bytes por colección.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetricPublisherBenchmark {
+
+    private static final SdkMetric<String> SERVICE =
+            SdkMetric.create("BenchServiceId", String.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<String> OPERATION =
+            SdkMetric.create("BenchOperationName", String.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Boolean> SUCCESS =
+            SdkMetric.create("BenchApiCallSuccessful", Boolean.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Duration> LATENCY =
+            SdkMetric.create("BenchApiCallDuration", Duration.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Integer> RETRIES =
+            SdkMetric.create("BenchRetryCount", Integer.class, MetricLevel.INFO, MetricCategory.CORE);
+
+    private MeterRegistry registry;
+    private MicrometerMetricPublisher publisher;
+    private MicrometerMetricPublisher recorder;
+    private MetricCollection collection;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        registry = new SimpleMeterRegistry();
+        publisher = new MicrometerMetricPublisher(registry);
+        // Cerrado: record() se llama desde el hilo del benchmark, sin competir con el consumidor
+        recorder = new MicrometerMetricPublisher(registry);
+        recorder.close();
+        MetricCollector collector = MetricCollector.create("ApiCall");
+        collector.reportMetric(SERVICE, "DynamoDB");
+        collector.reportMetric(OPERATION, "UpdateItem");
+        collector.reportMetric(SUCCESS, true);
+        collector.reportMetric(LATENCY, Duration.ofMillis(7));
+        collector.reportMetric(RETRIES, 0);
+        collection = collector.collect();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        publisher.close();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void publish() {
+        publisher.publish(collection);
+    }
+
+    @Benchmark
+    public void recordCached() {
+        recorder.record(collection);
+    }
+
+    @Benchmark
+    public void recordLookupPerValue() {
+        List<Tag> tags = collection.stream()
+                .filter(r -> r.value() instanceof String || r.value() instanceof Boolean)
+                .map(r -> Tag.of(r.metric().name(), r.value().toString()))
+                .collect(Collectors.toList());
+        for (MetricRecord<?> r : collection) {
+            if (r.value() instanceof Duration d) {
+                registry.timer(r.metric().name(), tags).record(d);
+            } else if (r.value() instanceof Integer n) {
+                registry.counter(r.metric().name(), tags).increment(n);
+            }
+        }
+    }
+}
@@ -1,49 +1,170 @@
 package com.crediya.metrics.aws;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Tag;
-import lombok.AllArgsConstructor;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import software.amazon.awssdk.metrics.MetricCollection;
 import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.MetricRecord;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
 
+/**
+ * Pasa las métricas del SDK de AWS a Micrometer fuera del hilo de la llamada. {@code publish} solo
+ * deja la colección en un anillo acotado sin locks (O(1), sin reservar memoria); si está lleno la
+ * colección se descarta y se cuenta en {@code aws.sdk.metrics.dropped}. Un único hilo consumidor
+ * registra los valores con Timers y Counters ya resueltos, cacheados por set de tags y nombre.
+ */
 @Component
-@AllArgsConstructor
 public class MicrometerMetricPublisher implements MetricPublisher {
-    private final ExecutorService service = Executors.newFixedThreadPool(10);
+
+    private static final int DEFAULT_CAPACITY = 4096;
+    /** Sets de tags distintos que se cachean; más allá se resuelve contra el registry cada vez */
+    private static final int MAX_TAG_SETS = 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final Duration CLOSE_TIMEOUT = Duration.ofSeconds(5);
+
     private final MeterRegistry registry;
+    private final MpscRing<MetricCollection> ring;
+    private final Thread consumer;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    /** Solo los usa el hilo consumidor */
+    private final Map<List<Tag>, Meters> meters = new HashMap<>();
+
+    private final Counter dropped;
+
+    @Autowired
+    public MicrometerMetricPublisher(MeterRegistry registry) {
+        this(registry, DEFAULT_CAPACITY);
+    }
+
+    public MicrometerMetricPublisher(MeterRegistry registry, int capacity) {
+        this.registry = registry;
+        this.ring = new MpscRing<>(capacity);
+        this.dropped = Counter.builder("aws.sdk.metrics.dropped")
+                .description("Colecciones de métricas del SDK descartadas por anillo lleno o publisher cerrado")
+                .register(registry);
+        Gauge.builder("aws.sdk.metrics.pending", ring, MpscRing::size).register(registry);
+        this.consumer = Thread.ofPlatform()
+                .name("aws-sdk-metrics")
+                .daemon()
+                .start(this::drain);
+    }
 
     @Override
     public void publish(MetricCollection metricCollection) {
-        service.submit(() -> {
-            List<Tag> tags = buildTags(metricCollection);
-            metricCollection.stream()
-                    .filter(record -> record.value() instanceof Duration || record.value() instanceof Integer)
-                    .forEach(record -> {
-                        if (record.value() instanceof Duration) {
-                            registry.timer(record.metric().name(), tags).record((Duration) record.value());
-                        } else if (record.value() instanceof Integer) {
-                            registry.counter(record.metric().name(), tags).increment((Integer) record.value());
-                        }
-                    });
-        });
+        if (!running || !ring.offer(metricCollection)) {
+            dropped.increment();
+            return;
+        }
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
     }
 
+    /** Deja de aceptar colecciones, registra las pendientes y termina el consumidor. Idempotente */
     @Override
     public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(CLOSE_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
 
+    private void drain() {
+        while (running) {
+            MetricCollection collection = ring.poll();
+            if (collection != null) {
+                safeRecord(collection);
+                continue;
+            }
+            idle = true;
+            if (ring.isEmpty() && running) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+            idle = false;
+        }
+        for (MetricCollection c = ring.poll(); c != null; c = ring.poll()) {
+            safeRecord(c);
+        }
     }
 
-    private List<Tag> buildTags(MetricCollection metricCollection) {
-        return metricCollection.stream()
-                .filter(record -> record.value() instanceof String || record.value() instanceof Boolean)
-                .map(record -> Tag.of(record.metric().name(), record.value().toString()))
-                .collect(Collectors.toList());
+    private void safeRecord(MetricCollection collection) {
+        try {
+            record(collection);
+        } catch (RuntimeException e) {
+            // una colección mal formada no debe matar al consumidor
+            dropped.increment();
+        }
+    }
+
+    /** Registra una colección: una pasada para los tags y otra para los valores */
+    void record(MetricCollection collection) {
+        List<Tag> tags = buildTags(collection);
+        Meters resolved = meters.get(tags);
+        if (resolved == null) {
+            resolved = new Meters(tags);
+            if (meters.size() < MAX_TAG_SETS) {
+                meters.put(tags, resolved);
+            }
+        }
+        for (MetricRecord<?> record : collection) {
+            Object value = record.value();
+            if (value instanceof Duration duration) {
+                resolved.timer(record.metric().name()).record(duration);
+            } else if (value instanceof Integer count) {
+                resolved.counter(record.metric().name()).increment(count);
+            }
+        }
+    }
+
+    private List<Tag> buildTags(MetricCollection collection) {
+        List<Tag> tags = new ArrayList<>(4);
+        for (MetricRecord<?> record : collection) {
+            Object value = record.value();
+            if (value instanceof String || value instanceof Boolean) {
+                tags.add(Tag.of(record.metric().name(), value.toString()));
+            }
+        }
+        return tags;
+    }
+
+    /** Timers y Counters ya resueltos para un set de tags */
+    private final class Meters {
+        private final List<Tag> tags;
+        private final Map<String, Timer> timers = new HashMap<>();
+        private final Map<String, Counter> counters = new HashMap<>();
+
+        Meters(List<Tag> tags) {
+            this.tags = tags;
+        }
+
+        Timer timer(String name) {
+            return timers.computeIfAbsent(name, n -> registry.timer(n, tags));
+        }
+
+        Counter counter(String name) {
+            return counters.computeIfAbsent(name, n -> registry.counter(n, tags));
+        }
     }
 }
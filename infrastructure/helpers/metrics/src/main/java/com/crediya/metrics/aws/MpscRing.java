@@ -0,0 +1,79 @@
+package com.crediya.metrics.aws;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Cola acotada sin locks de varios productores y un solo consumidor (esquema de Vyukov): cada slot
+ * lleva una secuencia que dice si está libre para la vuelta actual. {@code offer} nunca bloquea ni
+ * reserva memoria; con el anillo lleno devuelve false y el llamador decide (descartar y contar).
+ */
+final class MpscRing<E> {
+
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    /** Solo lo escribe el consumidor; volatile para que el gauge de pendientes lo lea */
+    private volatile long head;
+
+    MpscRing(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    boolean offer(E element) {
+        long pos = tail.get();
+        int index;
+        while (true) {
+            index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                pos = tail.get();
+            }
+        }
+        slots.lazySet(index, element);
+        sequences.set(index, pos + 1);
+        return true;
+    }
+
+    /** Solo desde el hilo consumidor; null si no hay nada publicado todavía */
+    E poll() {
+        long pos = head;
+        int index = (int) (pos & mask);
+        if (sequences.get(index) != pos + 1) {
+            return null;
+        }
+        E element = slots.get(index);
+        slots.lazySet(index, null);
+        sequences.set(index, pos + mask + 1);
+        head = pos + 1;
+        return element;
+    }
+
+    boolean isEmpty() {
+        long pos = head;
+        return sequences.get((int) (pos & mask)) != pos + 1;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
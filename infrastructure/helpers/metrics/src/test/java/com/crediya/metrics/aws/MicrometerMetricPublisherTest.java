@@ -2,13 +2,32 @@ package com.crediya.metrics.aws;
 
 import io.micrometer.core.instrument.logging.LoggingMeterRegistry;
 import io.micrometer.core.instrument.logging.LoggingRegistryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.SdkMetric;
 import software.amazon.awssdk.metrics.internal.EmptyMetricCollection;
 
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class MicrometerMetricPublisherTest {
 
+    private static final SdkMetric<String> OPERATION =
+            SdkMetric.create("TestOperationName", String.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Duration> LATENCY =
+            SdkMetric.create("TestApiCallDuration", Duration.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Integer> RETRIES =
+            SdkMetric.create("TestRetryCount", Integer.class, MetricLevel.INFO, MetricCategory.CORE);
+
     @Test
     void metricTest() {
         LoggingMeterRegistry loggingMeterRegistry = LoggingMeterRegistry
@@ -23,4 +42,67 @@ class MicrometerMetricPublisherTest {
         assertNotNull(micrometerMetricPublisher);
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRecordTimersAndCountersTaggedByStringValues() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var publisher = new MicrometerMetricPublisher(registry);
+
+        // When
+        publisher.publish(collection("PutItem", Duration.ofMillis(12), 1));
+        publisher.publish(collection("PutItem", Duration.ofMillis(8), 2));
+        publisher.publish(collection("Query", Duration.ofMillis(5), 0));
+        publisher.close();
+
+        // Then
+        var putItem = registry.get("TestApiCallDuration").tag("TestOperationName", "PutItem").timer();
+        assertEquals(2, putItem.count());
+        assertEquals(20, putItem.totalTime(TimeUnit.MILLISECONDS), 0.001);
+        assertEquals(3.0, registry.get("TestRetryCount").tag("TestOperationName", "PutItem").counter().count());
+        assertEquals(1, registry.get("TestApiCallDuration").tag("TestOperationName", "Query").timer().count());
+    }
+
+    @Test
+    void shouldResolveEachMeterOnlyOncePerTagSet() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var publisher = new MicrometerMetricPublisher(registry);
+        publisher.close();
+
+        // When
+        publisher.record(collection("PutItem", Duration.ofMillis(1), 0));
+        var first = registry.get("TestApiCallDuration").tag("TestOperationName", "PutItem").timer();
+        publisher.record(collection("PutItem", Duration.ofMillis(1), 0));
+        publisher.record(collection("Query", Duration.ofMillis(1), 0));
+
+        // Then
+        assertSame(first, registry.get("TestApiCallDuration").tag("TestOperationName", "PutItem").timer());
+        assertNotSame(first, registry.get("TestApiCallDuration").tag("TestOperationName", "Query").timer());
+        assertEquals(2, first.count());
+    }
+
+    @Test
+    void shouldCountCollectionsPublishedAfterClose() {
+        // Given
+        var registry = new SimpleMeterRegistry();
+        var publisher = new MicrometerMetricPublisher(registry, 16);
+        publisher.close();
+
+        // When
+        publisher.publish(collection("PutItem", Duration.ofMillis(1), 0));
+        publisher.close();
+
+        // Then
+        assertEquals(1.0, registry.get("aws.sdk.metrics.dropped").counter().count());
+        assertEquals(0.0, registry.get("aws.sdk.metrics.pending").gauge().value());
+    }
+
+    private static MetricCollection collection(String operation, Duration latency, int retries) {
+        MetricCollector collector = MetricCollector.create("ApiCall");
+        collector.reportMetric(OPERATION, operation);
+        collector.reportMetric(LATENCY, latency);
+        collector.reportMetric(RETRIES, retries);
+        return collector.collect();
+    }
+}
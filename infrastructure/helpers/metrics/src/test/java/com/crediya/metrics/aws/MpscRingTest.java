@@ -0,0 +1,86 @@
+package com.crediya.metrics.aws;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MpscRingTest {
+
+    @Test
+    @DisplayName("Debe redondear la capacidad a potencia de dos y rechazar cuando está lleno")
+    void shouldRejectWhenFull() {
+        // Given
+        var ring = new MpscRing<Integer>(3);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            assertTrue(ring.offer(i));
+        }
+        boolean overflow = ring.offer(99);
+
+        // Then
+        assertEquals(4, ring.capacity());
+        assertFalse(overflow);
+        assertEquals(4, ring.size());
+    }
+
+    @Test
+    @DisplayName("Debe entregar en orden y volver a aceptar al liberar slots")
+    void shouldPollInOrderAndReuseSlots() {
+        // Given
+        var ring = new MpscRing<Integer>(2);
+        ring.offer(1);
+        ring.offer(2);
+
+        // When
+        Integer first = ring.poll();
+        boolean reused = ring.offer(3);
+
+        // Then
+        assertEquals(1, first);
+        assertTrue(reused);
+        assertEquals(2, ring.poll());
+        assertEquals(3, ring.poll());
+        assertNull(ring.poll());
+        assertTrue(ring.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Debe entregar cada elemento aceptado exactamente una vez con varios productores")
+    void shouldDeliverEachAcceptedElementOnceWithConcurrentProducers() throws InterruptedException {
+        // Given
+        var ring = new MpscRing<Integer>(64);
+        int producers = 4;
+        int perProducer = 50_000;
+        var accepted = new AtomicInteger();
+        var done = new CountDownLatch(producers);
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (ring.offer(base + i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        // When
+        var seen = new HashSet<Integer>();
+        while (done.getCount() > 0 || !ring.isEmpty()) {
+            Integer value = ring.poll();
+            if (value != null) {
+                assertTrue(seen.add(value));
+            }
+        }
+
+        // Then
+        assertEquals(accepted.get(), seen.size());
+    }
+}